@@ -0,0 +1,195 @@
+package com.swajyot.log.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import com.swajyot.log.model.CoatingInspectionReport;
+import com.swajyot.log.model.IncomingQualityInspectionReport;
+import com.swajyot.log.model.InspectionForm;
+import com.swajyot.log.model.LineClearanceReport;
+import com.swajyot.log.model.PrintingInspectionReport;
+
+/**
+ * Fully populated reports whose JSONB lists have a given number of rows, with the keys
+ * and value types the PDF services read.
+ */
+final class BenchmarkData {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 4, 15);
+
+    private BenchmarkData() {
+    }
+
+    static InspectionForm inspectionForm(int rows) {
+        InspectionForm form = new InspectionForm();
+        form.setDocumentNo("AGI-APR-25-1");
+        form.setIssuanceNo("00");
+        form.setIssueDate(DATE);
+        form.setReviewedDate(DATE);
+        form.setPage("1 of 1");
+        form.setPreparedBy("QA Executive");
+        form.setApprovedBy("QA Head");
+        form.setIssued("QA Head");
+        form.setInspectionDate(DATE);
+        form.setProduct("100 ML Bottle");
+        form.setSizeNo("100");
+        form.setShift("C");
+        form.setVariant("Pink matt");
+        form.setLineNo("02");
+        form.setCustomer("Customer A");
+        form.setSampleSize("08 Nos.");
+        form.setMcNo("M-4");
+        form.setFormType(InspectionForm.FormType.COATING);
+        form.setTableData(rows(rows, i -> Map.of(
+                "id", i, "name", "Lacquer " + i, "weight", "12.5",
+                "batchNo", "B" + (10000 + i), "expiryDate", "2026-01-31")));
+        form.setCharacteristics(rows(rows, i -> Map.of(
+                "id", i, "name", "Characteristic " + i, "observation", "No abnormality observed on sample " + i,
+                "comments", "OK", "bodyThickness", "23", "bottomThickness", "21")));
+        form.setQaExecutive("QA Executive");
+        form.setProductionOperator("Operator");
+        form.setFinalApprovalTime("10:30");
+        form.setStatus(InspectionForm.FormStatus.APPROVED);
+        form.setReviewedBy("qa.head");
+        form.setReviewedAt(LocalDateTime.of(DATE, LocalTime.NOON));
+        return form;
+    }
+
+    static CoatingInspectionReport coatingReport(int rows) {
+        CoatingInspectionReport report = new CoatingInspectionReport();
+        report.setDocumentNo("AGI-FAIRC-APR-001");
+        report.setRevision("00");
+        report.setEffectiveDate(DATE);
+        report.setReviewedOn(DATE);
+        report.setPage("1 of 1");
+        report.setPreparedBy("QA Executive");
+        report.setApprovedBy("QA Head");
+        report.setIssued("QA Head");
+        report.setInspectionDate(DATE);
+        report.setShift("C");
+        report.setLineNo("02");
+        report.setProduct("100 ML Bottle");
+        report.setVariant("Pink matt");
+        report.setSizeNo("100");
+        report.setCustomer("Customer A");
+        report.setSampleSize("08 Nos.");
+        report.setCoatingDetails(rows(rows, i -> Map.of(
+                "id", i, "lacquerType", "Lacquer " + i, "batchNo", "B" + (10000 + i),
+                "quantity", "12.5", "expiryDate", "2026-01-31")));
+        report.setCharacteristics(rows(rows, i -> Map.of(
+                "characteristic", "Characteristic " + i, "observations", "No abnormality observed",
+                "comments", "OK", "bodyObservations", "23", "bottomObservations", "21")));
+        report.setOperatorName("Operator");
+        report.setQaName("QA Executive");
+        report.setApprovalTime("10:30");
+        return report;
+    }
+
+    static PrintingInspectionReport printingReport(int rows) {
+        PrintingInspectionReport report = new PrintingInspectionReport();
+        report.setDocumentNo("AGI-FAIRP-APR-001");
+        report.setRevision("00");
+        report.setEffectiveDate(DATE);
+        report.setReviewedOn(DATE);
+        report.setPage("1 of 1");
+        report.setPreparedBy("QA Executive");
+        report.setApprovedBy("QA Head");
+        report.setIssued("QA Head");
+        report.setInspectionDate(DATE);
+        report.setShift("C");
+        report.setMachineNo("P-2");
+        report.setProduct("100 ML Bottle");
+        report.setVariant("Blue print");
+        report.setLineNo("03");
+        report.setCustomer("Customer A");
+        report.setSizeNo("100");
+        report.setSampleSize("08 Nos.");
+        report.setPrintingDetails(rows(rows, i -> Map.of(
+                "inkType", "Ink " + i, "batchNo", "B" + (10000 + i), "expiryDate", "2026-01-31")));
+        report.setCharacteristics(rows(rows, i -> Map.of(
+                "characteristic", "Characteristic " + i, "observations", "Print sharp, no smudge",
+                "comments", "OK")));
+        report.setVerticalPosition("12");
+        report.setHorizontalPosition("8");
+        report.setOperatorName("Operator");
+        report.setQaName("QA Executive");
+        report.setApprovalTime("10:30");
+        report.setReviewedAt(LocalDateTime.of(DATE, LocalTime.NOON));
+        return report;
+    }
+
+    static LineClearanceReport lineClearanceReport(int rows) {
+        LineClearanceReport report = new LineClearanceReport();
+        report.setDocumentNo("AGI-LCR-APR-001");
+        report.setRevision("00");
+        report.setEffectiveDate(DATE);
+        report.setReviewedOn(DATE);
+        report.setPage("1 of 1");
+        report.setPreparedBy("QA Executive");
+        report.setApprovedBy("QA Head");
+        report.setIssued("QA Head");
+        report.setReportDate(DATE);
+        report.setShift("C");
+        report.setLine("02");
+        report.setProductName("100 ML Bottle");
+        report.setExistingVariantDescription("Pink matt coated bottle");
+        report.setNewVariantDescription("Blue gloss coated bottle");
+        report.setExistingVariantName("Pink matt");
+        report.setNewVariantName("Blue gloss");
+        report.setExistingVariantStopTime(LocalDateTime.of(DATE, LocalTime.of(9, 0)));
+        report.setNewVariantStartTime(LocalDateTime.of(DATE, LocalTime.of(10, 0)));
+        report.setCheckPoints(rows(rows, i -> Map.of(
+                "id", i, "description", "Check point " + i + ": previous material removed from line",
+                "responsibility", "Production", "remarks", "Done")));
+        report.setResponsibleName("Supervisor");
+        report.setProductionName("Production Head");
+        report.setQualityName("QA Executive");
+        return report;
+    }
+
+    static IncomingQualityInspectionReport incomingQualityReport(int rows) {
+        IncomingQualityInspectionReport report = new IncomingQualityInspectionReport();
+        report.setDocumentNo("AGI-IQIR-APR-001");
+        report.setRevision("00");
+        report.setEffectiveDate(DATE);
+        report.setReviewedOn(DATE);
+        report.setPage("1 of 1");
+        report.setPreparedBy("QA Executive");
+        report.setApprovedBy("QA Head");
+        report.setIssued("QA Head");
+        report.setIqcDate(DATE);
+        report.setShift("C");
+        report.setProductVariantName("100 ML Bottle Flint");
+        report.setSupplierShift("A");
+        report.setProductReceivedFrom("Supplier A");
+        report.setProductReceivedDate(DATE);
+        report.setProductReceivedQuantity(50000);
+        report.setQuantityAudited(315);
+        report.setBatchNumber("B-2025-0415");
+        report.setAuditResults(rows(rows, i -> Map.of(
+                "category", i % 3 == 0 ? "Critical" : "Major", "count", i % 4, "defectName", "Defect " + i)));
+        report.setTestResults(rows(rows, i -> Map.of(
+                "testName", "Test " + i, "specification", "Within limits", "result", "OK", "checkedBy", "QA")));
+        report.setQualityDecision("Accepted");
+        report.setQualityManagerName("QA Manager");
+        report.setSignatureDate(DATE);
+        return report;
+    }
+
+    /**
+     * A JSONB list of the given size, as Hibernate hands it to the entities (mutable maps).
+     */
+    static List<Map<String, Object>> rows(int count, IntFunction<Map<String, Object>> row) {
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(new LinkedHashMap<>(row.apply(i)));
+        }
+        return rows;
+    }
+}
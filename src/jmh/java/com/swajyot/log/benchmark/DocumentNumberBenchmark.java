@@ -0,0 +1,106 @@
+package com.swajyot.log.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.repository.DocumentSequenceRepository;
+import com.swajyot.log.service.DocumentNumberAllocator;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+/**
+ * DocumentNumberAllocator.next, which backs every service's generateDocumentNumber, over a
+ * set of distinct prefixes (one per month for the monthly schemes, per year for the yearly
+ * one). The counter table is replaced by an in-memory map, so this measures the allocator's
+ * own cost per number; the database round-trip it saves with larger blocks is not included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentNumberBenchmark {
+
+    /** Distinct prefixes cycled through. */
+    @Param({ "1", "12", "120" })
+    public int prefixes;
+
+    /** app.document-number.block-size */
+    @Param({ "1", "50" })
+    public int blockSize;
+
+    private DocumentNumberAllocator allocator;
+    private LocalDate[] monthly;
+    private LocalDate[] yearly;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        allocator = new DocumentNumberAllocator(inMemorySequences(), blockSize);
+        ReflectionTestUtils.setField(allocator, "entityManager", noExistingReports());
+
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        monthly = new LocalDate[prefixes];
+        yearly = new LocalDate[prefixes];
+        for (int i = 0; i < prefixes; i++) {
+            // Monthly prefixes only carry the month name, so at most 12 of them are distinct
+            monthly[i] = start.plusMonths(i);
+            yearly[i] = start.plusYears(i);
+        }
+    }
+
+    @Benchmark
+    public String monthlyScheme() {
+        return allocator.next(ReportType.COATING, monthly[next++ % prefixes]);
+    }
+
+    @Benchmark
+    public String yearlyScheme() {
+        return allocator.next(ReportType.INSPECTION_FORM, yearly[next++ % prefixes]);
+    }
+
+    private static DocumentSequenceRepository inMemorySequences() {
+        Map<String, Long> counters = new HashMap<>();
+        return (DocumentSequenceRepository) Proxy.newProxyInstance(DocumentSequenceRepository.class.getClassLoader(),
+                new Class<?>[] { DocumentSequenceRepository.class }, (proxy, method, args) -> {
+                    if (!method.getName().equals("reserve")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    long seed = (Long) args[1];
+                    int count = (Integer) args[2];
+                    return counters.merge((String) args[0], seed + count, (current, ignored) -> current + count);
+                });
+    }
+
+    /** Answers the seed scan with "no existing serial". */
+    private static EntityManager noExistingReports() {
+        Query query = (Query) Proxy.newProxyInstance(Query.class.getClassLoader(), new Class<?>[] { Query.class },
+                (proxy, method, args) -> method.getName().equals("getSingleResult") ? 0L : proxy);
+        return (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[] { EntityManager.class }, (proxy, method, args) -> {
+                    if (!method.getName().equals("createNativeQuery")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return query;
+                });
+    }
+}
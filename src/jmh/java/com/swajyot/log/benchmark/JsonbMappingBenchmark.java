@@ -0,0 +1,66 @@
+package com.swajyot.log.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson mapping of the JSONB List&lt;Map&lt;String, Object&gt;&gt; columns, configured the way
+ * Hibernate's default JSON format mapper is (modules found on the class path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonbMappingBenchmark {
+
+    private static final TypeReference<List<Map<String, Object>>> ROWS = new TypeReference<>() {
+    };
+
+    @Param({ "5", "50", "200" })
+    public int rows;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private List<Map<String, Object>> characteristics;
+    private String characteristicsJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        characteristics = BenchmarkData.inspectionForm(rows).getCharacteristics();
+        characteristicsJson = objectMapper.writeValueAsString(characteristics);
+    }
+
+    @Benchmark
+    public String write() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(characteristics);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> read() throws JsonProcessingException {
+        return objectMapper.readValue(characteristicsJson, ROWS);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> roundTrip() throws JsonProcessingException {
+        return objectMapper.readValue(objectMapper.writeValueAsString(characteristics), ROWS);
+    }
+}
@@ -0,0 +1,106 @@
+package com.swajyot.log.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.swajyot.log.model.CoatingInspectionReport;
+import com.swajyot.log.model.IncomingQualityInspectionReport;
+import com.swajyot.log.model.InspectionForm;
+import com.swajyot.log.model.LineClearanceReport;
+import com.swajyot.log.model.PrintingInspectionReport;
+import com.swajyot.log.service.IncomingQualityInspectionReportPdfService;
+import com.swajyot.log.service.InspectionFormPdfService;
+import com.swajyot.log.service.PrintingInspectionReportPdfService;
+import com.swajyot.log.service.pdf.CoatingInspectionReportPdfService;
+import com.swajyot.log.service.pdf.LineClearanceReportPdfService;
+import com.swajyot.log.service.pdf.PdfCache;
+import com.swajyot.log.service.pdf.PdfMetrics;
+import com.swajyot.log.service.pdf.PdfRenderLane;
+import com.swajyot.log.service.pdf.PdfResources;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * generatePdf of every PDF service, including the download footer stamp and the stage
+ * timers. The PDF cache is disabled so each invocation renders the whole document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfRenderingBenchmark {
+
+    /** Rows in each JSONB list (characteristics, check points, audit results, ...). */
+    @Param({ "5", "50", "200" })
+    public int rows;
+
+    private InspectionFormPdfService inspectionFormPdfService;
+    private CoatingInspectionReportPdfService coatingPdfService;
+    private PrintingInspectionReportPdfService printingPdfService;
+    private LineClearanceReportPdfService lineClearancePdfService;
+    private IncomingQualityInspectionReportPdfService incomingQualityPdfService;
+
+    private InspectionForm inspectionForm;
+    private CoatingInspectionReport coatingReport;
+    private PrintingInspectionReport printingReport;
+    private LineClearanceReport lineClearanceReport;
+    private IncomingQualityInspectionReport incomingQualityReport;
+
+    @Setup
+    public void setUp() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PdfCache noCache = new PdfCache(0, 0, new PdfRenderLane(0, 30000, 5, registry));
+        PdfResources resources = new PdfResources();
+        PdfMetrics metrics = new PdfMetrics(registry);
+        inspectionFormPdfService = new InspectionFormPdfService(noCache, resources, metrics);
+        coatingPdfService = new CoatingInspectionReportPdfService(noCache, resources, metrics);
+        printingPdfService = new PrintingInspectionReportPdfService(noCache, resources, metrics);
+        lineClearancePdfService = new LineClearanceReportPdfService(noCache, resources, metrics);
+        incomingQualityPdfService = new IncomingQualityInspectionReportPdfService(noCache, resources, metrics);
+
+        inspectionForm = BenchmarkData.inspectionForm(rows);
+        coatingReport = BenchmarkData.coatingReport(rows);
+        printingReport = BenchmarkData.printingReport(rows);
+        lineClearanceReport = BenchmarkData.lineClearanceReport(rows);
+        incomingQualityReport = BenchmarkData.incomingQualityReport(rows);
+    }
+
+    @Benchmark
+    public byte[] inspectionForm() throws IOException {
+        return inspectionFormPdfService.generatePdf(inspectionForm, "benchmark");
+    }
+
+    @Benchmark
+    public byte[] coating() throws IOException {
+        return coatingPdfService.generatePdf(coatingReport, "benchmark");
+    }
+
+    @Benchmark
+    public byte[] printing() throws IOException {
+        return printingPdfService.generatePdf(printingReport, "benchmark");
+    }
+
+    @Benchmark
+    public byte[] lineClearance() throws IOException {
+        return lineClearancePdfService.generatePdf(lineClearanceReport, "benchmark");
+    }
+
+    @Benchmark
+    public byte[] incomingQuality() throws IOException {
+        return incomingQualityPdfService.generatePdf(incomingQualityReport, "benchmark");
+    }
+}
@@ -0,0 +1,364 @@
+package com.swajyot.log.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Closed-loop HTTP load against a running instance, typically one filled by the "seed"
+ * profile. A fixed number of workers issue a weighted mix of list, detail, PDF and approve
+ * requests back to back; after the warmup, latencies are recorded per operation and
+ * reported as throughput and p50/p90/p99/max, on stdout and as JSON.
+ *
+ * Run with
+ *   mvn -P benchmark test-compile exec:exec@load -Dload.args="--scenario=review --concurrency=32"
+ *
+ * Options (defaults in brackets): --base-url [http://localhost:8080], --scenario
+ * [browse | review | pdf | mixed, default mixed], --concurrency [16], --duration seconds [60],
+ * --warmup seconds [10], --out [target/load-result.json], --label [none], --baseline [none].
+ *
+ * To compare the platform and virtual thread modes, run the same scenario against an
+ * instance started normally and one started with --spring.threads.virtual.enabled=true,
+ * passing the first result as the baseline of the second:
+ *   -Dload.args="--concurrency=2000 --label=platform --out=target/load-platform.json"
+ *   -Dload.args="--concurrency=2000 --label=virtual --baseline=target/load-platform.json"
+ * Workers are virtual threads, so the client itself can hold thousands of requests open.
+ */
+public class ReportLoadRunner {
+
+    private static final String[] REPORT_PATHS = {
+            "/api/inspection-forms",
+            "/api/coating-inspection-reports",
+            "/api/printing-inspection",
+            "/api/line-clearance-reports",
+            "/api/incoming-quality-reports" };
+
+    private static final Map<String, Map<Operation, Integer>> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        SCENARIOS.put("browse", mix(60, 35, 5, 0));
+        SCENARIOS.put("review", mix(30, 30, 10, 30));
+        SCENARIOS.put("pdf", mix(0, 0, 100, 0));
+        SCENARIOS.put("mixed", mix(40, 30, 15, 15));
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    enum Operation {
+        LIST, DETAIL, PDF, APPROVE
+    }
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final Operation[] weighted;
+    private final List<List<Long>> ids = new ArrayList<>();
+    private final List<ConcurrentLinkedQueue<Long>> submitted = new ArrayList<>();
+
+    ReportLoadRunner(String baseUrl, Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl;
+        List<Operation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        this.weighted = operations.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        String scenario = options.getOrDefault("scenario", "mixed");
+        Map<Operation, Integer> mix = SCENARIOS.get(scenario);
+        if (mix == null) {
+            throw new IllegalArgumentException("Unknown scenario " + scenario + ", expected one of " + SCENARIOS.keySet());
+        }
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        File out = new File(options.getOrDefault("out", "target/load-result.json"));
+        String label = options.get("label");
+        String baseline = options.get("baseline");
+
+        ReportLoadRunner runner = new ReportLoadRunner(options.getOrDefault("base-url", "http://localhost:8080"), mix);
+        runner.collectIds();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (label != null) {
+            result.put("label", label);
+        }
+        result.put("scenario", scenario);
+        result.put("concurrency", concurrency);
+        result.put("durationSeconds", duration);
+        result.put("operations", runner.run(concurrency, warmup, duration));
+        if (baseline != null) {
+            result.put("comparison", compare(MAPPER.readTree(new File(baseline)), MAPPER.valueToTree(result)));
+        }
+
+        out.getAbsoluteFile().getParentFile().mkdirs();
+        MAPPER.writeValue(out, result);
+        System.out.println("Load result is saved to " + out.getAbsolutePath());
+    }
+
+    /**
+     * Gathers report ids for the detail and PDF requests, and SUBMITTED ones for approvals.
+     */
+    void collectIds() throws IOException, InterruptedException {
+        for (String path : REPORT_PATHS) {
+            List<Long> all = pageIds(path, "", 5);
+            ConcurrentLinkedQueue<Long> pending = new ConcurrentLinkedQueue<>(pageIds(path, "&status=SUBMITTED", 10));
+            ids.add(all);
+            submitted.add(pending);
+            System.out.printf("%-36s %6d ids, %6d submitted%n", path, all.size(), pending.size());
+        }
+        if (ids.stream().allMatch(List::isEmpty)) {
+            throw new IllegalStateException("No reports found; seed the database first (profile \"seed\")");
+        }
+    }
+
+    private List<Long> pageIds(String path, String filter, int pages) throws IOException, InterruptedException {
+        List<Long> found = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < pages; page++) {
+            String url = baseUrl + path + "/summary-list?size=200" + filter + (cursor != null ? "&cursor=" + cursor : "");
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                break;
+            }
+            JsonNode body = MAPPER.readTree(response.body());
+            body.path("items").forEach(item -> found.add(item.path("id").asLong()));
+            cursor = body.path("nextCursor").isTextual() ? body.path("nextCursor").asText() : null;
+            if (cursor == null) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    Map<String, Object> run(int concurrency, int warmupSeconds, int durationSeconds) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + durationSeconds * 1_000_000_000L;
+
+        List<Future<Samples>> futures = new ArrayList<>();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> work(measureFrom, end)));
+            }
+        }
+
+        Samples total = new Samples();
+        for (Future<Samples> future : futures) {
+            total.addAll(future.get());
+        }
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        System.out.printf("%-8s %9s %7s %10s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            long[] latencies = total.latencies(operation);
+            if (latencies.length == 0 && total.errors(operation) == 0) {
+                continue;
+            }
+            Arrays.sort(latencies);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", latencies.length);
+            stats.put("errors", total.errors(operation));
+            stats.put("throughputPerSecond", (double) latencies.length / durationSeconds);
+            stats.put("p50Ms", percentile(latencies, 0.50));
+            stats.put("p90Ms", percentile(latencies, 0.90));
+            stats.put("p99Ms", percentile(latencies, 0.99));
+            stats.put("maxMs", percentile(latencies, 1.0));
+            operations.put(operation.name(), stats);
+            System.out.printf("%-8s %9d %7d %10.1f %9.1f %9.1f %9.1f %9.1f%n", operation, latencies.length,
+                    total.errors(operation), stats.get("throughputPerSecond"), stats.get("p50Ms"),
+                    stats.get("p90Ms"), stats.get("p99Ms"), stats.get("maxMs"));
+        }
+        return operations;
+    }
+
+    /**
+     * Throughput and p99 of this run relative to an earlier one, per operation present in both.
+     */
+    static Map<String, Object> compare(JsonNode baseline, JsonNode current) {
+        String baselineLabel = baseline.path("label").asText("baseline");
+        String currentLabel = current.path("label").asText("current");
+        if (!baseline.path("scenario").equals(current.path("scenario"))
+                || !baseline.path("concurrency").equals(current.path("concurrency"))) {
+            System.out.println("Note: the baseline used a different scenario or concurrency");
+        }
+
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        comparison.put("baseline", baselineLabel);
+        System.out.printf("%n%-8s %12s %12s %8s %12s %12s %8s%n", "op", baselineLabel + " r/s", currentLabel + " r/s",
+                "change", baselineLabel + " p99", currentLabel + " p99", "change");
+        current.path("operations").fields().forEachRemaining(entry -> {
+            JsonNode before = baseline.path("operations").path(entry.getKey());
+            if (before.isMissingNode()) {
+                return;
+            }
+            JsonNode after = entry.getValue();
+            double throughputBefore = before.path("throughputPerSecond").asDouble();
+            double throughputAfter = after.path("throughputPerSecond").asDouble();
+            double p99Before = before.path("p99Ms").asDouble();
+            double p99After = after.path("p99Ms").asDouble();
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("throughputChangePercent", change(throughputBefore, throughputAfter));
+            stats.put("p99ChangePercent", change(p99Before, p99After));
+            stats.put("errorsBefore", before.path("errors").asInt());
+            stats.put("errorsAfter", after.path("errors").asInt());
+            comparison.put(entry.getKey(), stats);
+            System.out.printf("%-8s %12.1f %12.1f %7.1f%% %12.1f %12.1f %7.1f%%%n", entry.getKey(),
+                    throughputBefore, throughputAfter, stats.get("throughputChangePercent"),
+                    p99Before, p99After, stats.get("p99ChangePercent"));
+        });
+        return comparison;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    private Samples work(long measureFrom, long end) {
+        Samples samples = new Samples();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Operation operation = weighted[random.nextInt(weighted.length)];
+            int type = random.nextInt(REPORT_PATHS.length);
+            HttpRequest request = request(operation, type, random);
+            if (request == null) {
+                continue;
+            }
+            boolean ok;
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                ok = response.statusCode() < 400;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (now >= measureFrom) {
+                samples.record(operation, System.nanoTime() - now, ok);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * @return the request, or null if there is no report to use it on
+     */
+    private HttpRequest request(Operation operation, int type, ThreadLocalRandom random) {
+        String path = baseUrl + REPORT_PATHS[type];
+        List<Long> known = ids.get(type);
+        switch (operation) {
+            case LIST -> {
+                String status = random.nextInt(4) == 0 ? "&status=SUBMITTED" : "";
+                return HttpRequest.newBuilder(URI.create(path + "/summary-list?size=50" + status)).GET().build();
+            }
+            case DETAIL -> {
+                return known.isEmpty() ? null
+                        : HttpRequest.newBuilder(URI.create(path + "/" + known.get(random.nextInt(known.size()))))
+                                .GET().build();
+            }
+            case PDF -> {
+                return known.isEmpty() ? null
+                        : HttpRequest.newBuilder(URI.create(path + "/" + known.get(random.nextInt(known.size()))
+                                + "/pdf?userName=load")).GET().build();
+            }
+            case APPROVE -> {
+                // Each submitted report can be approved once; when they run out the mix shifts
+                Long id = submitted.get(type).poll();
+                return id == null ? null
+                        : HttpRequest.newBuilder(URI.create(path + "/" + id + "/approve?reviewedBy=load.qa"))
+                                .POST(HttpRequest.BodyPublishers.noBody()).build();
+            }
+            default -> throw new IllegalStateException(operation.name());
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Map<Operation, Integer> mix(int list, int detail, int pdf, int approve) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.LIST, list);
+        mix.put(Operation.DETAIL, detail);
+        mix.put(Operation.PDF, pdf);
+        mix.put(Operation.APPROVE, approve);
+        return mix;
+    }
+
+    /** Latencies of one worker, in growable primitive arrays rather than boxed lists. */
+    private static final class Samples {
+
+        private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> errors = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos, boolean ok) {
+            if (!ok) {
+                errors.merge(operation, 1, Integer::sum);
+                return;
+            }
+            int count = counts.getOrDefault(operation, 0);
+            long[] values = latencies.computeIfAbsent(operation, o -> new long[1024]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+        }
+
+        void addAll(Samples other) {
+            for (Operation operation : Operation.values()) {
+                long[] theirs = other.latencies(operation);
+                for (long nanos : theirs) {
+                    record(operation, nanos, true);
+                }
+                errors.merge(operation, other.errors(operation), Integer::sum);
+            }
+        }
+
+        long[] latencies(Operation operation) {
+            long[] values = latencies.get(operation);
+            return values == null ? new long[0] : Arrays.copyOf(values, counts.getOrDefault(operation, 0));
+        }
+
+        int errors(Operation operation) {
+            return errors.getOrDefault(operation, 0);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.swajyot.log.config;
+
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * Rough size in bytes of a Hibernate second-level cache entry, so report regions can be
+ * bounded by memory rather than entry count. Walks the disassembled entity state; the
+ * JSONB detail lists dominate and are weighed element by element.
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT = 16;
+    private static final int UNKNOWN = 256;
+    private static final int MAX_DEPTH = 4;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, weigh(value, 0)));
+    }
+
+    private static long weigh(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof AbstractReadWriteAccess.Lockable lockable) {
+            return OBJECT + weigh(lockable.getValue(), depth);
+        }
+        if (value instanceof StandardCacheEntryImpl entry) {
+            return OBJECT + weigh(entry.getDisassembledState(), depth);
+        }
+        if (value instanceof CharSequence text) {
+            return 40 + 2L * text.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT + bytes.length;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>
+                || value instanceof Temporal) {
+            return OBJECT;
+        }
+        if (depth >= MAX_DEPTH) {
+            return UNKNOWN;
+        }
+        if (value instanceof Object[] array) {
+            long size = OBJECT + 4L * array.length;
+            for (Object element : array) {
+                size += weigh(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT * 2L;
+            for (Object element : collection) {
+                size += 4 + weigh(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = OBJECT * 2L;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += OBJECT + weigh(entry.getKey(), depth + 1) + weigh(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        // Line items and other POJOs: a flat estimate per object
+        return UNKNOWN;
+    }
+}
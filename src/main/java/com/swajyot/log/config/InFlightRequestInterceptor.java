@@ -0,0 +1,76 @@
+package com.swajyot.log.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Publishes the number of requests currently being handled per endpoint as the gauge
+ * http.server.requests.inflight, tagged like http.server.requests (method and uri pattern).
+ *
+ * A request is counted once on its first dispatch and released when it completes, so
+ * async dispatches and error forwards do not count it twice.
+ */
+@Component
+public class InFlightRequestInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String COUNTER_ATTRIBUTE = InFlightRequestInterceptor.class.getName() + ".counter";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public InFlightRequestInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST
+                || request.getAttribute(COUNTER_ATTRIBUTE) != null) {
+            return true;
+        }
+        AtomicInteger counter = counterFor(request.getMethod(), uriOf(request));
+        counter.incrementAndGet();
+        request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        // Not reached for a request that went async; the final async dispatch releases it
+        Object counter = request.getAttribute(COUNTER_ATTRIBUTE);
+        if (counter instanceof AtomicInteger count) {
+            request.removeAttribute(COUNTER_ATTRIBUTE);
+            count.decrementAndGet();
+        }
+    }
+
+    private AtomicInteger counterFor(String method, String uri) {
+        return inFlight.computeIfAbsent(method + " " + uri, key -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("http.server.requests.inflight", counter, AtomicInteger::get)
+                    .description("Requests currently being handled")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    private static String uriOf(HttpServletRequest request) {
+        // The mapped pattern keeps the tag set bounded, e.g. /api/inspection-forms/{id}
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
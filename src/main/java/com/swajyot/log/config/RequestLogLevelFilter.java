@@ -0,0 +1,64 @@
+package com.swajyot.log.config;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Raises the log level for a single request when it carries the configured header, e.g.
+ * {@code X-Log-Level: DEBUG}. The level is kept in the MDC for the duration of the request
+ * and applied by RequestLogLevelTurboFilter, so no logger configuration is changed.
+ * Off unless app.logging.level-header is set, since any caller could otherwise use it to
+ * amplify log volume; only the dev profile enables it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogLevelFilter extends OncePerRequestFilter {
+
+    private static final Set<String> ALLOWED_LEVELS = Set.of("TRACE", "DEBUG", "INFO");
+
+    private final String headerName;
+
+    public RequestLogLevelFilter(@Value("${app.logging.level-header:}") String headerName) {
+        this.headerName = headerName;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return headerName.isBlank() || request.getHeader(headerName) == null;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Async dispatches run on another thread, which needs the MDC entry as well
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String level = request.getHeader(headerName).trim().toUpperCase(Locale.ROOT);
+        if (!ALLOWED_LEVELS.contains(level)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        MDC.put(RequestLogLevelTurboFilter.MDC_KEY, level);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(RequestLogLevelTurboFilter.MDC_KEY);
+        }
+    }
+}
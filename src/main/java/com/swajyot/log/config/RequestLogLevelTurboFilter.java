@@ -0,0 +1,56 @@
+package com.swajyot.log.config;
+
+import java.util.Arrays;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Lets events through below the configured level while the current thread handles a request
+ * that asked for more detail (see RequestLogLevelFilter). Only loggers under the configured
+ * prefixes are affected; everything else falls through to the normal level checks.
+ */
+public class RequestLogLevelTurboFilter extends TurboFilter {
+
+    public static final String MDC_KEY = "requestLogLevel";
+
+    private String[] prefixes = new String[0];
+
+    /**
+     * @param loggers Comma separated logger name prefixes, e.g. "com.swajyot.log,org.hibernate.SQL"
+     */
+    public void setLoggers(String loggers) {
+        this.prefixes = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        String elevated = MDC.get(MDC_KEY);
+        if (elevated == null || level == null) {
+            return FilterReply.NEUTRAL;
+        }
+        if (level.isGreaterOrEqual(Level.toLevel(elevated, Level.OFF)) && matches(logger.getName())) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private boolean matches(String name) {
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)
+                    && (name.length() == prefix.length() || name.charAt(prefix.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,61 @@
+package com.swajyot.log.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.swajyot.log.service.QueryPlanChecker;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the versioned migrations in db/migration and then checks the report query plans.
+ *
+ * Tables are still created and updated by Hibernate, so the migrations only hold what JPA
+ * cannot declare (composite, expression, operator-class and GIN indexes) and run after the
+ * entity manager factory is up rather than through Spring Boot's Flyway auto-configuration.
+ * Databases created before the migrations existed are baselined at version 0.
+ */
+@Configuration
+@Slf4j
+public class SchemaMigrationConfig {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CommandLineRunner migrateSchema(DataSource dataSource,
+                                           @Value("${app.schema.migrate:true}") boolean migrate,
+                                           @Value("${app.schema.plan-check:true}") boolean planCheck,
+                                           QueryPlanChecker queryPlanChecker) {
+        return args -> {
+            if (migrate) {
+                MigrateResult result = Flyway.configure()
+                        .dataSource(dataSource)
+                        .locations("classpath:db/migration")
+                        .baselineOnMigrate(true)
+                        .baselineVersion("0")
+                        .load()
+                        .migrate();
+                log.info("Schema at version {} ({} migrations applied)",
+                        result.targetSchemaVersion != null ? result.targetSchemaVersion : result.initialSchemaVersion,
+                        result.migrationsExecuted);
+            }
+            if (planCheck) {
+                List<String> unindexed = queryPlanChecker.findUnindexedQueries();
+                if (unindexed.isEmpty()) {
+                    log.info("All report list queries are served by an index");
+                } else {
+                    unindexed.forEach(query -> log.warn("Unindexed query plan: {}", query));
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.swajyot.log.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.User;
+
+/**
+ * Hibernate second-level cache backed by Caffeine through JCache. The regions are created
+ * here, so their limits come from application properties: report entities are bounded by
+ * estimated bytes, users and query results by entry count, all with a TTL as a backstop
+ * for writes made outside Hibernate.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /** Query cache region for the findByStatus lists. */
+    public static final String STATUS_LISTS_REGION = "report-status-lists";
+
+    // Hibernate's own regions for cached query results and table modification times
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.reports.max-weight-bytes:67108864}") long reportMaxWeight,
+            @Value("${app.cache.reports.ttl-seconds:600}") long reportTtl,
+            @Value("${app.cache.users.max-size:1000}") long userMaxSize,
+            @Value("${app.cache.users.ttl-seconds:300}") long userTtl,
+            @Value("${app.cache.queries.max-size:500}") long queryMaxSize,
+            @Value("${app.cache.queries.ttl-seconds:60}") long queryTtl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        URI uri = provider.getDefaultURI();
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        for (ReportType type : ReportType.values()) {
+            CaffeineConfiguration<Object, Object> reports = regionConfig(reportTtl);
+            reports.setMaximumWeight(OptionalLong.of(reportMaxWeight));
+            reports.setWeigherFactory(Optional.of(FactoryBuilder.factoryOf(CacheEntryWeigher.class)));
+            create(cacheManager, type.getEntityClass().getName(), reports);
+        }
+
+        CaffeineConfiguration<Object, Object> users = regionConfig(userTtl);
+        users.setMaximumSize(OptionalLong.of(userMaxSize));
+        create(cacheManager, User.class.getName(), users);
+
+        for (String region : List.of(STATUS_LISTS_REGION, QUERY_RESULTS_REGION)) {
+            CaffeineConfiguration<Object, Object> queries = regionConfig(queryTtl);
+            queries.setMaximumSize(OptionalLong.of(queryMaxSize));
+            create(cacheManager, region, queries);
+        }
+
+        // Timestamps must outlive every query result that depends on them: no size limit or TTL
+        create(cacheManager, UPDATE_TIMESTAMPS_REGION, regionConfig(0));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfig(long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setNativeStatisticsEnabled(true);
+        if (ttlSeconds > 0) {
+            config.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        return config;
+    }
+
+    private static void create(CacheManager cacheManager, String name, CaffeineConfiguration<Object, Object> config) {
+        // The default manager is shared, e.g. across devtools restarts
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, config);
+        }
+    }
+}
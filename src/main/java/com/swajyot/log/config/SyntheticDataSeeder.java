@@ -0,0 +1,59 @@
+package com.swajyot.log.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.swajyot.log.service.EntityCacheService;
+import com.swajyot.log.service.IqcRollupService;
+import com.swajyot.log.service.SyntheticReportGenerator;
+import com.swajyot.log.service.SyntheticReportGenerator.SeedTable;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills the database with synthetic reports when started with the "seed" profile, e.g.
+ * --spring.profiles.active=seed --app.seed.reports-per-table=500000
+ *
+ * Each start adds another batch; document numbers continue after the rows of earlier runs
+ * with the same seed.
+ */
+@Configuration
+@Profile("seed")
+@Slf4j
+public class SyntheticDataSeeder {
+
+    @Bean
+    public CommandLineRunner seedSyntheticReports(SyntheticReportGenerator generator,
+                                                  IqcRollupService iqcRollupService,
+                                                  EntityCacheService entityCacheService,
+                                                  @Value("${app.seed.reports-per-table:200000}") int reportsPerTable,
+                                                  @Value("${app.seed.seed:42}") long seed,
+                                                  @Value("${app.seed.tables:}") List<String> tableNames) {
+        return args -> {
+            Map<String, SeedTable> tables = SyntheticReportGenerator.tables();
+            List<String> selected = tableNames.isEmpty() ? List.copyOf(tables.keySet()) : tableNames;
+
+            long total = 0;
+            for (String name : selected) {
+                SeedTable table = tables.get(name.trim().toUpperCase());
+                if (table == null) {
+                    throw new IllegalArgumentException("Unknown seed table " + name + ", expected one of " + tables.keySet());
+                }
+                total += generator.generate(table, reportsPerTable, seed);
+            }
+
+            // The rows bypassed the services, so rebuild what they would have maintained
+            if (selected.stream().anyMatch(name -> name.trim().equalsIgnoreCase("IQC"))) {
+                iqcRollupService.rebuild();
+            }
+            entityCacheService.clear();
+            log.info("Synthetic data seeding finished: {} reports", total);
+        };
+    }
+}
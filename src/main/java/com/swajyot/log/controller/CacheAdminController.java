@@ -0,0 +1,32 @@
+package com.swajyot.log.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.swajyot.log.model.res.CacheRegionStats;
+import com.swajyot.log.service.EntityCacheService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class CacheAdminController {
+
+    private final EntityCacheService entityCacheService;
+
+    /**
+     * Hit, miss and eviction counts per second-level cache region.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStats>> getStatistics() {
+        return ResponseEntity.ok(entityCacheService.getStatistics());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        entityCacheService.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
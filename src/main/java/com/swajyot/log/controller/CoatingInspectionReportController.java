@@ -4,15 +4,35 @@ import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.swajyot.log.model.CoatingInspectionReport;
+import com.swajyot.log.model.EmailJob;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.req.BulkTransitionRequest;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.BulkTransitionResult;
+import com.swajyot.log.model.res.CursorPage;
+import com.swajyot.log.model.res.ReportSummary;
 import com.swajyot.log.model.req.EmailRequest;
-import com.swajyot.log.service.EmailService;
+import com.swajyot.log.service.BulkTransitionService;
+import com.swajyot.log.service.ETags;
+import com.swajyot.log.service.EmailOutboxService;
+import com.swajyot.log.service.PdfZipExportService;
+import com.swajyot.log.service.ReportExportService;
+import com.swajyot.log.service.ReportNotFoundException;
+import com.swajyot.log.service.ReportPatcher;
+import com.swajyot.log.service.ReportVersions;
+import com.swajyot.log.service.ReportWorkflow;
+import com.swajyot.log.service.ReportSummaryService;
 import com.swajyot.log.service.pdf.CoatingInspectionReportPdfService;
 import com.swajyot.log.service.CoatingInspectionReportService;
+import com.swajyot.log.service.pdf.PdfRenderBusyException;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -31,16 +51,103 @@ public class CoatingInspectionReportController {
     private CoatingInspectionReportPdfService pdfService;
     
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private ReportSummaryService reportSummaryService;
+
+    @Autowired
+    private PdfZipExportService pdfZipExportService;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private ReportVersions reportVersions;
+
+    @Autowired
+    private BulkTransitionService bulkTransitionService;
 
     @GetMapping
     public ResponseEntity<List<CoatingInspectionReport>> getAllReports() {
         return ResponseEntity.ok(coatingInspectionReportService.getAllReports());
     }
 
+    /**
+     * Keyset-paginated list. Pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<CoatingInspectionReport>> getReportsPage(@ModelAttribute ReportFilter filter) {
+        try {
+            return ResponseEntity.ok(coatingInspectionReportService.getReportsPage(filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Scalar-only summaries for list screens, paginated and filtered like /page.
+     */
+    @GetMapping("/summary-list")
+    public ResponseEntity<CursorPage<ReportSummary>> getSummaryList(@ModelAttribute ReportFilter filter) {
+        try {
+            return ResponseEntity.ok(reportSummaryService.getSummaries(ReportType.COATING, filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams the PDFs of every report matching the filter as a single ZIP.
+     */
+    @GetMapping("/export/pdf-zip")
+    public ResponseEntity<StreamingResponseBody> exportPdfZip(
+            @ModelAttribute ReportFilter filter,
+            @RequestParam(required = false) String userName) {
+        try {
+            StreamingResponseBody body = pdfZipExportService.zipExport(List.of(ReportType.COATING), filter, userName);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"coating_inspection_reports.zip\"")
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams the matching reports, one record per line item, as CSV (default) or NDJSON.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @ModelAttribute ReportFilter filter,
+            @RequestParam(defaultValue = "csv") String format) {
+        try {
+            ReportExportService.Format exportFormat = ReportExportService.Format.valueOf(format.toUpperCase());
+            StreamingResponseBody body = reportExportService.export(ReportType.COATING, filter, exportFormat);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"coating_inspection_reports." + exportFormat.getExtension() + "\"")
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Answers 304 from the version column alone when If-None-Match carries the current ETag.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<CoatingInspectionReport> getReportById(@PathVariable Long id) {
-        return ResponseEntity.ok(coatingInspectionReportService.getReportById(id));
+    public ResponseEntity<CoatingInspectionReport> getReportById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Long version = reportVersions.currentVersion(ReportType.COATING, id);
+        if (ETags.matches(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).build();
+        }
+        CoatingInspectionReport report = coatingInspectionReportService.getReportById(id);
+        return ResponseEntity.ok().eTag(ETags.of(report.getVersion())).body(report);
     }
 
     @GetMapping("/status/{status}")
@@ -92,34 +199,110 @@ public class CoatingInspectionReportController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<CoatingInspectionReport> updateReport(@PathVariable Long id, @RequestBody CoatingInspectionReport report) {
-        return ResponseEntity.ok(coatingInspectionReportService.updateReport(id, report));
+    public ResponseEntity<CoatingInspectionReport> updateReport(
+            @PathVariable Long id,
+            @RequestBody CoatingInspectionReport report,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CoatingInspectionReport saved = reportVersions.ifMatch(ReportType.COATING, id, ifMatch, () -> coatingInspectionReportService.updateReport(id, report));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+    }
+
+    /**
+     * Partial update. Send application/merge-patch+json to replace top-level fields, or
+     * application/json-patch+json to edit single JSON line items in place.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<CoatingInspectionReport> mergePatch(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, patch, ReportPatcher.Format.MERGE_PATCH, ifMatch);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/json-patch+json")
+    public ResponseEntity<CoatingInspectionReport> jsonPatch(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, patch, ReportPatcher.Format.JSON_PATCH, ifMatch);
+    }
+
+    private ResponseEntity<CoatingInspectionReport> patch(Long id, JsonNode patch, ReportPatcher.Format format, String ifMatch) {
+        try {
+            CoatingInspectionReport saved = reportVersions.ifMatch(ReportType.COATING, id, ifMatch,
+                    () -> coatingInspectionReportService.patchReport(id, patch, format));
+            return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ReportNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @PostMapping("/{id}/submit")
-    public ResponseEntity<CoatingInspectionReport> submitReport(@PathVariable Long id, @RequestParam String submittedBy) {
-        return ResponseEntity.ok(coatingInspectionReportService.submitReport(id, submittedBy));
+    public ResponseEntity<CoatingInspectionReport> submitReport(
+            @PathVariable Long id,
+            @RequestParam String submittedBy,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CoatingInspectionReport saved = reportVersions.ifMatch(ReportType.COATING, id, ifMatch, () -> coatingInspectionReportService.submitReport(id, submittedBy));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
     }
 
     @PostMapping("/{id}/approve")
     public ResponseEntity<CoatingInspectionReport> approveReport(
             @PathVariable Long id,
             @RequestParam String reviewedBy,
-            @RequestParam(required = false) String comments) {
-        return ResponseEntity.ok(coatingInspectionReportService.approveReport(id, reviewedBy, comments));
+            @RequestParam(required = false) String comments,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CoatingInspectionReport saved = reportVersions.ifMatch(ReportType.COATING, id, ifMatch,
+                () -> coatingInspectionReportService.approveReport(id, reviewedBy, comments));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
     }
 
     @PostMapping("/{id}/reject")
     public ResponseEntity<CoatingInspectionReport> rejectReport(
             @PathVariable Long id,
             @RequestParam String reviewedBy,
-            @RequestParam String comments) {
-        return ResponseEntity.ok(coatingInspectionReportService.rejectReport(id, reviewedBy, comments));
+            @RequestParam String comments,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CoatingInspectionReport saved = reportVersions.ifMatch(ReportType.COATING, id, ifMatch,
+                () -> coatingInspectionReportService.rejectReport(id, reviewedBy, comments));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+    }
+
+    /**
+     * Bulk workflow transitions. Each returns 200 with a per-id result; ids that are missing
+     * or in the wrong status are reported as failures and do not stop the others.
+     */
+    @PostMapping("/bulk/submit")
+    public ResponseEntity<BulkTransitionResult> bulkSubmit(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.SUBMIT, request);
+    }
+
+    @PostMapping("/bulk/approve")
+    public ResponseEntity<BulkTransitionResult> bulkApprove(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.APPROVE, request);
+    }
+
+    @PostMapping("/bulk/reject")
+    public ResponseEntity<BulkTransitionResult> bulkReject(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.REJECT, request);
+    }
+
+    private ResponseEntity<BulkTransitionResult> bulkTransition(ReportWorkflow.Transition action,
+                                                                BulkTransitionRequest request) {
+        try {
+            return ResponseEntity.ok(bulkTransitionService.apply(ReportType.COATING, action, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteReport(@PathVariable Long id) {
-        coatingInspectionReportService.deleteReport(id);
+    public ResponseEntity<Void> deleteReport(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        reportVersions.runIfMatch(ReportType.COATING, id, ifMatch, () -> coatingInspectionReportService.deleteReport(id));
         return ResponseEntity.noContent().build();
     }
     
@@ -137,14 +320,14 @@ public class CoatingInspectionReportController {
             // Get the report by ID
             CoatingInspectionReport report = coatingInspectionReportService.getReportById(id);
             
-            // Log the download activity if userName is provided
+            // Generate the PDF
+            byte[] pdfBytes = pdfService.generatePdf(report, userName);
+            
+            // Log the download once the PDF exists
             if (userName != null && !userName.isEmpty()) {
                 coatingInspectionReportService.logPdfDownload(id, userName);
             }
             
-            // Generate the PDF
-            byte[] pdfBytes = pdfService.generatePdf(report, userName);
-            
             // Set up response headers
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -152,6 +335,10 @@ public class CoatingInspectionReportController {
             headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
             
             return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        } catch (PdfRenderBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (Exception e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -173,19 +360,14 @@ public class CoatingInspectionReportController {
             // Get the report by ID
             CoatingInspectionReport report = coatingInspectionReportService.getReportById(id);
             
-            // Generate the PDF
-            byte[] pdfBytes = pdfService.generatePdf(report, "");
-            
-            // Send email with PDF attachment
-            emailService.sendEmailWithAttachment(
-                emailRequest.getTo(),
-                emailRequest.getSubject(),
-                emailRequest.getBody(),
-                pdfBytes,
-                "coating_inspection_report_" + report.getDocumentNo() + ".pdf"
-            );
-            
-            return ResponseEntity.ok(Map.of("message", "Email sent successfully"));
+            // Queue the email; the PDF is rendered and sent in the background
+            EmailJob job = emailOutboxService.enqueue(ReportType.COATING, id, "",
+                    "coating_inspection_report_" + report.getDocumentNo() + ".pdf", emailRequest);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "Email queued", "jobId", job.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -207,14 +389,14 @@ public class CoatingInspectionReportController {
             // Get the report by ID
             CoatingInspectionReport report = coatingInspectionReportService.getReportById(id);
             
-            // Log the download activity with the userName
+            // Generate the PDF
+            byte[] pdfBytes = pdfService.generatePdf(report, userName);
+            
+            // Log the download once the PDF exists
             if (userName != null && !userName.isEmpty()) {
                 coatingInspectionReportService.logPdfDownload(id, userName);
             }
             
-            // Generate the PDF
-            byte[] pdfBytes = pdfService.generatePdf(report, userName);
-            
             // Set up response headers
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -222,6 +404,10 @@ public class CoatingInspectionReportController {
             headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
             
             return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        } catch (PdfRenderBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (Exception e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -245,19 +431,14 @@ public class CoatingInspectionReportController {
             // Get the report by ID
             CoatingInspectionReport report = coatingInspectionReportService.getReportById(id);
             
-            // Generate the PDF with the userName
-            byte[] pdfBytes = pdfService.generatePdf(report, userName);
-            
-            // Send email with PDF attachment
-            emailService.sendEmailWithAttachment(
-                emailRequest.getTo(),
-                emailRequest.getSubject(),
-                emailRequest.getBody(),
-                pdfBytes,
-                "coating_inspection_report_" + report.getDocumentNo() + ".pdf"
-            );
-            
-            return ResponseEntity.ok(Map.of("message", "Email sent successfully by " + userName));
+            // Queue the email; the PDF is rendered and sent in the background
+            EmailJob job = emailOutboxService.enqueue(ReportType.COATING, id, userName,
+                    "coating_inspection_report_" + report.getDocumentNo() + ".pdf", emailRequest);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "Email queued by " + userName, "jobId", job.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,23 @@
+package com.swajyot.log.controller;
+
+import java.util.Map;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns version conflicts (stale If-Match, stale version in the body, or a concurrent
+ * edit caught at flush) into 412 Precondition Failed.
+ */
+@RestControllerAdvice
+public class ConcurrencyExceptionHandler {
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleVersionConflict(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of("error", "The report was changed by someone else; reload and retry"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.swajyot.log.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.swajyot.log.model.ReportDownload;
+import com.swajyot.log.model.req.DownloadFilter;
+import com.swajyot.log.model.res.CursorPage;
+import com.swajyot.log.service.DownloadAuditService;
+
+@RestController
+@RequestMapping("/api/downloads")
+@RequiredArgsConstructor
+public class DownloadAuditController {
+
+    private final DownloadAuditService downloadAuditService;
+
+    /**
+     * Who downloaded which report PDF and when, newest first. Filter by reportType,
+     * reportId, userName and from/to (ISO date-time); page with cursor and size.
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<ReportDownload>> getDownloads(@ModelAttribute DownloadFilter filter) {
+        try {
+            return ResponseEntity.ok(downloadAuditService.getDownloads(filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.swajyot.log.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.swajyot.log.model.EmailJob;
+import com.swajyot.log.service.EmailJobNotFoundException;
+import com.swajyot.log.service.EmailOutboxService;
+
+@RestController
+@RequestMapping("/api/email-jobs")
+@RequiredArgsConstructor
+public class EmailJobController {
+
+    private final EmailOutboxService emailOutboxService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<EmailJob> getJob(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(emailOutboxService.getJob(id));
+        } catch (EmailJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.swajyot.log.controller;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.service.PdfZipExportService;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final PdfZipExportService pdfZipExportService;
+
+    /**
+     * Streams the PDFs of all matching reports across the given types (all types if none
+     * are given) as a single ZIP, one folder per type.
+     */
+    @GetMapping("/pdf-zip")
+    public ResponseEntity<StreamingResponseBody> exportPdfZip(
+            @RequestParam(required = false) List<ReportType> types,
+            @ModelAttribute ReportFilter filter,
+            @RequestParam(required = false) String userName) {
+        List<ReportType> selected = types == null || types.isEmpty() ? List.of(ReportType.values()) : types;
+        try {
+            StreamingResponseBody body = pdfZipExportService.zipExport(selected, filter, userName);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reports.zip\"")
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -4,15 +4,37 @@ import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swajyot.log.model.EmailJob;
 import com.swajyot.log.model.IncomingQualityInspectionReport;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.req.BulkTransitionRequest;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.AcceptanceSummary;
+import com.swajyot.log.model.res.BulkTransitionResult;
+import com.swajyot.log.model.res.CursorPage;
+import com.swajyot.log.model.res.ReportSummary;
 import com.swajyot.log.model.req.EmailRequest;
-import com.swajyot.log.service.EmailService;
+import com.swajyot.log.service.BulkTransitionService;
+import com.swajyot.log.service.ETags;
+import com.swajyot.log.service.EmailOutboxService;
+import com.swajyot.log.service.IqcRollupService;
+import com.swajyot.log.service.PdfZipExportService;
+import com.swajyot.log.service.ReportExportService;
+import com.swajyot.log.service.ReportNotFoundException;
+import com.swajyot.log.service.ReportPatcher;
+import com.swajyot.log.service.ReportVersions;
+import com.swajyot.log.service.ReportWorkflow;
+import com.swajyot.log.service.ReportSummaryService;
 import com.swajyot.log.service.IncomingQualityInspectionReportPdfService;
 import com.swajyot.log.service.IncomingQualityInspectionReportService;
+import com.swajyot.log.service.pdf.PdfRenderBusyException;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -31,16 +53,123 @@ public class IncomingQualityInspectionReportController {
     private IncomingQualityInspectionReportPdfService pdfService;
     
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private ReportSummaryService reportSummaryService;
+
+    @Autowired
+    private PdfZipExportService pdfZipExportService;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private ReportVersions reportVersions;
+
+    @Autowired
+    private BulkTransitionService bulkTransitionService;
+
+    @Autowired
+    private IqcRollupService iqcRollupService;
 
     @GetMapping
     public ResponseEntity<List<IncomingQualityInspectionReport>> getAllReports() {
         return ResponseEntity.ok(reportService.getAllReports());
     }
 
+    /**
+     * Keyset-paginated list. Pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<IncomingQualityInspectionReport>> getReportsPage(@ModelAttribute ReportFilter filter) {
+        try {
+            return ResponseEntity.ok(reportService.getReportsPage(filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Scalar-only summaries for list screens, paginated and filtered like /page.
+     */
+    @GetMapping("/summary-list")
+    public ResponseEntity<CursorPage<ReportSummary>> getSummaryList(@ModelAttribute ReportFilter filter) {
+        try {
+            return ResponseEntity.ok(reportSummaryService.getSummaries(ReportType.INCOMING_QUALITY, filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Reports with more than minCount defects in the given audit category
+     * (CRITICAL, MAJOR_A, MAJOR_B, MINOR), keyset-paginated like /page.
+     */
+    @GetMapping("/defects/{category}")
+    public ResponseEntity<CursorPage<IncomingQualityInspectionReport>> getReportsByDefectCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) Integer minCount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(reportService.getReportsByDefectCategory(category, minCount, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams the PDFs of every report matching the filter as a single ZIP.
+     */
+    @GetMapping("/export/pdf-zip")
+    public ResponseEntity<StreamingResponseBody> exportPdfZip(
+            @ModelAttribute ReportFilter filter,
+            @RequestParam(required = false) String userName) {
+        try {
+            StreamingResponseBody body = pdfZipExportService.zipExport(List.of(ReportType.INCOMING_QUALITY), filter, userName);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"iqc_reports.zip\"")
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams the matching reports, one record per line item, as CSV (default) or NDJSON.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @ModelAttribute ReportFilter filter,
+            @RequestParam(defaultValue = "csv") String format) {
+        try {
+            ReportExportService.Format exportFormat = ReportExportService.Format.valueOf(format.toUpperCase());
+            StreamingResponseBody body = reportExportService.export(ReportType.INCOMING_QUALITY, filter, exportFormat);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"iqc_reports." + exportFormat.getExtension() + "\"")
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Answers 304 from the version column alone when If-None-Match carries the current ETag.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<IncomingQualityInspectionReport> getReportById(@PathVariable Long id) {
-        return ResponseEntity.ok(reportService.getReportById(id));
+    public ResponseEntity<IncomingQualityInspectionReport> getReportById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Long version = reportVersions.currentVersion(ReportType.INCOMING_QUALITY, id);
+        if (ETags.matches(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).build();
+        }
+        IncomingQualityInspectionReport report = reportService.getReportById(id);
+        return ResponseEntity.ok().eTag(ETags.of(report.getVersion())).body(report);
     }
 
     @GetMapping("/status/{status}")
@@ -71,6 +200,27 @@ public class IncomingQualityInspectionReportController {
         return ResponseEntity.ok(reportService.getReportsByDateRange(startDate, endDate));
     }
     
+    /**
+     * PASS / CONDITIONAL_PASS / FAIL counts and acceptance rate for a date range,
+     * optionally for one supplier and/or product variant.
+     */
+    @GetMapping("/acceptance")
+    public ResponseEntity<AcceptanceSummary> getAcceptanceSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String supplier,
+            @RequestParam(required = false) String productVariant) {
+        return ResponseEntity.ok(reportService.getAcceptanceSummary(startDate, endDate, supplier, productVariant));
+    }
+
+    /**
+     * Rebuilds the acceptance rollups from the reports table.
+     */
+    @PostMapping("/acceptance/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildAcceptanceRollups() {
+        return ResponseEntity.ok(Map.of("rows", iqcRollupService.rebuild()));
+    }
+
     @GetMapping("/product/{productName}")
     public ResponseEntity<List<IncomingQualityInspectionReport>> getReportsByProductName(@PathVariable String productName) {
         return ResponseEntity.ok(reportService.getReportsByProductName(productName));
@@ -103,34 +253,110 @@ public class IncomingQualityInspectionReportController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<IncomingQualityInspectionReport> updateReport(@PathVariable Long id, @RequestBody IncomingQualityInspectionReport report) {
-        return ResponseEntity.ok(reportService.updateReport(id, report));
+    public ResponseEntity<IncomingQualityInspectionReport> updateReport(
+            @PathVariable Long id,
+            @RequestBody IncomingQualityInspectionReport report,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        IncomingQualityInspectionReport saved = reportVersions.ifMatch(ReportType.INCOMING_QUALITY, id, ifMatch, () -> reportService.updateReport(id, report));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+    }
+
+    /**
+     * Partial update. Send application/merge-patch+json to replace top-level fields, or
+     * application/json-patch+json to edit single JSON line items in place.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<IncomingQualityInspectionReport> mergePatch(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, patch, ReportPatcher.Format.MERGE_PATCH, ifMatch);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/json-patch+json")
+    public ResponseEntity<IncomingQualityInspectionReport> jsonPatch(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, patch, ReportPatcher.Format.JSON_PATCH, ifMatch);
+    }
+
+    private ResponseEntity<IncomingQualityInspectionReport> patch(Long id, JsonNode patch, ReportPatcher.Format format, String ifMatch) {
+        try {
+            IncomingQualityInspectionReport saved = reportVersions.ifMatch(ReportType.INCOMING_QUALITY, id, ifMatch,
+                    () -> reportService.patchReport(id, patch, format));
+            return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ReportNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @PostMapping("/{id}/submit")
-    public ResponseEntity<IncomingQualityInspectionReport> submitReport(@PathVariable Long id, @RequestParam String submittedBy) {
-        return ResponseEntity.ok(reportService.submitReport(id, submittedBy));
+    public ResponseEntity<IncomingQualityInspectionReport> submitReport(
+            @PathVariable Long id,
+            @RequestParam String submittedBy,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        IncomingQualityInspectionReport saved = reportVersions.ifMatch(ReportType.INCOMING_QUALITY, id, ifMatch, () -> reportService.submitReport(id, submittedBy));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
     }
 
     @PostMapping("/{id}/approve")
     public ResponseEntity<IncomingQualityInspectionReport> approveReport(
             @PathVariable Long id,
             @RequestParam String reviewedBy,
-            @RequestParam(required = false) String comments) {
-        return ResponseEntity.ok(reportService.approveReport(id, reviewedBy, comments));
+            @RequestParam(required = false) String comments,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        IncomingQualityInspectionReport saved = reportVersions.ifMatch(ReportType.INCOMING_QUALITY, id, ifMatch,
+                () -> reportService.approveReport(id, reviewedBy, comments));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
     }
 
     @PostMapping("/{id}/reject")
     public ResponseEntity<IncomingQualityInspectionReport> rejectReport(
             @PathVariable Long id,
             @RequestParam String reviewedBy,
-            @RequestParam String comments) {
-        return ResponseEntity.ok(reportService.rejectReport(id, reviewedBy, comments));
+            @RequestParam String comments,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        IncomingQualityInspectionReport saved = reportVersions.ifMatch(ReportType.INCOMING_QUALITY, id, ifMatch,
+                () -> reportService.rejectReport(id, reviewedBy, comments));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+    }
+
+    /**
+     * Bulk workflow transitions. Each returns 200 with a per-id result; ids that are missing
+     * or in the wrong status are reported as failures and do not stop the others.
+     */
+    @PostMapping("/bulk/submit")
+    public ResponseEntity<BulkTransitionResult> bulkSubmit(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.SUBMIT, request);
+    }
+
+    @PostMapping("/bulk/approve")
+    public ResponseEntity<BulkTransitionResult> bulkApprove(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.APPROVE, request);
+    }
+
+    @PostMapping("/bulk/reject")
+    public ResponseEntity<BulkTransitionResult> bulkReject(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.REJECT, request);
+    }
+
+    private ResponseEntity<BulkTransitionResult> bulkTransition(ReportWorkflow.Transition action,
+                                                                BulkTransitionRequest request) {
+        try {
+            return ResponseEntity.ok(bulkTransitionService.apply(ReportType.INCOMING_QUALITY, action, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteReport(@PathVariable Long id) {
-        reportService.deleteReport(id);
+    public ResponseEntity<Void> deleteReport(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        reportVersions.runIfMatch(ReportType.INCOMING_QUALITY, id, ifMatch, () -> reportService.deleteReport(id));
         return ResponseEntity.noContent().build();
     }
     
@@ -148,14 +374,14 @@ public class IncomingQualityInspectionReportController {
             // Get the report by ID
             IncomingQualityInspectionReport report = reportService.getReportById(id);
             
-            // Log the download activity if userName is provided
+            // Generate the PDF
+            byte[] pdfBytes = pdfService.generatePdf(report, userName);
+            
+            // Log the download once the PDF exists
             if (userName != null && !userName.isEmpty()) {
                 reportService.logPdfDownload(id, userName);
             }
             
-            // Generate the PDF
-            byte[] pdfBytes = pdfService.generatePdf(report, userName);
-            
             // Set up response headers
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -163,6 +389,10 @@ public class IncomingQualityInspectionReportController {
             headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
             
             return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        } catch (PdfRenderBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (Exception e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -184,19 +414,14 @@ public class IncomingQualityInspectionReportController {
             // Get the report by ID
             IncomingQualityInspectionReport report = reportService.getReportById(id);
             
-            // Generate the PDF
-            byte[] pdfBytes = pdfService.generatePdf(report, "");
-            
-            // Send email with PDF attachment
-            emailService.sendEmailWithAttachment(
-                emailRequest.getTo(),
-                emailRequest.getSubject(),
-                emailRequest.getBody(),
-                pdfBytes,
-                "iqc_report_" + report.getDocumentNo() + ".pdf"
-            );
-            
-            return ResponseEntity.ok(Map.of("message", "Email sent successfully"));
+            // Queue the email; the PDF is rendered and sent in the background
+            EmailJob job = emailOutboxService.enqueue(ReportType.INCOMING_QUALITY, id, "",
+                    "iqc_report_" + report.getDocumentNo() + ".pdf", emailRequest);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "Email queued", "jobId", job.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -218,14 +443,14 @@ public class IncomingQualityInspectionReportController {
             // Get the report by ID
             IncomingQualityInspectionReport report = reportService.getReportById(id);
             
-            // Log the download activity with the userName
+            // Generate the PDF
+            byte[] pdfBytes = pdfService.generatePdf(report, userName);
+            
+            // Log the download once the PDF exists
             if (userName != null && !userName.isEmpty()) {
                 reportService.logPdfDownload(id, userName);
             }
             
-            // Generate the PDF
-            byte[] pdfBytes = pdfService.generatePdf(report, userName);
-            
             // Set up response headers
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -233,6 +458,10 @@ public class IncomingQualityInspectionReportController {
             headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
             
             return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        } catch (PdfRenderBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (Exception e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -256,19 +485,14 @@ public class IncomingQualityInspectionReportController {
             // Get the report by ID
             IncomingQualityInspectionReport report = reportService.getReportById(id);
             
-            // Generate the PDF with the userName
-            byte[] pdfBytes = pdfService.generatePdf(report, userName);
-            
-            // Send email with PDF attachment
-            emailService.sendEmailWithAttachment(
-                emailRequest.getTo(),
-                emailRequest.getSubject(),
-                emailRequest.getBody(),
-                pdfBytes,
-                "iqc_report_" + report.getDocumentNo() + ".pdf"
-            );
-            
-            return ResponseEntity.ok(Map.of("message", "Email sent successfully by " + userName));
+            // Queue the email; the PDF is rendered and sent in the background
+            EmailJob job = emailOutboxService.enqueue(ReportType.INCOMING_QUALITY, id, userName,
+                    "iqc_report_" + report.getDocumentNo() + ".pdf", emailRequest);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "Email queued by " + userName, "jobId", job.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
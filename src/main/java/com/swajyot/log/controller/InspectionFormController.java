@@ -4,15 +4,35 @@ import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swajyot.log.model.EmailJob;
 import com.swajyot.log.model.InspectionForm;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.req.BulkTransitionRequest;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.BulkTransitionResult;
+import com.swajyot.log.model.res.CursorPage;
+import com.swajyot.log.model.res.ReportSummary;
 import com.swajyot.log.model.req.EmailRequest;
-import com.swajyot.log.service.EmailService;
+import com.swajyot.log.service.BulkTransitionService;
+import com.swajyot.log.service.ETags;
+import com.swajyot.log.service.EmailOutboxService;
+import com.swajyot.log.service.PdfZipExportService;
+import com.swajyot.log.service.ReportExportService;
+import com.swajyot.log.service.ReportNotFoundException;
+import com.swajyot.log.service.ReportPatcher;
+import com.swajyot.log.service.ReportVersions;
+import com.swajyot.log.service.ReportWorkflow;
+import com.swajyot.log.service.ReportSummaryService;
 import com.swajyot.log.service.InspectionFormPdfService;
 import com.swajyot.log.service.InspectionFormService;
+import com.swajyot.log.service.pdf.PdfRenderBusyException;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -32,16 +52,103 @@ public class InspectionFormController {
     private InspectionFormPdfService pdfService;
     
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private ReportSummaryService reportSummaryService;
+
+    @Autowired
+    private PdfZipExportService pdfZipExportService;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private ReportVersions reportVersions;
+
+    @Autowired
+    private BulkTransitionService bulkTransitionService;
 
     @GetMapping
     public ResponseEntity<List<InspectionForm>> getAllForms() {
         return ResponseEntity.ok(inspectionFormService.getAllForms());
     }
 
+    /**
+     * Keyset-paginated list. Pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<InspectionForm>> getFormsPage(@ModelAttribute ReportFilter filter) {
+        try {
+            return ResponseEntity.ok(inspectionFormService.getFormsPage(filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Scalar-only summaries for list screens, paginated and filtered like /page.
+     */
+    @GetMapping("/summary-list")
+    public ResponseEntity<CursorPage<ReportSummary>> getSummaryList(@ModelAttribute ReportFilter filter) {
+        try {
+            return ResponseEntity.ok(reportSummaryService.getSummaries(ReportType.INSPECTION_FORM, filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams the PDFs of every report matching the filter as a single ZIP.
+     */
+    @GetMapping("/export/pdf-zip")
+    public ResponseEntity<StreamingResponseBody> exportPdfZip(
+            @ModelAttribute ReportFilter filter,
+            @RequestParam(required = false) String userName) {
+        try {
+            StreamingResponseBody body = pdfZipExportService.zipExport(List.of(ReportType.INSPECTION_FORM), filter, userName);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inspection_forms.zip\"")
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams the matching reports, one record per line item, as CSV (default) or NDJSON.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @ModelAttribute ReportFilter filter,
+            @RequestParam(defaultValue = "csv") String format) {
+        try {
+            ReportExportService.Format exportFormat = ReportExportService.Format.valueOf(format.toUpperCase());
+            StreamingResponseBody body = reportExportService.export(ReportType.INSPECTION_FORM, filter, exportFormat);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"inspection_forms." + exportFormat.getExtension() + "\"")
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Answers 304 from the version column alone when If-None-Match carries the current ETag.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<InspectionForm> getFormById(@PathVariable Long id) {
-        return ResponseEntity.ok(inspectionFormService.getFormById(id));
+    public ResponseEntity<InspectionForm> getFormById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Long version = reportVersions.currentVersion(ReportType.INSPECTION_FORM, id);
+        if (ETags.matches(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).build();
+        }
+        InspectionForm report = inspectionFormService.getFormById(id);
+        return ResponseEntity.ok().eTag(ETags.of(report.getVersion())).body(report);
     }
 
     @GetMapping("/status/{status}")
@@ -79,34 +186,110 @@ public class InspectionFormController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<InspectionForm> updateForm(@PathVariable Long id, @RequestBody InspectionForm form) {
-        return ResponseEntity.ok(inspectionFormService.updateForm(id, form));
+    public ResponseEntity<InspectionForm> updateForm(
+            @PathVariable Long id,
+            @RequestBody InspectionForm form,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        InspectionForm saved = reportVersions.ifMatch(ReportType.INSPECTION_FORM, id, ifMatch, () -> inspectionFormService.updateForm(id, form));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+    }
+
+    /**
+     * Partial update. Send application/merge-patch+json to replace top-level fields, or
+     * application/json-patch+json to edit single JSON line items in place.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<InspectionForm> mergePatch(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, patch, ReportPatcher.Format.MERGE_PATCH, ifMatch);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/json-patch+json")
+    public ResponseEntity<InspectionForm> jsonPatch(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, patch, ReportPatcher.Format.JSON_PATCH, ifMatch);
+    }
+
+    private ResponseEntity<InspectionForm> patch(Long id, JsonNode patch, ReportPatcher.Format format, String ifMatch) {
+        try {
+            InspectionForm saved = reportVersions.ifMatch(ReportType.INSPECTION_FORM, id, ifMatch,
+                    () -> inspectionFormService.patchForm(id, patch, format));
+            return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ReportNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @PostMapping("/{id}/submit")
-    public ResponseEntity<InspectionForm> submitForm(@PathVariable Long id, @RequestParam String submittedBy) {
-        return ResponseEntity.ok(inspectionFormService.submitForm(id, submittedBy));
+    public ResponseEntity<InspectionForm> submitForm(
+            @PathVariable Long id,
+            @RequestParam String submittedBy,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        InspectionForm saved = reportVersions.ifMatch(ReportType.INSPECTION_FORM, id, ifMatch, () -> inspectionFormService.submitForm(id, submittedBy));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
     }
 
     @PostMapping("/{id}/approve")
     public ResponseEntity<InspectionForm> approveForm(
             @PathVariable Long id,
             @RequestParam String reviewedBy,
-            @RequestParam(required = false) String comments) {
-        return ResponseEntity.ok(inspectionFormService.approveForm(id, reviewedBy, comments));
+            @RequestParam(required = false) String comments,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        InspectionForm saved = reportVersions.ifMatch(ReportType.INSPECTION_FORM, id, ifMatch,
+                () -> inspectionFormService.approveForm(id, reviewedBy, comments));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
     }
 
     @PostMapping("/{id}/reject")
     public ResponseEntity<InspectionForm> rejectForm(
             @PathVariable Long id,
             @RequestParam String reviewedBy,
-            @RequestParam String comments) {
-        return ResponseEntity.ok(inspectionFormService.rejectForm(id, reviewedBy, comments));
+            @RequestParam String comments,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        InspectionForm saved = reportVersions.ifMatch(ReportType.INSPECTION_FORM, id, ifMatch,
+                () -> inspectionFormService.rejectForm(id, reviewedBy, comments));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+    }
+
+    /**
+     * Bulk workflow transitions. Each returns 200 with a per-id result; ids that are missing
+     * or in the wrong status are reported as failures and do not stop the others.
+     */
+    @PostMapping("/bulk/submit")
+    public ResponseEntity<BulkTransitionResult> bulkSubmit(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.SUBMIT, request);
+    }
+
+    @PostMapping("/bulk/approve")
+    public ResponseEntity<BulkTransitionResult> bulkApprove(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.APPROVE, request);
+    }
+
+    @PostMapping("/bulk/reject")
+    public ResponseEntity<BulkTransitionResult> bulkReject(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.REJECT, request);
+    }
+
+    private ResponseEntity<BulkTransitionResult> bulkTransition(ReportWorkflow.Transition action,
+                                                                BulkTransitionRequest request) {
+        try {
+            return ResponseEntity.ok(bulkTransitionService.apply(ReportType.INSPECTION_FORM, action, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteForm(@PathVariable Long id) {
-        inspectionFormService.deleteForm(id);
+    public ResponseEntity<Void> deleteForm(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        reportVersions.runIfMatch(ReportType.INSPECTION_FORM, id, ifMatch, () -> inspectionFormService.deleteForm(id));
         return ResponseEntity.noContent().build();
     }
     
@@ -124,14 +307,14 @@ public class InspectionFormController {
             // Get the form by ID
             InspectionForm form = inspectionFormService.getFormById(id);
             
-            // Log the download activity if userName is provided
+            // Generate the PDF
+            byte[] pdfBytes = pdfService.generatePdf(form,userName);
+            
+            // Log the download once the PDF exists
             if (userName != null && !userName.isEmpty()) {
                 inspectionFormService.logPdfDownload(id, userName);
             }
             
-            // Generate the PDF
-            byte[] pdfBytes = pdfService.generatePdf(form,userName);
-            
             // Set up response headers
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -139,6 +322,10 @@ public class InspectionFormController {
             headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
             
             return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        } catch (PdfRenderBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (Exception e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -160,19 +347,14 @@ public class InspectionFormController {
             // Get the form by ID
             InspectionForm form = inspectionFormService.getFormById(id);
             
-            // Generate the PDF
-            byte[] pdfBytes = pdfService.generatePdf(form,"");
-            
-            // Send email with PDF attachment
-            emailService.sendEmailWithAttachment(
-                emailRequest.getTo(),
-                emailRequest.getSubject(),
-                emailRequest.getBody(),
-                pdfBytes,
-                "inspection_form_" + form.getDocumentNo() + ".pdf"
-            );
-            
-            return ResponseEntity.ok(Map.of("message", "Email sent successfully"));
+            // Queue the email; the PDF is rendered and sent in the background
+            EmailJob job = emailOutboxService.enqueue(ReportType.INSPECTION_FORM, id, "",
+                    "inspection_form_" + form.getDocumentNo() + ".pdf", emailRequest);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "Email queued", "jobId", job.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -197,19 +379,14 @@ public class InspectionFormController {
             // Get the form by ID
             InspectionForm form = inspectionFormService.getFormById(id);
             
-            // Generate the PDF with the userName
-            byte[] pdfBytes = pdfService.generatePdf(form, userName);
-            
-            // Send email with PDF attachment
-            emailService.sendEmailWithAttachment(
-                emailRequest.getTo(),
-                emailRequest.getSubject(),
-                emailRequest.getBody(),
-                pdfBytes,
-                "inspection_form_" + form.getDocumentNo() + ".pdf"
-            );
-            
-            return ResponseEntity.ok(Map.of("message", "Email sent successfully by " + userName));
+            // Queue the email; the PDF is rendered and sent in the background
+            EmailJob job = emailOutboxService.enqueue(ReportType.INSPECTION_FORM, id, userName,
+                    "inspection_form_" + form.getDocumentNo() + ".pdf", emailRequest);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "Email queued by " + userName, "jobId", job.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -231,14 +408,14 @@ public class InspectionFormController {
             // Get the form by ID
             InspectionForm form = inspectionFormService.getFormById(id);
             
-            // Log the download activity with the userName
+            // Generate the PDF
+            byte[] pdfBytes = pdfService.generatePdf(form, userName);
+            
+            // Log the download once the PDF exists
             if (userName != null && !userName.isEmpty()) {
                 inspectionFormService.logPdfDownload(id, userName);
             }
             
-            // Generate the PDF
-            byte[] pdfBytes = pdfService.generatePdf(form, userName);
-            
             // Set up response headers
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -246,6 +423,10 @@ public class InspectionFormController {
             headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
             
             return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        } catch (PdfRenderBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (Exception e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
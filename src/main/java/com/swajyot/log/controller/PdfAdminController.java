@@ -0,0 +1,23 @@
+package com.swajyot.log.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.swajyot.log.service.pdf.PdfResources;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/pdf")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class PdfAdminController {
+
+    private final PdfResources pdfResources;
+
+    @GetMapping("/resources")
+    public ResponseEntity<Map<String, PdfResources.LoadStats>> getResourceLoadStats() {
+        return ResponseEntity.ok(pdfResources.getLoadStats());
+    }
+}
@@ -1,13 +1,36 @@
 package com.swajyot.log.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swajyot.log.model.EmailJob;
 import com.swajyot.log.model.PrintingInspectionReport;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.req.BulkTransitionRequest;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.BulkTransitionResult;
+import com.swajyot.log.model.res.CursorPage;
+import com.swajyot.log.model.res.ReportStatistics;
+import com.swajyot.log.model.res.ReportSummary;
 import com.swajyot.log.model.req.EmailRequest;
-import com.swajyot.log.service.EmailService;
+import com.swajyot.log.service.BulkTransitionService;
+import com.swajyot.log.service.ETags;
+import com.swajyot.log.service.EmailOutboxService;
+import com.swajyot.log.service.InvalidTransitionException;
+import com.swajyot.log.service.PdfZipExportService;
+import com.swajyot.log.service.ReportExportService;
+import com.swajyot.log.service.ReportNotFoundException;
+import com.swajyot.log.service.ReportPatcher;
+import com.swajyot.log.service.ReportVersions;
+import com.swajyot.log.service.ReportWorkflow;
+import com.swajyot.log.service.ReportStatisticsService;
+import com.swajyot.log.service.ReportSummaryService;
 import com.swajyot.log.service.PrintingInspectionReportPdfService;
 import com.swajyot.log.service.PrintingInspectionReportService;
+import com.swajyot.log.service.pdf.PdfRenderBusyException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.time.LocalDate;
@@ -24,17 +47,107 @@ public class PrintingInspectionReportController {
     private PrintingInspectionReportPdfService pdfService;
     
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private ReportSummaryService reportSummaryService;
+
+    @Autowired
+    private PdfZipExportService pdfZipExportService;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private ReportStatisticsService reportStatisticsService;
+
+    @Autowired
+    private ReportVersions reportVersions;
+
+    @Autowired
+    private BulkTransitionService bulkTransitionService;
 
     @GetMapping
     public ResponseEntity<List<PrintingInspectionReport>> getAllReports() {
         return ResponseEntity.ok(service.getAllReports());
     }
 
+    /**
+     * Keyset-paginated list. Pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<PrintingInspectionReport>> getReportsPage(@ModelAttribute ReportFilter filter) {
+        try {
+            return ResponseEntity.ok(service.getReportsPage(filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Scalar-only summaries for list screens, paginated and filtered like /page.
+     */
+    @GetMapping("/summary-list")
+    public ResponseEntity<CursorPage<ReportSummary>> getSummaryList(@ModelAttribute ReportFilter filter) {
+        try {
+            return ResponseEntity.ok(reportSummaryService.getSummaries(ReportType.PRINTING, filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams the PDFs of every report matching the filter as a single ZIP.
+     */
+    @GetMapping("/export/pdf-zip")
+    public ResponseEntity<StreamingResponseBody> exportPdfZip(
+            @ModelAttribute ReportFilter filter,
+            @RequestParam(required = false) String userName) {
+        try {
+            StreamingResponseBody body = pdfZipExportService.zipExport(List.of(ReportType.PRINTING), filter, userName);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inspection-reports.zip\"")
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams the matching reports, one record per line item, as CSV (default) or NDJSON.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @ModelAttribute ReportFilter filter,
+            @RequestParam(defaultValue = "csv") String format) {
+        try {
+            ReportExportService.Format exportFormat = ReportExportService.Format.valueOf(format.toUpperCase());
+            StreamingResponseBody body = reportExportService.export(ReportType.PRINTING, filter, exportFormat);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"inspection-reports." + exportFormat.getExtension() + "\"")
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Answers 304 from the version column alone when If-None-Match carries the current ETag.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<PrintingInspectionReport> getReportById(@PathVariable Long id) {
+    public ResponseEntity<PrintingInspectionReport> getReportById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            return ResponseEntity.ok(service.getReportById(id));
+            Long version = reportVersions.currentVersion(ReportType.PRINTING, id);
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).build();
+            }
+            PrintingInspectionReport report = service.getReportById(id);
+            return ResponseEntity.ok().eTag(ETags.of(report.getVersion())).body(report);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -55,46 +168,133 @@ public class PrintingInspectionReportController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<PrintingInspectionReport> updateReport(@PathVariable Long id, @RequestBody PrintingInspectionReport updatedReport) throws IllegalStateException {
+    public ResponseEntity<PrintingInspectionReport> updateReport(@PathVariable Long id, @RequestBody PrintingInspectionReport updatedReport,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws IllegalStateException {
         try {
-            return ResponseEntity.ok(service.updateReport(id, updatedReport));
+            return withETag(reportVersions.ifMatch(ReportType.PRINTING, id, ifMatch,
+                    () -> service.updateReport(id, updatedReport)));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Partial update. Send application/merge-patch+json to replace top-level fields, or
+     * application/json-patch+json to edit single JSON line items in place.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<PrintingInspectionReport> mergePatch(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, patch, ReportPatcher.Format.MERGE_PATCH, ifMatch);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/json-patch+json")
+    public ResponseEntity<PrintingInspectionReport> jsonPatch(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, patch, ReportPatcher.Format.JSON_PATCH, ifMatch);
+    }
+
+    private ResponseEntity<PrintingInspectionReport> patch(Long id, JsonNode patch, ReportPatcher.Format format,
+                                                           String ifMatch) {
+        try {
+            return withETag(reportVersions.ifMatch(ReportType.PRINTING, id, ifMatch,
+                    () -> service.patchReport(id, patch, format)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ReportNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PutMapping("/submit/{id}")
-    public ResponseEntity<PrintingInspectionReport> submitReport(@PathVariable Long id) throws IllegalStateException {
+    public ResponseEntity<PrintingInspectionReport> submitReport(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws IllegalStateException {
         try {
-            return ResponseEntity.ok(service.submitReport(id, "system"));
+            return withETag(reportVersions.ifMatch(ReportType.PRINTING, id, ifMatch,
+                    () -> service.submitReport(id, "system")));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (InvalidTransitionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @PutMapping("/approve/{id}")
-    public ResponseEntity<PrintingInspectionReport> approveReport(@PathVariable Long id, @RequestParam(required = false) String comments) throws IllegalStateException {
+    public ResponseEntity<PrintingInspectionReport> approveReport(@PathVariable Long id, @RequestParam(required = false) String comments,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws IllegalStateException {
         try {
-            return ResponseEntity.ok(service.approveReport(id, "system", comments));
+            return withETag(reportVersions.ifMatch(ReportType.PRINTING, id, ifMatch,
+                    () -> service.approveReport(id, "system", comments)));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (InvalidTransitionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @PutMapping("/reject/{id}")
-    public ResponseEntity<PrintingInspectionReport> rejectReport(@PathVariable Long id, @RequestParam(required = false) String comments) throws IllegalStateException {
+    public ResponseEntity<PrintingInspectionReport> rejectReport(@PathVariable Long id, @RequestParam(required = false) String comments,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws IllegalStateException {
         try {
-            return ResponseEntity.ok(service.rejectReport(id, "system", comments));
+            return withETag(reportVersions.ifMatch(ReportType.PRINTING, id, ifMatch,
+                    () -> service.rejectReport(id, "system", comments)));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (InvalidTransitionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Bulk workflow transitions. Each returns 200 with a per-id result; ids that are missing
+     * or in the wrong status are reported as failures and do not stop the others.
+     */
+    @PostMapping("/bulk/submit")
+    public ResponseEntity<BulkTransitionResult> bulkSubmit(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.SUBMIT, request);
+    }
+
+    @PostMapping("/bulk/approve")
+    public ResponseEntity<BulkTransitionResult> bulkApprove(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.APPROVE, request);
+    }
+
+    @PostMapping("/bulk/reject")
+    public ResponseEntity<BulkTransitionResult> bulkReject(@RequestBody BulkTransitionRequest request) {
+        return bulkTransition(ReportWorkflow.Transition.REJECT, request);
+    }
+
+    private ResponseEntity<BulkTransitionResult> bulkTransition(ReportWorkflow.Transition action,
+                                                                BulkTransitionRequest request) {
+        try {
+            return ResponseEntity.ok(bulkTransitionService.apply(ReportType.PRINTING, action, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteReport(@PathVariable Long id) throws IllegalStateException {
+    public ResponseEntity<Void> deleteReport(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws IllegalStateException {
         try {
-            service.deleteReport(id);
+            reportVersions.runIfMatch(ReportType.PRINTING, id, ifMatch, () -> service.deleteReport(id));
             return ResponseEntity.noContent().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -112,6 +312,10 @@ public class PrintingInspectionReportController {
             headers.setContentDispositionFormData("filename", "inspection-report-" + id + ".pdf");
 
             return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        } catch (PdfRenderBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (IOException | RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -129,19 +333,14 @@ public class PrintingInspectionReportController {
             // Get the report by ID
             PrintingInspectionReport report = service.getReportById(id);
             
-            // Generate the PDF
-            byte[] pdfBytes = pdfService.generatePdf(report, "");
-            
-            // Send email with PDF attachment
-            emailService.sendEmailWithAttachment(
-                emailRequest.getTo(),
-                emailRequest.getSubject(),
-                emailRequest.getBody(),
-                pdfBytes,
-                "printing-inspection-report-" + id + ".pdf"
-            );
-            
-            return ResponseEntity.ok(Map.of("message", "Email sent successfully"));
+            // Queue the email; the PDF is rendered and sent in the background
+            EmailJob job = emailOutboxService.enqueue(ReportType.PRINTING, id, "",
+                    "printing-inspection-report-" + id + ".pdf", emailRequest);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "Email queued", "jobId", job.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -162,19 +361,14 @@ public class PrintingInspectionReportController {
             // Get the report by ID
             PrintingInspectionReport report = service.getReportById(id);
             
-            // Generate the PDF with the userName
-            byte[] pdfBytes = pdfService.generatePdf(report, userName);
-            
-            // Send email with PDF attachment
-            emailService.sendEmailWithAttachment(
-                emailRequest.getTo(),
-                emailRequest.getSubject(),
-                emailRequest.getBody(),
-                pdfBytes,
-                "printing-inspection-report-" + id + ".pdf"
-            );
-            
-            return ResponseEntity.ok(Map.of("message", "Email sent successfully by " + userName));
+            // Queue the email; the PDF is rendered and sent in the background
+            EmailJob job = emailOutboxService.enqueue(ReportType.PRINTING, id, userName,
+                    "printing-inspection-report-" + id + ".pdf", emailRequest);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "Email queued by " + userName, "jobId", job.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -184,11 +378,16 @@ public class PrintingInspectionReportController {
 
     @GetMapping("/summary")
     public ResponseEntity<Map<String, Long>> getReportSummary() {
+        ReportStatistics.TypeStatistics statistics = reportStatisticsService.getStatistics(ReportType.PRINTING);
         Map<String, Long> summary = new HashMap<>();
         for (PrintingInspectionReport.ReportStatus status : PrintingInspectionReport.ReportStatus.values()) {
-            summary.put(status.name(), (long) service.getReportsByStatus(status).size());
+            summary.put(status.name(), statistics.byStatus().getOrDefault(status.name(), 0L));
         }
-        summary.put("TOTAL", (long) service.getAllReports().size());
+        summary.put("TOTAL", statistics.total());
         return ResponseEntity.ok(summary);
     }
+
+    private static ResponseEntity<PrintingInspectionReport> withETag(PrintingInspectionReport report) {
+        return ResponseEntity.ok().eTag(ETags.of(report.getVersion())).body(report);
+    }
 }
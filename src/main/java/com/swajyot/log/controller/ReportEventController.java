@@ -0,0 +1,61 @@
+package com.swajyot.log.controller;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.User;
+import com.swajyot.log.service.ReportEventBus;
+import com.swajyot.log.service.UserService;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class ReportEventController {
+
+    private final ReportEventBus reportEventBus;
+    private final UserService userService;
+
+    /**
+     * Live feed of report changes as Server-Sent Events, filtered by the user's role.
+     * Each "report" event carries type, id, documentNo and the old and new status; a
+     * "resync" event means events were dropped and the client should reload its lists.
+     *
+     * @param types Optional report types to follow, e.g. COATING,PRINTING
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@RequestParam String user,
+                                                @RequestParam(required = false) List<String> types) {
+        User subscriber;
+        Set<ReportType> reportTypes = EnumSet.noneOf(ReportType.class);
+        try {
+            subscriber = userService.getUserByUsername(user);
+            if (types != null) {
+                for (String type : types) {
+                    reportTypes.add(ReportType.valueOf(type.trim().toUpperCase()));
+                }
+            }
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!subscriber.isActive()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        try {
+            SseEmitter emitter = reportEventBus.subscribe(subscriber.getRole(), reportTypes);
+            // Stop reverse proxies from buffering the stream
+            return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.swajyot.log.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.res.ReportStatistics;
+import com.swajyot.log.service.ReportStatisticsService;
+
+@RestController
+@RequestMapping("/api/statistics")
+@RequiredArgsConstructor
+public class ReportStatisticsController {
+
+    private final ReportStatisticsService reportStatisticsService;
+
+    /**
+     * Counts by status, line, shift, product and month for every report type.
+     */
+    @GetMapping
+    public ResponseEntity<ReportStatistics> getStatistics() {
+        return ResponseEntity.ok(reportStatisticsService.getStatistics());
+    }
+
+    @GetMapping("/{type}")
+    public ResponseEntity<ReportStatistics.TypeStatistics> getStatistics(@PathVariable String type) {
+        try {
+            return ResponseEntity.ok(reportStatisticsService.getStatistics(ReportType.valueOf(type.toUpperCase())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.swajyot.log.controller;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.res.CursorPage;
+import com.swajyot.log.model.res.SearchHit;
+import com.swajyot.log.service.ReportSearchService;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final ReportSearchService reportSearchService;
+
+    /**
+     * Full-text search over report numbers, products, customers, batch numbers and the
+     * free text of observations, remarks and defects, best matches first.
+     *
+     * @param q Words to find; each word also matches as a prefix
+     * @param types Optional report types to search, e.g. COATING,PRINTING
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<SearchHit>> search(@RequestParam String q,
+                                                        @RequestParam(required = false) List<String> types,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size) {
+        try {
+            Set<ReportType> reportTypes = EnumSet.noneOf(ReportType.class);
+            if (types != null) {
+                for (String type : types) {
+                    reportTypes.add(ReportType.valueOf(type.trim().toUpperCase()));
+                }
+            }
+            return ResponseEntity.ok(reportSearchService.search(q, reportTypes, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.swajyot.log.model.User;
+import com.swajyot.log.model.res.CursorPage;
 import com.swajyot.log.service.UserService;
 
 import java.util.List;
@@ -23,6 +24,20 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<User>> getUsersPage(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            User.Role userRole = role != null ? User.Role.valueOf(role.toUpperCase()) : null;
+            return ResponseEntity.ok(userService.getUsersPage(userRole, active, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         return ResponseEntity.ok(userService.getUserById(id));
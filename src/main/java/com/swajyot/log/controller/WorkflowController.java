@@ -0,0 +1,54 @@
+package com.swajyot.log.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.WorkflowTransition;
+import com.swajyot.log.model.res.DwellHistogram;
+import com.swajyot.log.service.ReportWorkflow;
+import com.swajyot.log.service.WorkflowMetricsService;
+
+@RestController
+@RequestMapping("/api/workflow")
+@RequiredArgsConstructor
+public class WorkflowController {
+
+    private final ReportWorkflow reportWorkflow;
+    private final WorkflowMetricsService workflowMetricsService;
+
+    /**
+     * Histograms of the time spent in each state before each transition, per report type
+     * and (unless byLine=false) per line.
+     */
+    @GetMapping("/metrics/dwell")
+    public ResponseEntity<List<DwellHistogram>> getDwellHistograms(
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "true") boolean byLine,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            ReportType reportType = type == null ? null : ReportType.valueOf(type.toUpperCase());
+            return ResponseEntity.ok(workflowMetricsService.getDwellHistograms(reportType, byLine, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Every status change of one report, oldest first.
+     */
+    @GetMapping("/{type}/{id}/transitions")
+    public ResponseEntity<List<WorkflowTransition>> getHistory(@PathVariable String type, @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(reportWorkflow.getHistory(ReportType.valueOf(type.toUpperCase()), id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
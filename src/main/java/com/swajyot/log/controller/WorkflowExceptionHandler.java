@@ -0,0 +1,23 @@
+package com.swajyot.log.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.swajyot.log.service.InvalidTransitionException;
+
+/**
+ * Turns a submit, approve or reject that ReportWorkflow does not allow from the report's
+ * current status into 409 Conflict, the same for every report type.
+ */
+@RestControllerAdvice
+public class WorkflowExceptionHandler {
+
+    @ExceptionHandler(InvalidTransitionException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidTransition(InvalidTransitionException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.swajyot.log.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counter row used to allocate document numbers, one per report type and period prefix
+ * (for example "COATING:AGI-FAIRC-MAY-"). currentValue is the last serial handed out.
+ */
+@Entity
+@Table(name = "document_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSequence {
+
+    @Id
+    @Column(length = 100)
+    private String sequenceKey;
+
+    @Column(nullable = false)
+    private Long currentValue;
+}
@@ -0,0 +1,76 @@
+package com.swajyot.log.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * Outbox row for a report PDF to be rendered and emailed in the background.
+ */
+@Entity
+@Table(name = "email_jobs", indexes = @Index(name = "idx_email_jobs_due", columnList = "status, nextAttemptAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private ReportType reportType;
+
+    @Column(nullable = false)
+    private Long reportId;
+
+    // Name printed in the "Downloaded by" footer
+    private String requestedBy;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    // When a worker last moved the job to SENDING; the claim expires after app.email.lease-timeout-ms
+    private LocalDateTime claimedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        if (this.status == null) {
+            this.status = Status.QUEUED;
+        }
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+
+    public enum Status {
+        QUEUED, SENDING, SENT, FAILED
+    }
+}
@@ -21,6 +21,11 @@ public class FirstArticleInspectionReport {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // Optimistic lock; also served as the ETag
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
     
     private String unit = "AGI Speciality Glass Division";
     
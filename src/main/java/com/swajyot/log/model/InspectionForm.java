@@ -1,6 +1,9 @@
 package com.swajyot.log.model;
 
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.Type;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -12,14 +15,22 @@ import java.util.Map;
 import java.util.List;
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "inspection_forms")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class InspectionForm {
+public class InspectionForm implements WorkflowReport<InspectionForm.FormStatus> {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // Optimistic lock; also served as the ETag
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
     
     @Column(nullable = false, unique = true)
     private String documentNo;
@@ -0,0 +1,48 @@
+package com.swajyot.log.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Daily IQC outcome counts per supplier and product variant, maintained alongside the
+ * reports so acceptance-rate windows can be summed instead of scanning reports.
+ * Missing supplier / variant values are stored as empty strings so they share one row.
+ */
+@Entity
+@Table(name = "iqc_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_iqc_daily_rollup",
+                columnNames = {"rollup_date", "supplier", "product_variant"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IqcDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(nullable = false)
+    private String supplier;
+
+    @Column(nullable = false)
+    private String productVariant;
+
+    // PASS
+    private long accepted;
+
+    // CONDITIONAL_PASS
+    private long conditional;
+
+    // FAIL
+    private long failed;
+
+    // No or unrecognised quality decision
+    private long undecided;
+}
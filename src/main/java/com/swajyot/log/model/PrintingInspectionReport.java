@@ -1,6 +1,9 @@
 package com.swajyot.log.model;
 
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.Type;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -12,14 +15,22 @@ import java.util.List;
 import java.util.Map;
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "printing_inspection_reports")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class PrintingInspectionReport {
+public class PrintingInspectionReport implements WorkflowReport<PrintingInspectionReport.ReportStatus> {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // Optimistic lock; also served as the ETag
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
     
     private String unit = "AGI Speciality Glass Division";
     
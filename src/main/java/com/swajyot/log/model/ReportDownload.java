@@ -0,0 +1,43 @@
+package com.swajyot.log.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only record of a report PDF download. Rows are written in batches and never
+ * updated; ids come from a pooled sequence so inserts can use JDBC batching.
+ */
+@Entity
+@Immutable
+@Table(name = "report_downloads", indexes = {
+        @Index(name = "idx_report_downloads_report", columnList = "reportType, reportId, downloadedAt"),
+        @Index(name = "idx_report_downloads_user", columnList = "userName, downloadedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportDownload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_downloads_seq")
+    @SequenceGenerator(name = "report_downloads_seq", sequenceName = "report_downloads_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private ReportType reportType;
+
+    @Column(nullable = false)
+    private Long reportId;
+
+    private String userName;
+
+    @Column(nullable = false)
+    private LocalDateTime downloadedAt;
+}
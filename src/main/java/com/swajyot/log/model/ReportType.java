@@ -0,0 +1,87 @@
+package com.swajyot.log.model;
+
+import java.util.List;
+
+/**
+ * The report entities served by the API, with the attribute names that differ
+ * between them so that shared queries (filters, paging) can address them uniformly.
+ */
+public enum ReportType {
+
+    INSPECTION_FORM(InspectionForm.class, InspectionForm.FormStatus.class,
+            "inspection_forms", "inspectionDate", "lineNo", "product",
+            "characteristics", "tableData"),
+    COATING(CoatingInspectionReport.class, CoatingInspectionReport.ReportStatus.class,
+            "coating_inspection_reports", "inspectionDate", "lineNo", "product",
+            "coatingDetails", "characteristics"),
+    PRINTING(PrintingInspectionReport.class, PrintingInspectionReport.ReportStatus.class,
+            "printing_inspection_reports", "inspectionDate", "lineNo", "product",
+            "printingDetails", "characteristics"),
+    LINE_CLEARANCE(LineClearanceReport.class, LineClearanceReport.ReportStatus.class,
+            "line_clearance_reports", "reportDate", "line", "productName",
+            "checkPoints"),
+    INCOMING_QUALITY(IncomingQualityInspectionReport.class, IncomingQualityInspectionReport.ReportStatus.class,
+            "incoming_quality_inspection_reports", "iqcDate", null, "productVariantName",
+            "auditResults", "testResults");
+
+    private final Class<?> entityClass;
+    private final Class<? extends Enum<?>> statusClass;
+    private final String tableName;
+    private final String dateAttribute;
+    private final String lineAttribute;
+    private final String productAttribute;
+    private final List<String> detailAttributes;
+
+    ReportType(Class<?> entityClass, Class<? extends Enum<?>> statusClass, String tableName,
+               String dateAttribute, String lineAttribute, String productAttribute,
+               String... detailAttributes) {
+        this.entityClass = entityClass;
+        this.statusClass = statusClass;
+        this.tableName = tableName;
+        this.dateAttribute = dateAttribute;
+        this.lineAttribute = lineAttribute;
+        this.productAttribute = productAttribute;
+        this.detailAttributes = List.of(detailAttributes);
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public Class<? extends Enum<?>> getStatusClass() {
+        return statusClass;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Resolves a status name (case-insensitive) to this report type's own status enum.
+     *
+     * @throws IllegalArgumentException if the name is not a valid status
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Enum<?> parseStatus(String status) {
+        return Enum.valueOf((Class) statusClass, status.toUpperCase());
+    }
+
+    /** The business date of the report (inspection / report / IQC date). */
+    public String getDateAttribute() {
+        return dateAttribute;
+    }
+
+    /** The production line attribute, or null if the report type has none. */
+    public String getLineAttribute() {
+        return lineAttribute;
+    }
+
+    public String getProductAttribute() {
+        return productAttribute;
+    }
+
+    /** The JSONB list attributes holding the report's line items. */
+    public List<String> getDetailAttributes() {
+        return detailAttributes;
+    }
+}
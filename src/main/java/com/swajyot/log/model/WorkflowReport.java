@@ -0,0 +1,13 @@
+package com.swajyot.log.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * The workflow fields of a report, used to validate and record status transitions.
+ */
+public interface WorkflowReport<S extends Enum<S>> {
+    Long getId();
+    S getStatus();
+    LocalDateTime getSubmittedAt();
+    LocalDateTime getReviewedAt();
+}
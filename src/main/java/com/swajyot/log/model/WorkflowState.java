@@ -0,0 +1,10 @@
+package com.swajyot.log.model;
+
+/**
+ * The approval workflow states shared by all report types. Each entity keeps its own
+ * status enum with the same constant names; {@link com.swajyot.log.service.ReportWorkflow}
+ * maps between them.
+ */
+public enum WorkflowState {
+    DRAFT, SUBMITTED, APPROVED, REJECTED
+}
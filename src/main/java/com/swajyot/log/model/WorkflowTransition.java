@@ -0,0 +1,55 @@
+package com.swajyot.log.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only record of a report status change. dwellMs is the time the report spent in
+ * the source state, when known (it is unknown for drafts, which have no creation time).
+ */
+@Entity
+@Immutable
+@Table(name = "workflow_transitions", indexes = {
+        @Index(name = "idx_workflow_transitions_report", columnList = "reportType, reportId, transitionedAt"),
+        @Index(name = "idx_workflow_transitions_time", columnList = "transitionedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_transitions_seq")
+    @SequenceGenerator(name = "workflow_transitions_seq", sequenceName = "workflow_transitions_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private ReportType reportType;
+
+    @Column(nullable = false)
+    private Long reportId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WorkflowState fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WorkflowState toStatus;
+
+    private String actor;
+
+    private String line;
+
+    @Column(nullable = false)
+    private LocalDateTime transitionedAt;
+
+    private Long dwellMs;
+}
@@ -0,0 +1,27 @@
+package com.swajyot.log.model.event;
+
+import com.swajyot.log.model.ReportType;
+
+/**
+ * Published by the report services whenever a report is written, so that derived state
+ * (rendered PDFs, aggregates) can be dropped and listeners can be notified. documentNo
+ * and the statuses are null when unknown, e.g. for deletes; previousStatus is also null
+ * for creates.
+ */
+public record ReportChangedEvent(ReportType reportType, Long reportId, Kind kind,
+                                 String documentNo, String previousStatus, String status) {
+
+    public enum Kind {
+        CREATED, UPDATED, SUBMITTED, APPROVED, REJECTED, DELETED
+    }
+
+    public ReportChangedEvent(ReportType reportType, Long reportId, Kind kind) {
+        this(reportType, reportId, kind, null, null, null);
+    }
+
+    public static ReportChangedEvent of(ReportType reportType, Long reportId, Kind kind, String documentNo,
+                                        Enum<?> previousStatus, Enum<?> status) {
+        return new ReportChangedEvent(reportType, reportId, kind, documentNo,
+                previousStatus == null ? null : previousStatus.name(), status == null ? null : status.name());
+    }
+}
@@ -0,0 +1,12 @@
+package com.swajyot.log.model.event;
+
+import java.time.LocalDateTime;
+
+import com.swajyot.log.model.ReportType;
+
+/**
+ * Published when a user downloads a report PDF.
+ */
+public record ReportDownloadedEvent(ReportType reportType, Long reportId, String userName,
+                                    LocalDateTime downloadedAt) {
+}
@@ -0,0 +1,19 @@
+package com.swajyot.log.model.req;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Body of the bulk submit / approve / reject endpoints. The user is the submitter for
+ * submit and the reviewer for approve and reject; comments are required for reject.
+ */
+@Data
+public class BulkTransitionRequest {
+
+    private List<Long> ids;
+
+    private String user;
+
+    private String comments;
+}
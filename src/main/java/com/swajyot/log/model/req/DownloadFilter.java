@@ -0,0 +1,30 @@
+package com.swajyot.log.model.req;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+/**
+ * Optional filters for the download audit log plus keyset paging parameters.
+ */
+@Data
+public class DownloadFilter {
+
+    private String reportType;
+
+    private Long reportId;
+
+    private String userName;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private String cursor;
+
+    private Integer size;
+}
@@ -0,0 +1,40 @@
+package com.swajyot.log.model.req;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+/**
+ * Combinable list filters plus keyset paging parameters, bound from query parameters.
+ * Every filter is optional; null fields are ignored.
+ */
+@Data
+public class ReportFilter {
+
+    private String status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate fromDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate toDate;
+
+    private String line;
+
+    private String product;
+
+    private String submittedBy;
+
+    // Opaque cursor returned as nextCursor by the previous page
+    private String cursor;
+
+    private Integer size;
+
+    private SortKey sort = SortKey.ID;
+
+    public enum SortKey {
+        ID, SUBMITTED_AT
+    }
+}
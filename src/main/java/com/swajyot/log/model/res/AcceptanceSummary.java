@@ -0,0 +1,21 @@
+package com.swajyot.log.model.res;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * IQC outcome counts for a window; acceptanceRate is the share of PASS and
+ * CONDITIONAL_PASS reports among all reports, in percent.
+ */
+public record AcceptanceSummary(long accepted, long conditional, long failed, long undecided) {
+
+    @JsonProperty
+    public long total() {
+        return accepted + conditional + failed + undecided;
+    }
+
+    @JsonProperty
+    public double acceptanceRate() {
+        long total = total();
+        return total == 0 ? 0.0 : (double) (accepted + conditional) / total * 100.0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.swajyot.log.model.res;
+
+import java.util.List;
+
+/**
+ * Per-id outcome of a bulk workflow transition, in request order.
+ */
+public record BulkTransitionResult(int requested, int succeeded, int failed, List<Item> results) {
+
+    public record Item(Long id, boolean success, String error) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.swajyot.log.model.res;
+
+/**
+ * Counters of one second-level cache region since startup. weightedSize is the estimated
+ * bytes held, or null for regions bounded by entry count.
+ */
+public record CacheRegionStats(String region, long size, Long weightedSize, long hits, long misses,
+                               double hitRate, long evictions, long evictionWeight) {
+}
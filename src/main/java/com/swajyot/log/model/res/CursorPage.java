@@ -0,0 +1,21 @@
+package com.swajyot.log.model.res;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One page of a keyset-paginated list. nextCursor is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private int size;
+    private String nextCursor;
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.swajyot.log.model.res;
+
+import java.util.List;
+
+/**
+ * Distribution of the time reports spent in one state before a given transition, e.g.
+ * SUBMITTED before APPROVED (submit-to-approve latency). Line is null when the histogram
+ * covers all lines. Bucket counts are not cumulative; the last bucket has no upper bound.
+ */
+public record DwellHistogram(String reportType, String fromStatus, String toStatus, String line,
+                             long count, double meanMs, long maxMs, List<Bucket> buckets) {
+
+    public record Bucket(Long upperBoundMs, long count) {
+    }
+}
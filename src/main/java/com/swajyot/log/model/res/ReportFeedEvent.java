@@ -0,0 +1,18 @@
+package com.swajyot.log.model.res;
+
+import java.time.LocalDateTime;
+
+import com.swajyot.log.model.ReportType;
+
+/**
+ * Compact notification pushed to the live feed when a report change commits.
+ * fromStatus is null for new reports; after coalescing it is the status before the
+ * first of the merged changes.
+ */
+public record ReportFeedEvent(ReportType reportType, Long reportId, String documentNo, String kind,
+                              String fromStatus, String toStatus, LocalDateTime at) {
+
+    public ReportFeedEvent since(String earlierFromStatus) {
+        return new ReportFeedEvent(reportType, reportId, documentNo, kind, earlierFromStatus, toStatus, at);
+    }
+}
@@ -0,0 +1,23 @@
+package com.swajyot.log.model.res;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.swajyot.log.model.ReportType;
+
+/**
+ * Dashboard counts for every report type. Group keys without a value are reported
+ * as "UNSPECIFIED"; byMonth keys are yyyy-MM of the report's business date.
+ */
+public record ReportStatistics(LocalDateTime generatedAt, Map<ReportType, TypeStatistics> types) {
+
+    public record TypeStatistics(
+            long total,
+            Map<String, Long> byStatus,
+            Map<String, Long> byLine,
+            Map<String, Long> byShift,
+            Map<String, Long> byProduct,
+            Map<String, Long> byMonth,
+            LocalDateTime generatedAt) {
+    }
+}
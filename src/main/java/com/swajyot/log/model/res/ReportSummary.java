@@ -0,0 +1,25 @@
+package com.swajyot.log.model.res;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.swajyot.log.model.ReportType;
+
+/**
+ * Scalar-only view of a report for list screens. Never carries the JSONB payloads.
+ * line is null for report types that have no production line.
+ */
+public record ReportSummary(
+        Long id,
+        ReportType reportType,
+        String documentNo,
+        String status,
+        LocalDate reportDate,
+        String shift,
+        String product,
+        String line,
+        String submittedBy,
+        LocalDateTime submittedAt,
+        String reviewedBy,
+        LocalDateTime reviewedAt) {
+}
@@ -0,0 +1,20 @@
+package com.swajyot.log.model.res;
+
+import java.time.LocalDate;
+
+import com.swajyot.log.model.ReportType;
+
+/**
+ * One full-text search match. rank is Postgres' ts_rank, higher is better; line is null
+ * for report types that have no production line.
+ */
+public record SearchHit(
+        ReportType reportType,
+        Long id,
+        String documentNo,
+        String status,
+        LocalDate reportDate,
+        String product,
+        String line,
+        float rank) {
+}
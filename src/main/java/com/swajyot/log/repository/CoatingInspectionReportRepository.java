@@ -1,18 +1,26 @@
 package com.swajyot.log.repository;
 
+import com.swajyot.log.config.SecondLevelCacheConfig;
 import com.swajyot.log.model.CoatingInspectionReport;
 import com.swajyot.log.model.IncomingQualityInspectionReport;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface CoatingInspectionReportRepository extends JpaRepository<CoatingInspectionReport, Long> {
+public interface CoatingInspectionReportRepository extends JpaRepository<CoatingInspectionReport, Long>, JpaSpecificationExecutor<CoatingInspectionReport> {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.STATUS_LISTS_REGION)})
     List<CoatingInspectionReport> findByStatus(CoatingInspectionReport.ReportStatus status);
     
     List<CoatingInspectionReport> findBySubmittedBy(String submittedBy);
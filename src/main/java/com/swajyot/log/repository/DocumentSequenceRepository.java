@@ -0,0 +1,37 @@
+package com.swajyot.log.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.swajyot.log.model.DocumentSequence;
+
+@Repository
+public interface DocumentSequenceRepository extends JpaRepository<DocumentSequence, String> {
+
+    String RESERVE = "INSERT INTO document_sequences (sequence_key, current_value) VALUES (:key, :seed + :count) " +
+            "ON CONFLICT (sequence_key) DO UPDATE SET current_value = document_sequences.current_value + :count " +
+            "RETURNING current_value";
+
+    /**
+     * Atomically reserves the next {@code count} serials for a key and returns the last one.
+     * The row is created starting after {@code seed} if it does not exist yet.
+     * Joins the caller's transaction: the row stays locked until it commits, and a rollback
+     * returns the serials.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = RESERVE, nativeQuery = true)
+    Long reserve(@Param("key") String key, @Param("seed") long seed, @Param("count") int count);
+
+    /**
+     * Same as {@link #reserve} but commits on its own, so the row lock is held for one statement
+     * only and the serials stay reserved if the caller rolls back. Takes a second pooled
+     * connection while the caller's transaction holds its own.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = RESERVE, nativeQuery = true)
+    Long reserveCommitted(@Param("key") String key, @Param("seed") long seed, @Param("count") int count);
+}
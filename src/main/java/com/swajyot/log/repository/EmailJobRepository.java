@@ -0,0 +1,40 @@
+package com.swajyot.log.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.swajyot.log.model.EmailJob;
+
+@Repository
+public interface EmailJobRepository extends JpaRepository<EmailJob, Long> {
+
+    /**
+     * Moves up to {@code limit} due jobs from QUEUED to SENDING and returns them.
+     * SKIP LOCKED lets several workers or instances poll the same table without
+     * claiming a job twice.
+     */
+    @Transactional
+    @Query(value = "UPDATE email_jobs SET status = 'SENDING', attempts = attempts + 1, claimed_at = now() " +
+            "WHERE id IN (SELECT id FROM email_jobs WHERE status = 'QUEUED' AND next_attempt_at <= now() " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *", nativeQuery = true)
+    List<EmailJob> claimDue(@Param("limit") int limit);
+
+    /**
+     * Puts jobs back in the queue whose SENDING claim is older than the lease, i.e. jobs
+     * whose worker stopped without finishing them. Claims still held by a live worker on
+     * this or another instance are left alone. Compared against the database clock, which
+     * also stamped claimed_at.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE email_jobs SET status = 'QUEUED' WHERE status = 'SENDING' " +
+            "AND (claimed_at IS NULL OR claimed_at < now() - :leaseMs * INTERVAL '1 millisecond')", nativeQuery = true)
+    int requeueExpired(@Param("leaseMs") long leaseMs);
+}
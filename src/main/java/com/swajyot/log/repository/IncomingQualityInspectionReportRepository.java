@@ -1,15 +1,25 @@
 package com.swajyot.log.repository;
 
+import com.swajyot.log.config.SecondLevelCacheConfig;
 import com.swajyot.log.model.IncomingQualityInspectionReport;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface IncomingQualityInspectionReportRepository extends JpaRepository<IncomingQualityInspectionReport, Long> {
+public interface IncomingQualityInspectionReportRepository extends JpaRepository<IncomingQualityInspectionReport, Long>, JpaSpecificationExecutor<IncomingQualityInspectionReport> {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.STATUS_LISTS_REGION)})
     List<IncomingQualityInspectionReport> findByStatus(IncomingQualityInspectionReport.ReportStatus status);
     
     List<IncomingQualityInspectionReport> findBySubmittedBy(String submitter);
@@ -31,4 +41,21 @@ public interface IncomingQualityInspectionReportRepository extends JpaRepository
     List<IncomingQualityInspectionReport> findByDocumentNo(String documentNo);
     
     List<IncomingQualityInspectionReport> findByDocumentNoStartingWith(String prefix);
+
+    /**
+     * Reports with an audit result of the given category whose count exceeds minCount,
+     * newest first. The containment test is served by the GIN index on audit_results; the
+     * jsonpath then checks the count, which may be stored as a number or a numeric string.
+     */
+    @Query(value = "SELECT * FROM incoming_quality_inspection_reports r "
+            + "WHERE r.audit_results @> jsonb_build_array(jsonb_build_object('category', :category)) "
+            + "AND jsonb_path_exists(r.audit_results, "
+            + "'$[*] ? (@.category == $category && @.count.double() > $min)', "
+            + "jsonb_build_object('category', :category, 'min', :minCount), true) "
+            + "AND r.id < :beforeId "
+            + "ORDER BY r.id DESC LIMIT :limit", nativeQuery = true)
+    List<IncomingQualityInspectionReport> findByDefectCategory(@Param("category") String category,
+                                                               @Param("minCount") int minCount,
+                                                               @Param("beforeId") long beforeId,
+                                                               @Param("limit") int limit);
 }
\ No newline at end of file
@@ -1,18 +1,26 @@
 package com.swajyot.log.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.swajyot.log.config.SecondLevelCacheConfig;
 import com.swajyot.log.model.InspectionForm;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface InspectionFormRepository extends JpaRepository<InspectionForm, Long> {
+public interface InspectionFormRepository extends JpaRepository<InspectionForm, Long>, JpaSpecificationExecutor<InspectionForm> {
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.STATUS_LISTS_REGION)})
     List<InspectionForm> findByStatus(InspectionForm.FormStatus status);
     
     List<InspectionForm> findBySubmittedBy(String submittedBy);
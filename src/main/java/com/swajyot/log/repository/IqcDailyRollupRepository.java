@@ -0,0 +1,85 @@
+package com.swajyot.log.repository;
+
+import java.time.LocalDate;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import com.swajyot.log.model.IqcDailyRollup;
+import com.swajyot.log.model.res.AcceptanceSummary;
+
+/**
+ * Native writes declare the table they touch (native spaces), so Hibernate does not
+ * invalidate the whole second-level cache on every rollup update.
+ */
+@Repository
+public interface IqcDailyRollupRepository extends JpaRepository<IqcDailyRollup, Long> {
+
+    /**
+     * Adds the given deltas to a rollup row, creating it if needed. The row lock is held
+     * until the surrounding report transaction commits, so concurrent writers serialize.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "iqc_daily_rollups"))
+    @Query(value = "INSERT INTO iqc_daily_rollups "
+            + "(rollup_date, supplier, product_variant, accepted, conditional, failed, undecided) "
+            + "VALUES (:date, :supplier, :variant, :accepted, :conditional, :failed, :undecided) "
+            + "ON CONFLICT (rollup_date, supplier, product_variant) DO UPDATE SET "
+            + "accepted = iqc_daily_rollups.accepted + EXCLUDED.accepted, "
+            + "conditional = iqc_daily_rollups.conditional + EXCLUDED.conditional, "
+            + "failed = iqc_daily_rollups.failed + EXCLUDED.failed, "
+            + "undecided = iqc_daily_rollups.undecided + EXCLUDED.undecided", nativeQuery = true)
+    void applyDelta(@Param("date") LocalDate date, @Param("supplier") String supplier,
+                    @Param("variant") String variant, @Param("accepted") long accepted,
+                    @Param("conditional") long conditional, @Param("failed") long failed,
+                    @Param("undecided") long undecided);
+
+    /**
+     * Sums the rollups in [startDate, endDate]; null supplier or variant means any.
+     */
+    @Query("SELECT new com.swajyot.log.model.res.AcceptanceSummary("
+            + "COALESCE(SUM(r.accepted), 0), COALESCE(SUM(r.conditional), 0), "
+            + "COALESCE(SUM(r.failed), 0), COALESCE(SUM(r.undecided), 0)) "
+            + "FROM IqcDailyRollup r WHERE r.rollupDate BETWEEN :startDate AND :endDate "
+            + "AND (:supplier IS NULL OR r.supplier = :supplier) "
+            + "AND (:variant IS NULL OR r.productVariant = :variant)")
+    AcceptanceSummary summarize(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                @Param("supplier") String supplier, @Param("variant") String variant);
+
+    /**
+     * Blocks rollup writers until the surrounding transaction ends.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "iqc_daily_rollups"))
+    @Query(value = "LOCK TABLE iqc_daily_rollups IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "iqc_daily_rollups"))
+    @Query(value = "DELETE FROM iqc_daily_rollups", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * Recomputes every rollup row from the reports table.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "iqc_daily_rollups"))
+    @Query(value = "INSERT INTO iqc_daily_rollups "
+            + "(rollup_date, supplier, product_variant, accepted, conditional, failed, undecided) "
+            + "SELECT iqc_date, COALESCE(product_received_from, ''), COALESCE(product_variant_name, ''), "
+            + "COUNT(*) FILTER (WHERE quality_decision = 'PASS'), "
+            + "COUNT(*) FILTER (WHERE quality_decision = 'CONDITIONAL_PASS'), "
+            + "COUNT(*) FILTER (WHERE quality_decision = 'FAIL'), "
+            + "COUNT(*) FILTER (WHERE quality_decision IS NULL "
+            + "OR quality_decision NOT IN ('PASS', 'CONDITIONAL_PASS', 'FAIL')) "
+            + "FROM incoming_quality_inspection_reports WHERE iqc_date IS NOT NULL "
+            + "GROUP BY 1, 2, 3", nativeQuery = true)
+    int insertFromReports();
+}
@@ -1,16 +1,24 @@
 package com.swajyot.log.repository;
 
+import com.swajyot.log.config.SecondLevelCacheConfig;
 import com.swajyot.log.model.LineClearanceReport;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface LineClearanceReportRepository extends JpaRepository<LineClearanceReport, Long> {
+public interface LineClearanceReportRepository extends JpaRepository<LineClearanceReport, Long>, JpaSpecificationExecutor<LineClearanceReport> {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.STATUS_LISTS_REGION)})
     List<LineClearanceReport> findByStatus(LineClearanceReport.ReportStatus status);
     
     List<LineClearanceReport> findBySubmittedBy(String submitter);
@@ -1,14 +1,22 @@
 package com.swajyot.log.repository;
 
+import com.swajyot.log.config.SecondLevelCacheConfig;
 import com.swajyot.log.model.PrintingInspectionReport;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface PrintingInspectionReportRepository extends JpaRepository<PrintingInspectionReport, Long> {
+public interface PrintingInspectionReportRepository extends JpaRepository<PrintingInspectionReport, Long>, JpaSpecificationExecutor<PrintingInspectionReport> {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.STATUS_LISTS_REGION)})
     List<PrintingInspectionReport> findByStatus(PrintingInspectionReport.ReportStatus status);
     
     List<PrintingInspectionReport> findBySubmittedBy(String submittedBy);
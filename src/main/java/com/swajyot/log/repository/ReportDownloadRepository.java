@@ -0,0 +1,12 @@
+package com.swajyot.log.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+import com.swajyot.log.model.ReportDownload;
+
+@Repository
+public interface ReportDownloadRepository extends JpaRepository<ReportDownload, Long>,
+        JpaSpecificationExecutor<ReportDownload> {
+}
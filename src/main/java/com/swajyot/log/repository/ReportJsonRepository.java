@@ -0,0 +1,130 @@
+package com.swajyot.log.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import com.swajyot.log.model.ReportType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * In-place edits of a report's JSONB detail columns with jsonb_set / jsonb_insert / #-,
+ * so a change to one line item does not rewrite the whole array. Paths are the JSON
+ * Pointer tokens below the column. Every method returns false when the row or the target
+ * location does not exist, and every successful change increments the report's version.
+ */
+@Repository
+public class ReportJsonRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Replaces the value at an existing path.
+     */
+    public boolean replace(ReportType type, String attribute, Long id, List<String> path, String json) {
+        String column = column(type, attribute);
+        return update(type, id, column + " = jsonb_set(" + column + ", CAST(:path AS text[]), CAST(:value AS jsonb), false)",
+                column + " #> CAST(:path AS text[]) IS NOT NULL", path, json) > 0;
+    }
+
+    /**
+     * Sets an object member, creating it if needed. The parent must exist.
+     */
+    public boolean put(ReportType type, String attribute, Long id, List<String> path, String json) {
+        String column = column(type, attribute);
+        return update(type, id, column + " = jsonb_set(" + orEmpty(column) + ", CAST(:path AS text[]), CAST(:value AS jsonb), true)",
+                parentExists(column, path), path, json) > 0;
+    }
+
+    /**
+     * Inserts into an array before the given index, or appends when the last token is "-".
+     */
+    public boolean insert(ReportType type, String attribute, Long id, List<String> path, String json) {
+        String column = column(type, attribute);
+        boolean append = "-".equals(path.get(path.size() - 1));
+        List<String> target = append ? replaceLast(path, "-1") : path;
+        return update(type, id, column + " = jsonb_insert(" + orEmpty(column) + ", CAST(:path AS text[]), CAST(:value AS jsonb), "
+                + append + ")", parentExists(column, path), target, json) > 0;
+    }
+
+    public boolean remove(ReportType type, String attribute, Long id, List<String> path) {
+        String column = column(type, attribute);
+        return update(type, id, column + " = " + column + " #- CAST(:path AS text[])",
+                column + " #> CAST(:path AS text[]) IS NOT NULL", path, null) > 0;
+    }
+
+    /**
+     * Whether the value at the path equals the given JSON.
+     */
+    public boolean matches(ReportType type, String attribute, Long id, List<String> path, String json) {
+        String column = column(type, attribute);
+        List<?> rows = entityManager.createNativeQuery("SELECT 1 FROM " + type.getTableName()
+                        + " WHERE id = :id AND " + column + " #> CAST(:path AS text[]) = CAST(:value AS jsonb)")
+                .setParameter("id", id)
+                .setParameter("path", toTextArray(path))
+                .setParameter("value", json)
+                .getResultList();
+        return !rows.isEmpty();
+    }
+
+    private int update(ReportType type, Long id, String assignment, String condition, List<String> path, String json) {
+        // Bumps the version like an entity update would, so the ETag changes with the content
+        Query query = entityManager.createNativeQuery("UPDATE " + type.getTableName() + " SET " + assignment
+                        + ", version = version + 1 WHERE id = :id AND " + condition)
+                .setParameter("id", id)
+                .setParameter("path", toTextArray(path));
+        if (condition.contains(":parent")) {
+            query.setParameter("parent", toTextArray(path.subList(0, path.size() - 1)));
+        }
+        if (json != null) {
+            query.setParameter("value", json);
+        }
+        // Only this report type's cached entities and queries are invalidated, not the whole cache
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(type.getEntityClass());
+        return query.executeUpdate();
+    }
+
+    private static String parentExists(String column, List<String> path) {
+        if (path.size() == 1) {
+            return "id IS NOT NULL";
+        }
+        return column + " #> CAST(:parent AS text[]) IS NOT NULL";
+    }
+
+    private static String orEmpty(String column) {
+        return "COALESCE(" + column + ", CAST('[]' AS jsonb))";
+    }
+
+    private static List<String> replaceLast(List<String> path, String last) {
+        List<String> copy = new ArrayList<>(path);
+        copy.set(copy.size() - 1, last);
+        return copy;
+    }
+
+    /**
+     * Formats tokens as a PostgreSQL text[] literal, quoting every element.
+     */
+    static String toTextArray(List<String> path) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('"').append(path.get(i).replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String column(ReportType type, String attribute) {
+        if (!type.getDetailAttributes().contains(attribute)) {
+            throw new IllegalArgumentException(attribute + " is not a JSON column of " + type);
+        }
+        return attribute.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
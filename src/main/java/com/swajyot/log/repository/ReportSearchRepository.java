@@ -0,0 +1,93 @@
+package com.swajyot.log.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.res.SearchHit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Ranked full-text search over the generated search_vector columns (see
+ * V4__report_search_vectors.sql). All requested report tables are searched in a single
+ * UNION ALL query, each branch answered from the table's GIN index.
+ */
+@Repository
+public class ReportSearchRepository {
+
+    /**
+     * Every word of the input becomes a prefix term, so "coat blu" matches "coating blue".
+     * The input goes through to_tsvector rather than to_tsquery, so operators typed by the
+     * user are treated as text instead of failing to parse.
+     */
+    private static final String QUERY = "SELECT to_tsquery('simple', string_agg(quote_literal(lexeme) || ':*', ' & '))"
+            + " AS query FROM unnest(to_tsvector('simple', :text))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param after Exclusive (rank, type, id) position of the last hit of the previous page, or null
+     */
+    @SuppressWarnings("unchecked")
+    public List<SearchHit> search(String text, Collection<ReportType> types, SearchHit after, int limit) {
+        StringBuilder sql = new StringBuilder("WITH q AS (").append(QUERY).append(") SELECT * FROM (");
+        String union = "";
+        for (ReportType type : types) {
+            sql.append(union).append(branch(type));
+            union = " UNION ALL ";
+        }
+        sql.append(") hits");
+        if (after != null) {
+            sql.append(" WHERE (rank, report_type, id) < (CAST(:rank AS real), :type, :id)");
+        }
+        sql.append(" ORDER BY rank DESC, report_type DESC, id DESC LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("text", text)
+                .setParameter("limit", limit);
+        if (after != null) {
+            query.setParameter("rank", after.rank())
+                    .setParameter("type", after.reportType().name())
+                    .setParameter("id", after.id());
+        }
+
+        List<Object[]> rows = query.getResultList();
+        List<SearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new SearchHit(ReportType.valueOf((String) row[0]), ((Number) row[1]).longValue(),
+                    (String) row[2], (String) row[3], toLocalDate(row[4]), (String) row[5], (String) row[6],
+                    ((Number) row[7]).floatValue()));
+        }
+        return hits;
+    }
+
+    private static String branch(ReportType type) {
+        String line = type.getLineAttribute() == null ? "CAST(NULL AS varchar)" : "t." + column(type.getLineAttribute());
+        return "SELECT CAST('" + type.name() + "' AS varchar) AS report_type, t.id, t.document_no,"
+                + " CAST(t.status AS varchar) AS status, t." + column(type.getDateAttribute()) + " AS report_date,"
+                + " t." + column(type.getProductAttribute()) + " AS product,"
+                + " " + line + " AS line,"
+                + " ts_rank(t.search_vector, q.query) AS rank"
+                + " FROM " + type.getTableName() + " t, q WHERE t.search_vector @@ q.query";
+    }
+
+    private static String column(String attribute) {
+        return attribute.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
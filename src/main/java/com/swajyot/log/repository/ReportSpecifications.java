@@ -0,0 +1,75 @@
+package com.swajyot.log.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.User;
+import com.swajyot.log.model.req.ReportFilter;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Builds JPA specifications for the combinable list filters shared by all report types.
+ */
+public final class ReportSpecifications {
+
+    private ReportSpecifications() {
+    }
+
+    /**
+     * Builds the filter specification. Filter values are validated here, before the query
+     * runs, so that bad input surfaces as IllegalArgumentException rather than a data access error.
+     */
+    public static <T> Specification<T> matching(ReportType type, ReportFilter filter) {
+        Object status = hasText(filter.getStatus()) ? type.parseStatus(filter.getStatus()) : null;
+        if (hasText(filter.getLine()) && type.getLineAttribute() == null) {
+            throw new IllegalArgumentException("Line filter is not supported for " + type);
+        }
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (filter.getFromDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get(type.getDateAttribute()), filter.getFromDate()));
+            }
+            if (filter.getToDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get(type.getDateAttribute()), filter.getToDate()));
+            }
+            if (hasText(filter.getLine())) {
+                predicates.add(cb.equal(root.get(type.getLineAttribute()), filter.getLine()));
+            }
+            if (hasText(filter.getProduct())) {
+                predicates.add(cb.like(cb.lower(root.get(type.getProductAttribute())),
+                        "%" + filter.getProduct().toLowerCase() + "%"));
+            }
+            if (hasText(filter.getSubmittedBy())) {
+                predicates.add(cb.equal(root.get("submittedBy"), filter.getSubmittedBy()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<User> usersMatching(User.Role role, Boolean active) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (role != null) {
+                predicates.add(cb.equal(root.get("role"), role));
+            }
+            if (active != null) {
+                predicates.add(cb.equal(root.get("active"), active));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
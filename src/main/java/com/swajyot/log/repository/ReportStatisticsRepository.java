@@ -0,0 +1,77 @@
+package com.swajyot.log.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Repository;
+
+import com.swajyot.log.model.ReportType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Grouped COUNT(*) queries over a report table. Attribute names come from
+ * {@link ReportType}, never from request input.
+ */
+@Repository
+public class ReportStatisticsRepository {
+
+    public static final String UNSPECIFIED = "UNSPECIFIED";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Counts reports per distinct value of the attribute, largest groups first.
+     *
+     * @param limit Maximum number of groups returned, or 0 for all
+     */
+    public Map<String, Long> countBy(ReportType type, String attribute, int limit) {
+        String jpql = "select r." + attribute + ", count(r) from " + entityName(type) + " r"
+                + " group by r." + attribute + " order by count(r) desc";
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql, Object[].class);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return toMap(query.getResultList());
+    }
+
+    /**
+     * Counts reports per calendar month of the business date, oldest first.
+     */
+    public Map<String, Long> countByMonth(ReportType type) {
+        String date = "r." + type.getDateAttribute();
+        String jpql = "select year(" + date + "), month(" + date + "), count(r) from " + entityName(type) + " r"
+                + " where " + date + " is not null"
+                + " group by year(" + date + "), month(" + date + ")"
+                + " order by year(" + date + "), month(" + date + ")";
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : entityManager.createQuery(jpql, Object[].class).getResultList()) {
+            counts.put(String.format("%04d-%02d", ((Number) row[0]).intValue(), ((Number) row[1]).intValue()),
+                    ((Number) row[2]).longValue());
+        }
+        return counts;
+    }
+
+    private static Map<String, Long> toMap(List<Object[]> rows) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            Object value = row[0];
+            String key;
+            if (value == null || value.toString().isBlank()) {
+                key = UNSPECIFIED;
+            } else {
+                key = value instanceof Enum<?> e ? e.name() : value.toString();
+            }
+            counts.merge(key, ((Number) row[1]).longValue(), Long::sum);
+        }
+        return counts;
+    }
+
+    private static String entityName(ReportType type) {
+        return type.getEntityClass().getSimpleName();
+    }
+}
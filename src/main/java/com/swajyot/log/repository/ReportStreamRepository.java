@@ -0,0 +1,62 @@
+package com.swajyot.log.repository;
+
+import java.util.stream.Stream;
+
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import com.swajyot.log.model.ReportType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Cursor-backed streams over report entities for exports. The stream must be consumed
+ * and closed inside a transaction; with PostgreSQL the fetch size only takes effect
+ * when autocommit is off.
+ */
+@Repository
+public class ReportStreamRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Streams all reports matching the specification in id order, fetchSize rows per round trip.
+     * Bypasses the second-level cache so an export does not evict the hot entries with rows
+     * that are read once.
+     */
+    public <T> Stream<T> streamMatching(ReportType type, Specification<T> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        @SuppressWarnings("unchecked")
+        Class<T> entityClass = (Class<T>) type.getEntityClass();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream();
+    }
+
+    /**
+     * Drops an exported entity from the persistence context so a long stream does not
+     * accumulate every row it has read.
+     */
+    public void detach(Object entity) {
+        entityManager.detach(entity);
+    }
+}
@@ -0,0 +1,86 @@
+package com.swajyot.log.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.res.ReportSummary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Reads {@link ReportSummary} rows with a tuple query that selects only scalar columns,
+ * so the JSONB columns are neither transferred nor parsed.
+ */
+@Repository
+public class ReportSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> List<ReportSummary> findSummaries(ReportType type, Specification<T> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        @SuppressWarnings("unchecked")
+        Root<T> root = (Root<T>) query.from(type.getEntityClass());
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias("id"));
+        selections.add(root.get("documentNo").alias("documentNo"));
+        selections.add(root.get("status").alias("status"));
+        selections.add(root.get(type.getDateAttribute()).alias("reportDate"));
+        selections.add(root.get("shift").alias("shift"));
+        selections.add(root.get(type.getProductAttribute()).alias("product"));
+        if (type.getLineAttribute() != null) {
+            selections.add(root.get(type.getLineAttribute()).alias("line"));
+        }
+        selections.add(root.get("submittedBy").alias("submittedBy"));
+        selections.add(root.get("submittedAt").alias("submittedAt"));
+        selections.add(root.get("reviewedBy").alias("reviewedBy"));
+        selections.add(root.get("reviewedAt").alias("reviewedAt"));
+        query.multiselect(selections);
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<ReportSummary> summaries = new ArrayList<>(tuples.size());
+        for (Tuple t : tuples) {
+            Object status = t.get("status");
+            summaries.add(new ReportSummary(
+                    t.get("id", Long.class),
+                    type,
+                    t.get("documentNo", String.class),
+                    status != null ? ((Enum<?>) status).name() : null,
+                    t.get("reportDate", LocalDate.class),
+                    t.get("shift", String.class),
+                    t.get("product", String.class),
+                    type.getLineAttribute() != null ? t.get("line", String.class) : null,
+                    t.get("submittedBy", String.class),
+                    t.get("submittedAt", LocalDateTime.class),
+                    t.get("reviewedBy", String.class),
+                    t.get("reviewedAt", LocalDateTime.class)));
+        }
+        return summaries;
+    }
+}
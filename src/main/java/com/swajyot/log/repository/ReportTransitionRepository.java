@@ -0,0 +1,106 @@
+package com.swajyot.log.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Repository;
+
+import com.swajyot.log.config.SecondLevelCacheConfig;
+import com.swajyot.log.model.ReportType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Set-based status changes for the bulk workflow endpoints. A chunk of reports moves in a
+ * single UPDATE guarded by the allowed source statuses, instead of one load and save each.
+ */
+@Repository
+public class ReportTransitionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Moves the reports that are currently in one of the given statuses and returns one row
+     * per changed report. The actor is written to submitted_by/submitted_at or
+     * reviewed_by/reviewed_at depending on the target; comments are only overwritten when
+     * given. Bumps the version like an entity update would, and evicts the changed reports
+     * from the second-level cache straight away; EntityCacheService evicts them again after
+     * commit in case a concurrent reader cached the old row in between.
+     */
+    public List<Moved> transition(ReportType type, Collection<Long> ids, Collection<String> fromStatuses,
+                                  String toStatus, boolean review, String actor, String comments,
+                                  LocalDateTime at) {
+        String table = type.getTableName();
+        String actorColumns = review ? "reviewed_by = :actor, reviewed_at = :at"
+                : "submitted_by = :actor, submitted_at = :at";
+        String line = type.getLineAttribute() == null ? "CAST(NULL AS varchar)"
+                : "t." + type.getLineAttribute().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+        // The sub-select locks the rows and keeps their previous status and timestamps for RETURNING
+        List<?> rows = entityManager.createNativeQuery("UPDATE " + table + " t"
+                        + " SET status = :to, " + actorColumns
+                        + ", comments = COALESCE(CAST(:comments AS varchar), t.comments), version = t.version + 1"
+                        + " FROM (SELECT id, status, submitted_at, reviewed_at FROM " + table
+                        + " WHERE id IN (:ids) AND status IN (:from) FOR UPDATE) old"
+                        + " WHERE t.id = old.id"
+                        + " RETURNING t.id, t.document_no, old.status, old.submitted_at, old.reviewed_at, " + line)
+                .setParameter("to", toStatus)
+                .setParameter("actor", actor)
+                .setParameter("at", at)
+                .setParameter("comments", comments)
+                .setParameter("ids", ids)
+                .setParameter("from", fromStatuses)
+                .getResultList();
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        List<Moved> moved = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            Long id = ((Number) columns[0]).longValue();
+            cache.evictEntityData(type.getEntityClass(), id);
+            moved.add(new Moved(id, (String) columns[1], (String) columns[2],
+                    toLocalDateTime(columns[3]), toLocalDateTime(columns[4]), (String) columns[5]));
+        }
+        if (!moved.isEmpty()) {
+            cache.evictQueryRegion(SecondLevelCacheConfig.STATUS_LISTS_REGION);
+        }
+        return moved;
+    }
+
+    /**
+     * Current status of each of the given reports that exists.
+     */
+    public Map<Long, String> statuses(ReportType type, Collection<Long> ids) {
+        List<?> rows = entityManager.createNativeQuery("SELECT id, status FROM " + type.getTableName()
+                        + " WHERE id IN (:ids)")
+                .setParameter("ids", ids)
+                .getResultList();
+        Map<Long, String> statuses = new HashMap<>();
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            statuses.put(((Number) columns[0]).longValue(), (String) columns[1]);
+        }
+        return statuses;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    /**
+     * A report changed by {@link #transition}, with its state before the change.
+     */
+    public record Moved(Long id, String documentNo, String previousStatus, LocalDateTime submittedAt,
+                        LocalDateTime reviewedAt, String line) {
+    }
+}
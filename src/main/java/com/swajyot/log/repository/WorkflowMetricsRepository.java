@@ -0,0 +1,75 @@
+package com.swajyot.log.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import com.swajyot.log.model.ReportType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Aggregates over the workflow transition history, bucketed in the database so only
+ * one row per group and bucket is returned.
+ */
+@Repository
+public class WorkflowMetricsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Counts transitions with a known dwell time per (type, from, to[, line], bucket).
+     * The bucket is the number of bounds less than or equal to the dwell time, so bucket i
+     * holds dwell times below bounds[i] and bucket bounds.length the rest.
+     *
+     * @return rows of report_type, from_status, to_status, line (null unless byLine),
+     *         bucket, count, sum of dwell_ms, max of dwell_ms
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> dwellBuckets(ReportType type, boolean byLine, LocalDateTime from, LocalDateTime to,
+                                       long[] bounds) {
+        String line = byLine ? "line" : "CAST(NULL AS varchar)";
+        StringBuilder sql = new StringBuilder("SELECT report_type, from_status, to_status, ").append(line)
+                .append(", width_bucket(dwell_ms, CAST(:bounds AS bigint[])) AS bucket")
+                .append(", count(*), sum(dwell_ms), max(dwell_ms) FROM workflow_transitions")
+                .append(" WHERE dwell_ms IS NOT NULL");
+        if (type != null) {
+            sql.append(" AND report_type = :type");
+        }
+        if (from != null) {
+            sql.append(" AND transitioned_at >= :from");
+        }
+        if (to != null) {
+            sql.append(" AND transitioned_at < :to");
+        }
+        sql.append(" GROUP BY 1, 2, 3, 4, 5 ORDER BY 1, 2, 3, 4, 5");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("bounds", toArrayLiteral(bounds));
+        if (type != null) {
+            query.setParameter("type", type.name());
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        return query.getResultList();
+    }
+
+    private static String toArrayLiteral(long[] bounds) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < bounds.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(bounds[i]);
+        }
+        return sb.append('}').toString();
+    }
+}
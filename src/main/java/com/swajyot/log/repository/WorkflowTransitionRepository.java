@@ -0,0 +1,15 @@
+package com.swajyot.log.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.WorkflowTransition;
+
+@Repository
+public interface WorkflowTransitionRepository extends JpaRepository<WorkflowTransition, Long> {
+
+    List<WorkflowTransition> findByReportTypeAndReportIdOrderByTransitionedAtAscIdAsc(ReportType reportType, Long reportId);
+}
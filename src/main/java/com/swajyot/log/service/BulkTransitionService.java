@@ -0,0 +1,129 @@
+package com.swajyot.log.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.WorkflowState;
+import com.swajyot.log.model.WorkflowTransition;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.model.req.BulkTransitionRequest;
+import com.swajyot.log.model.res.BulkTransitionResult;
+import com.swajyot.log.repository.ReportTransitionRepository;
+
+/**
+ * Bulk submit / approve / reject. Ids are processed in chunks, each chunk with one guarded
+ * UPDATE in its own transaction; ids the UPDATE skipped are looked up once to explain why.
+ * The allowed source statuses come from {@link ReportWorkflow}, and each change is recorded
+ * in the transition history like a single-report transition.
+ */
+@Service
+public class BulkTransitionService {
+
+    private final ReportTransitionRepository transitionRepository;
+    private final ReportWorkflow reportWorkflow;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxIds;
+
+    public BulkTransitionService(ReportTransitionRepository transitionRepository,
+                                 ReportWorkflow reportWorkflow,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.bulk.chunk-size:200}") int chunkSize,
+                                 @Value("${app.bulk.max-ids:1000}") int maxIds) {
+        this.transitionRepository = transitionRepository;
+        this.reportWorkflow = reportWorkflow;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * Applies the action to every id in the request. Duplicate ids are reported once.
+     *
+     * @throws IllegalArgumentException if the request is empty, too large, has no user,
+     *                                  or is a reject without comments
+     */
+    public BulkTransitionResult apply(ReportType type, ReportWorkflow.Transition transition, BulkTransitionRequest request) {
+        if (request == null || request.getIds() == null || request.getIds().isEmpty()) {
+            throw new IllegalArgumentException("No report ids given");
+        }
+        if (request.getIds().contains(null)) {
+            throw new IllegalArgumentException("Report ids must not be null");
+        }
+        if (request.getUser() == null || request.getUser().isBlank()) {
+            throw new IllegalArgumentException("User is required");
+        }
+        if (transition == ReportWorkflow.Transition.REJECT && (request.getComments() == null || request.getComments().isBlank())) {
+            throw new IllegalArgumentException("Comments are required to reject");
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+        if (ids.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " reports per request");
+        }
+
+        // Approve keeps existing comments when none are given, like the single endpoint
+        String comments = request.getComments() == null || request.getComments().isBlank()
+                ? null : request.getComments();
+        Map<Long, String> errors = new HashMap<>();
+        for (int start = 0; start < ids.size(); start += chunkSize) {
+            List<Long> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+            errors.putAll(transactionTemplate.execute(status ->
+                    applyChunk(type, transition, chunk, request.getUser(), comments)));
+        }
+
+        List<BulkTransitionResult.Item> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            String error = errors.get(id);
+            results.add(new BulkTransitionResult.Item(id, error == null, error));
+        }
+        return new BulkTransitionResult(ids.size(), ids.size() - errors.size(), errors.size(), results);
+    }
+
+    private Map<Long, String> applyChunk(ReportType type, ReportWorkflow.Transition transition, List<Long> chunk,
+                                         String user, String comments) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean review = transition != ReportWorkflow.Transition.SUBMIT;
+        List<ReportTransitionRepository.Moved> moved = transitionRepository.transition(type, chunk,
+                reportWorkflow.sources(transition), transition.getTarget().name(), review, user, comments, now);
+
+        List<WorkflowTransition> history = new ArrayList<>(moved.size());
+        for (ReportTransitionRepository.Moved row : moved) {
+            WorkflowState from = WorkflowState.valueOf(row.previousStatus());
+            history.add(ReportWorkflow.transition(type, row.id(), from, transition, user, row.line(),
+                    ReportWorkflow.enteredAt(from, row.submittedAt(), row.reviewedAt()), now));
+            eventPublisher.publishEvent(new ReportChangedEvent(type, row.id(), transition.getKind(),
+                    row.documentNo(), row.previousStatus(), transition.getTarget().name()));
+        }
+        reportWorkflow.recordAll(history);
+        if (moved.size() == chunk.size()) {
+            return Map.of();
+        }
+
+        Set<Long> skipped = new LinkedHashSet<>(chunk);
+        moved.forEach(row -> skipped.remove(row.id()));
+        Map<Long, String> statuses = transitionRepository.statuses(type, skipped);
+        Map<Long, String> errors = new HashMap<>();
+        for (Long id : skipped) {
+            String current = statuses.get(id);
+            errors.put(id, current == null
+                    ? "Report not found with id: " + id
+                    : "Cannot " + transition.name().toLowerCase() + " a report in status " + current);
+        }
+        return errors;
+    }
+}
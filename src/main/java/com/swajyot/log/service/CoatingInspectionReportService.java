@@ -1,8 +1,16 @@
 package com.swajyot.log.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.swajyot.log.model.CoatingInspectionReport;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.model.event.ReportDownloadedEvent;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.CursorPage;
 import com.swajyot.log.repository.CoatingInspectionReportRepository;
+import com.swajyot.log.repository.ReportSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,19 +22,42 @@ import java.util.List;
 public class CoatingInspectionReportService {
 
     private final CoatingInspectionReportRepository coatingInspectionReportRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final DocumentNumberAllocator documentNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportPatcher reportPatcher;
+    private final ReportWorkflow reportWorkflow;
 
     @Autowired
-    public CoatingInspectionReportService(CoatingInspectionReportRepository coatingInspectionReportRepository) {
+    public CoatingInspectionReportService(CoatingInspectionReportRepository coatingInspectionReportRepository,
+            KeysetPaginator keysetPaginator, DocumentNumberAllocator documentNumberAllocator,
+            ApplicationEventPublisher eventPublisher, ReportPatcher reportPatcher,
+            ReportWorkflow reportWorkflow) {
         this.coatingInspectionReportRepository = coatingInspectionReportRepository;
+        this.keysetPaginator = keysetPaginator;
+        this.documentNumberAllocator = documentNumberAllocator;
+        this.eventPublisher = eventPublisher;
+        this.reportPatcher = reportPatcher;
+        this.reportWorkflow = reportWorkflow;
     }
 
     public List<CoatingInspectionReport> getAllReports() {
         return coatingInspectionReportRepository.findAll();
     }
 
+    /**
+     * Keyset-paginated list with optional status, date range, line, product and submitter filters
+     */
+    public CursorPage<CoatingInspectionReport> getReportsPage(ReportFilter filter) {
+        return keysetPaginator.page(coatingInspectionReportRepository,
+                ReportSpecifications.matching(ReportType.COATING, filter),
+                filter.getSort(), filter.getCursor(), filter.getSize(),
+                CoatingInspectionReport::getId, CoatingInspectionReport::getSubmittedAt);
+    }
+
     public CoatingInspectionReport getReportById(Long id) {
         return coatingInspectionReportRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Coating Inspection Report not found with id: " + id));
+                .orElseThrow(() -> new ReportNotFoundException("Coating Inspection Report not found with id: " + id));
     }
 
     public List<CoatingInspectionReport> getReportsByStatus(CoatingInspectionReport.ReportStatus status) {
@@ -68,12 +99,13 @@ public class CoatingInspectionReportService {
         if (report.getDocumentNo() == null || report.getDocumentNo().isEmpty()) {
             report.setDocumentNo(generateDocumentNumber());
         }
-        return coatingInspectionReportRepository.save(report);
+        return changed(coatingInspectionReportRepository.save(report), null, ReportChangedEvent.Kind.CREATED);
     }
 
     @Transactional
     public CoatingInspectionReport updateReport(Long id, CoatingInspectionReport updatedReport) {
         CoatingInspectionReport existingReport = getReportById(id);
+        CoatingInspectionReport.ReportStatus previousStatus = existingReport.getStatus();
         
         // Only allow updates for reports in DRAFT or REJECTED status
 //        if (existingReport.getStatus() != CoatingInspectionReport.ReportStatus.DRAFT 
@@ -83,35 +115,54 @@ public class CoatingInspectionReportService {
         
         // Preserve the ID
         updatedReport.setId(id);
-        
-        return coatingInspectionReportRepository.save(updatedReport);
+        // A client that sent no version gets last-writer-wins; a stale version fails the merge
+        if (updatedReport.getVersion() == null) {
+            updatedReport.setVersion(existingReport.getVersion());
+        }
+        // Status and the submitted/reviewed fields only change through the workflow endpoints,
+        // which validate the transition and record it in workflow_transitions
+        updatedReport.setStatus(existingReport.getStatus());
+        updatedReport.setSubmittedBy(existingReport.getSubmittedBy());
+        updatedReport.setSubmittedAt(existingReport.getSubmittedAt());
+        updatedReport.setReviewedBy(existingReport.getReviewedBy());
+        updatedReport.setReviewedAt(existingReport.getReviewedAt());
+        
+        return changed(coatingInspectionReportRepository.save(updatedReport), previousStatus, ReportChangedEvent.Kind.UPDATED);
+    }
+
+    /**
+     * Applies a JSON Merge Patch or JSON Patch; only the changed columns and JSON paths are written.
+     *
+     * @throws IllegalArgumentException if the patch is malformed or targets a missing or protected path
+     */
+    @Transactional
+    public CoatingInspectionReport patchReport(Long id, JsonNode patch, ReportPatcher.Format format) {
+        CoatingInspectionReport report = getReportById(id);
+        CoatingInspectionReport.ReportStatus previousStatus = report.getStatus();
+        reportPatcher.apply(ReportType.COATING, report, id, patch, format);
+        return changed(coatingInspectionReportRepository.saveAndFlush(report), previousStatus, ReportChangedEvent.Kind.UPDATED);
     }
 
     @Transactional
     public CoatingInspectionReport submitReport(Long id, String submittedBy) {
         CoatingInspectionReport report = getReportById(id);
+        CoatingInspectionReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != CoatingInspectionReport.ReportStatus.DRAFT 
-                && report.getStatus() != CoatingInspectionReport.ReportStatus.REJECTED) {
-            throw new IllegalStateException("Report is already submitted or approved");
-        }
-        
-        report.setStatus(CoatingInspectionReport.ReportStatus.SUBMITTED);
+        report.setStatus(reportWorkflow.advance(ReportType.COATING, report,
+                ReportWorkflow.Transition.SUBMIT, submittedBy, report.getLineNo()));
         report.setSubmittedBy(submittedBy);
         report.setSubmittedAt(LocalDateTime.now());
         
-        return coatingInspectionReportRepository.save(report);
+        return changed(coatingInspectionReportRepository.save(report), previousStatus, ReportChangedEvent.Kind.SUBMITTED);
     }
 
     @Transactional
     public CoatingInspectionReport approveReport(Long id, String reviewedBy, String comments) {
         CoatingInspectionReport report = getReportById(id);
+        CoatingInspectionReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != CoatingInspectionReport.ReportStatus.SUBMITTED) {
-            throw new IllegalStateException("Report must be in SUBMITTED status to approve");
-        }
-        
-        report.setStatus(CoatingInspectionReport.ReportStatus.APPROVED);
+        report.setStatus(reportWorkflow.advance(ReportType.COATING, report,
+                ReportWorkflow.Transition.APPROVE, reviewedBy, report.getLineNo()));
         report.setReviewedBy(reviewedBy);
         report.setReviewedAt(LocalDateTime.now());
         
@@ -119,23 +170,21 @@ public class CoatingInspectionReportService {
             report.setComments(comments);
         }
         
-        return coatingInspectionReportRepository.save(report);
+        return changed(coatingInspectionReportRepository.save(report), previousStatus, ReportChangedEvent.Kind.APPROVED);
     }
 
     @Transactional
     public CoatingInspectionReport rejectReport(Long id, String reviewedBy, String comments) {
         CoatingInspectionReport report = getReportById(id);
+        CoatingInspectionReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != CoatingInspectionReport.ReportStatus.SUBMITTED) {
-            throw new IllegalStateException("Report must be in SUBMITTED status to reject");
-        }
-        
-        report.setStatus(CoatingInspectionReport.ReportStatus.REJECTED);
+        report.setStatus(reportWorkflow.advance(ReportType.COATING, report,
+                ReportWorkflow.Transition.REJECT, reviewedBy, report.getLineNo()));
         report.setReviewedBy(reviewedBy);
         report.setReviewedAt(LocalDateTime.now());
         report.setComments(comments);
         
-        return coatingInspectionReportRepository.save(report);
+        return changed(coatingInspectionReportRepository.save(report), previousStatus, ReportChangedEvent.Kind.REJECTED);
     }
 
     @Transactional
@@ -149,41 +198,25 @@ public class CoatingInspectionReportService {
         }
         
         coatingInspectionReportRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReportChangedEvent(ReportType.COATING, id, ReportChangedEvent.Kind.DELETED));
     }
     
-    @Transactional
+    /**
+     * Records the download in the audit log; the report row is not touched
+     */
     public void logPdfDownload(Long id, String userName) {
-        // Implement logging logic here if needed
-        // This could write to a separate audit log table
-        // For now, we'll just log to console
-        System.out.println("PDF for Coating Inspection Report ID: " + id + " downloaded by: " + userName);
+        eventPublisher.publishEvent(new ReportDownloadedEvent(ReportType.COATING, id, userName, LocalDateTime.now()));
     }
     
+    private CoatingInspectionReport changed(CoatingInspectionReport saved, CoatingInspectionReport.ReportStatus previousStatus,
+                                            ReportChangedEvent.Kind kind) {
+        eventPublisher.publishEvent(ReportChangedEvent.of(ReportType.COATING, saved.getId(), kind, saved.getDocumentNo(),
+                previousStatus, saved.getStatus()));
+        return saved;
+    }
+
     private String generateDocumentNumber() {
-        String month = LocalDate.now().getMonth().toString(); // e.g., MAY
-        String prefix = "AGI-FAIRC-" + month + "-";
-
-        // Fetch all reports for current month to determine the next serial number
-        List<CoatingInspectionReport> reportsThisMonth =
-        		coatingInspectionReportRepository.findByDocumentNoStartingWith(prefix);
-
-        // Find the max serial number used this month
-        int maxSerial = reportsThisMonth.stream()
-                .map(r -> {
-                    String[] parts = r.getDocumentNo().split("-");
-                    try {
-                        return Integer.parseInt(parts[parts.length - 1]);
-                    } catch (Exception e) {
-                        return 0; // fallback if parsing fails
-                    }
-                })
-                .max(Integer::compare)
-                .orElse(0);
-
-        int nextSerial = maxSerial + 1;
-        String paddedSerial = String.format("%03d", nextSerial); // 001, 002, etc.
-
-        return prefix + paddedSerial;
+        return documentNumberAllocator.next(ReportType.COATING);
     }
 
 }
\ No newline at end of file
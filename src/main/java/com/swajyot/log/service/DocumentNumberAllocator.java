@@ -0,0 +1,146 @@
+package com.swajyot.log.service;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.repository.DocumentSequenceRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Allocates document numbers from the document_sequences counter table.
+ *
+ * Each allocation is a single INSERT ... ON CONFLICT ... RETURNING round-trip, so numbers are
+ * unique under concurrent creates without scanning existing reports. Must be called inside the
+ * creating transaction.
+ *
+ * With a block size of 1 the counter is bumped in the caller's transaction: numbers have no
+ * gaps, but creates of the same type and period wait on the counter row until the previous one
+ * commits. With a larger block size a range of serials is reserved at once in a separate
+ * transaction and handed out from memory (hi/lo), so the row lock is only taken once per block.
+ * That refill needs a second pooled connection while the caller holds one, so the pool must be
+ * larger than the number of concurrent creates; unused serials of a block are lost on restart
+ * or rollback, leaving gaps but never duplicates.
+ */
+@Service
+@Slf4j
+public class DocumentNumberAllocator {
+
+    private static final Map<ReportType, Scheme> SCHEMES = new EnumMap<>(ReportType.class);
+
+    static {
+        // AGI-APR-25-7: yearly, unpadded
+        SCHEMES.put(ReportType.INSPECTION_FORM, new Scheme("AGI-APR-", true, 0));
+        // AGI-FAIRC-MAY-001: monthly, three digits
+        SCHEMES.put(ReportType.COATING, new Scheme("AGI-FAIRC-", false, 3));
+        SCHEMES.put(ReportType.PRINTING, new Scheme("AGI-FAIRP-", false, 3));
+        SCHEMES.put(ReportType.LINE_CLEARANCE, new Scheme("AGI-LCR-", false, 3));
+        SCHEMES.put(ReportType.INCOMING_QUALITY, new Scheme("AGI-IQIR-", false, 3));
+    }
+
+    private final DocumentSequenceRepository documentSequenceRepository;
+    private final int blockSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Keys whose counter row is known to exist, so the seed scan can be skipped
+    private final Set<String> seededKeys = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public DocumentNumberAllocator(DocumentSequenceRepository documentSequenceRepository,
+                                   @Value("${app.document-number.block-size:1}") int blockSize) {
+        this.documentSequenceRepository = documentSequenceRepository;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public String next(ReportType type) {
+        return next(type, LocalDate.now());
+    }
+
+    public String next(ReportType type, LocalDate date) {
+        Scheme scheme = SCHEMES.get(type);
+        String prefix = scheme.prefix(date);
+        return scheme.format(prefix, nextSerial(type, prefix));
+    }
+
+    private long nextSerial(ReportType type, String prefix) {
+        String key = type.name() + ":" + prefix;
+        if (blockSize == 1) {
+            return reserve(type, prefix, key, 1);
+        }
+
+        Block block = blocks.computeIfAbsent(key, k -> new Block());
+        // A lock rather than synchronized, so a virtual thread waiting on the reserve query unmounts
+        block.lock.lock();
+        try {
+            if (block.next > block.last) {
+                block.last = reserve(type, prefix, key, blockSize);
+                block.next = block.last - blockSize + 1;
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    private long reserve(ReportType type, String prefix, String key, int count) {
+        long seed = seededKeys.contains(key) ? 0 : highestExistingSerial(type, prefix);
+        // A block outlives the caller's transaction, so it must be committed on its own
+        long last = count == 1
+                ? documentSequenceRepository.reserve(key, seed, count)
+                : documentSequenceRepository.reserveCommitted(key, seed, count);
+        seededKeys.add(key);
+        return last;
+    }
+
+    /**
+     * Highest serial already used under this prefix. Only consulted until the counter row
+     * exists, so that numbering continues after reports created before the counter table.
+     */
+    private long highestExistingSerial(ReportType type, String prefix) {
+        Object max = entityManager.createNativeQuery(
+                        "SELECT COALESCE(MAX(CAST(SUBSTRING(document_no FROM :start) AS BIGINT)), 0) " +
+                        "FROM " + type.getTableName() + " " +
+                        "WHERE document_no LIKE :pattern AND SUBSTRING(document_no FROM :start) ~ '^[0-9]+$'")
+                .setParameter("start", prefix.length() + 1)
+                .setParameter("pattern", prefix + "%")
+                .getSingleResult();
+        long serial = ((Number) max).longValue();
+        if (serial > 0) {
+            log.info("Seeding document sequence {} from existing serial {}", type + ":" + prefix, serial);
+        }
+        return serial;
+    }
+
+    private record Scheme(String base, boolean yearly, int padding) {
+
+        String prefix(LocalDate date) {
+            String period = yearly
+                    ? String.valueOf(date.getYear()).substring(2)
+                    : date.getMonth().toString();
+            return base + period + "-";
+        }
+
+        String format(String prefix, long serial) {
+            return padding > 0 ? prefix + String.format("%0" + padding + "d", serial) : prefix + serial;
+        }
+    }
+
+    private static final class Block {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next = 1;
+        private long last = 0;
+    }
+}
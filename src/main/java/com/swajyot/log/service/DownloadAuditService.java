@@ -0,0 +1,206 @@
+package com.swajyot.log.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.swajyot.log.model.ReportDownload;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.event.ReportDownloadedEvent;
+import com.swajyot.log.model.req.DownloadFilter;
+import com.swajyot.log.model.res.CursorPage;
+import com.swajyot.log.repository.ReportDownloadRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.criteria.Predicate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records report downloads in the append-only report_downloads table.
+ *
+ * Downloads are buffered in memory and inserted in batches, either when
+ * app.download-audit.batch-size events are waiting or every flush-interval-ms, so a
+ * download costs no database round trip. If the buffer is full the event is written
+ * directly rather than dropped.
+ *
+ * A batch that fails to insert is kept and retried on later ticks with exponential backoff,
+ * while new downloads keep queueing behind it. Records are only lost when the buffer is full
+ * and the direct write fails as well; those are logged and counted as download.audit.dropped.
+ */
+@Service
+@Slf4j
+public class DownloadAuditService {
+
+    private final ReportDownloadRepository reportDownloadRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final Counter dropped;
+
+    private final BlockingQueue<ReportDownload> buffer;
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "download-audit-flush");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Not synchronized: the scheduler may run flush() on a virtual thread, which must not pin during the insert
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // The batch that failed last, retried before anything newer; guarded by flushLock
+    private List<ReportDownload> retryBatch;
+    private long retryAt;
+    private long backoffMs;
+
+    public DownloadAuditService(ReportDownloadRepository reportDownloadRepository,
+                                KeysetPaginator keysetPaginator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.download-audit.batch-size:50}") int batchSize,
+                                @Value("${app.download-audit.buffer-capacity:10000}") int bufferCapacity,
+                                @Value("${app.download-audit.initial-backoff-ms:2000}") long initialBackoffMs,
+                                @Value("${app.download-audit.max-backoff-ms:60000}") long maxBackoffMs,
+                                MeterRegistry meterRegistry) {
+        this.reportDownloadRepository = reportDownloadRepository;
+        this.keysetPaginator = keysetPaginator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.buffer = new ArrayBlockingQueue<>(Math.max(this.batchSize, bufferCapacity));
+        this.initialBackoffMs = Math.max(1, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+        this.dropped = Counter.builder("download.audit.dropped")
+                .description("Download audit records that could be neither buffered nor written")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onReportDownloaded(ReportDownloadedEvent event) {
+        ReportDownload download = new ReportDownload(null, event.reportType(), event.reportId(),
+                event.userName(), event.downloadedAt());
+        if (!buffer.offer(download)) {
+            log.warn("Download audit buffer full, writing directly");
+            try {
+                reportDownloadRepository.save(download);
+            } catch (RuntimeException e) {
+                dropped.increment();
+                log.error("Dropped download audit record {} {} by {} at {}: {}", download.getReportType(),
+                        download.getReportId(), download.getUserName(), download.getDownloadedAt(), e.getMessage());
+            }
+            return;
+        }
+        if (buffer.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * Writes everything buffered so far, one transaction per batch. Stops at the first batch
+     * that fails and keeps it for the next attempt.
+     */
+    @Scheduled(fixedDelayString = "${app.download-audit.flush-interval-ms:2000}")
+    public void flush() {
+        flush(false);
+    }
+
+    private void flush(boolean ignoreBackoff) {
+        flushLock.lock();
+        try {
+            if (retryBatch != null) {
+                if (!ignoreBackoff && System.currentTimeMillis() < retryAt) {
+                    return;
+                }
+                if (!write(retryBatch)) {
+                    return;
+                }
+                retryBatch = null;
+                backoffMs = 0;
+            }
+            List<ReportDownload> batch = new ArrayList<>(batchSize);
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                if (!write(batch)) {
+                    retryBatch = batch;
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean write(List<ReportDownload> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> reportDownloadRepository.saveAll(batch));
+            return true;
+        } catch (RuntimeException e) {
+            // Ids drawn from the sequence in the rolled back transaction are not reused
+            batch.forEach(download -> download.setId(null));
+            backoffMs = backoffMs == 0 ? initialBackoffMs : Math.min(backoffMs * 2, maxBackoffMs);
+            retryAt = System.currentTimeMillis() + backoffMs;
+            log.warn("Failed to write {} download audit records, retrying in {} ms: {}", batch.size(), backoffMs,
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Downloads matching the filter, newest first.
+     *
+     * @throws IllegalArgumentException if the report type or cursor is invalid
+     */
+    public CursorPage<ReportDownload> getDownloads(DownloadFilter filter) {
+        ReportType type = filter.getReportType() != null && !filter.getReportType().isBlank()
+                ? ReportType.valueOf(filter.getReportType().toUpperCase())
+                : null;
+        Specification<ReportDownload> spec = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (type != null) {
+                predicates.add(cb.equal(root.get("reportType"), type));
+            }
+            if (filter.getReportId() != null) {
+                predicates.add(cb.equal(root.get("reportId"), filter.getReportId()));
+            }
+            if (filter.getUserName() != null && !filter.getUserName().isBlank()) {
+                predicates.add(cb.equal(root.get("userName"), filter.getUserName()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("downloadedAt"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("downloadedAt"), filter.getTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        return keysetPaginator.page(reportDownloadRepository, spec, filter.getCursor(), filter.getSize(),
+                ReportDownload::getId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush(true);
+        int lost = buffer.size() + (retryBatch != null ? retryBatch.size() : 0);
+        if (lost > 0) {
+            dropped.increment(lost);
+            log.error("Shutting down with {} download audit records that could not be written", lost);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.swajyot.log.service;
+
+/**
+ * Entity tags derived from report versions.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + (version != null ? version : 0) + "\"";
+    }
+
+    /**
+     * Whether an If-Match / If-None-Match header value matches the version. Accepts "*",
+     * comma-separated lists and weak tags.
+     */
+    public static boolean matches(String header, Long version) {
+        if (header == null || version == null) {
+            return false;
+        }
+        String current = of(version);
+        for (String tag : header.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
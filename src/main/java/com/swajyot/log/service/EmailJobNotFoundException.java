@@ -0,0 +1,11 @@
+package com.swajyot.log.service;
+
+/**
+ * Thrown when an email job looked up by id does not exist.
+ */
+public class EmailJobNotFoundException extends RuntimeException {
+
+    public EmailJobNotFoundException(String message) {
+        super(message);
+    }
+}
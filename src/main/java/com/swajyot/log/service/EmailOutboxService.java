@@ -0,0 +1,52 @@
+package com.swajyot.log.service;
+
+import org.springframework.stereotype.Service;
+
+import com.swajyot.log.model.EmailJob;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.req.EmailRequest;
+import com.swajyot.log.repository.EmailJobRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Queues report emails in the email_jobs outbox; {@link EmailOutboxWorker} renders and
+ * sends them in the background.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailJobRepository emailJobRepository;
+    private final EmailOutboxWorker emailOutboxWorker;
+
+    /**
+     * @param requestedBy Name printed in the PDF footer
+     * @throws IllegalArgumentException if the request has no recipient
+     */
+    public EmailJob enqueue(ReportType reportType, Long reportId, String requestedBy, String fileName,
+                            EmailRequest emailRequest) {
+        if (emailRequest == null || emailRequest.getTo() == null || emailRequest.getTo().isBlank()) {
+            throw new IllegalArgumentException("Recipient address is required");
+        }
+
+        EmailJob job = new EmailJob();
+        job.setReportType(reportType);
+        job.setReportId(reportId);
+        job.setRequestedBy(requestedBy);
+        job.setRecipient(emailRequest.getTo());
+        job.setSubject(emailRequest.getSubject());
+        job.setBody(emailRequest.getBody());
+        job.setFileName(fileName);
+        EmailJob saved = emailJobRepository.save(job);
+
+        // Don't wait for the next poll
+        emailOutboxWorker.wakeUp();
+        return saved;
+    }
+
+    public EmailJob getJob(Long id) {
+        return emailJobRepository.findById(id)
+                .orElseThrow(() -> new EmailJobNotFoundException("Email job not found with id: " + id));
+    }
+}
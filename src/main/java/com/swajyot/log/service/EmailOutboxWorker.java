@@ -0,0 +1,144 @@
+package com.swajyot.log.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.swajyot.log.model.EmailJob;
+import com.swajyot.log.repository.EmailJobRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the email outbox. Due jobs are claimed in batches no larger than the number of
+ * free send slots and processed on virtual threads; failures are retried with exponential
+ * backoff until app.email.max-attempts is reached. A claim is a lease: jobs stuck in SENDING
+ * for longer than app.email.lease-timeout-ms (a crashed or killed worker) are queued again.
+ */
+@Component
+@Slf4j
+public class EmailOutboxWorker {
+
+    private final EmailJobRepository emailJobRepository;
+    private final ReportPdfRenderer reportPdfRenderer;
+    private final EmailService emailService;
+
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long leaseTimeoutMs;
+
+    private final Semaphore slots;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    public EmailOutboxWorker(EmailJobRepository emailJobRepository, ReportPdfRenderer reportPdfRenderer,
+                             EmailService emailService,
+                             @Value("${app.email.max-concurrency:4}") int maxConcurrency,
+                             @Value("${app.email.max-attempts:5}") int maxAttempts,
+                             @Value("${app.email.initial-backoff-ms:2000}") long initialBackoffMs,
+                             @Value("${app.email.max-backoff-ms:300000}") long maxBackoffMs,
+                             @Value("${app.email.lease-timeout-ms:600000}") long leaseTimeoutMs) {
+        this.emailJobRepository = emailJobRepository;
+        this.reportPdfRenderer = reportPdfRenderer;
+        this.emailService = emailService;
+        this.slots = new Semaphore(Math.max(1, maxConcurrency));
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.leaseTimeoutMs = leaseTimeoutMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.email.lease-timeout-ms:600000}",
+            initialDelayString = "${app.email.lease-timeout-ms:600000}")
+    public void requeueExpired() {
+        int requeued = emailJobRepository.requeueExpired(leaseTimeoutMs);
+        if (requeued > 0) {
+            log.info("Requeued {} email jobs whose claim expired", requeued);
+        }
+    }
+
+    /**
+     * Triggers a poll right away instead of waiting for the schedule.
+     */
+    public void wakeUp() {
+        executor.execute(this::poll);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.poll-interval-ms:1000}")
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int free = slots.availablePermits();
+            if (free == 0) {
+                return;
+            }
+            List<EmailJob> jobs = emailJobRepository.claimDue(free);
+            for (EmailJob job : jobs) {
+                slots.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        process(job);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } catch (Exception e) {
+            log.error("Email outbox poll failed", e);
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    private void process(EmailJob job) {
+        try {
+            byte[] pdfBytes = reportPdfRenderer.render(job.getReportType(), job.getReportId(),
+                    job.getRequestedBy() != null ? job.getRequestedBy() : "");
+            emailService.sendEmailWithAttachment(job.getRecipient(), job.getSubject(), job.getBody(),
+                    pdfBytes, job.getFileName());
+            job.setStatus(EmailJob.Status.SENT);
+            job.setSentAt(LocalDateTime.now());
+            job.setLastError(null);
+        } catch (Exception e) {
+            job.setLastError(e.getMessage());
+            if (job.getAttempts() >= maxAttempts) {
+                job.setStatus(EmailJob.Status.FAILED);
+                log.error("Email job {} failed after {} attempts: {}", job.getId(), job.getAttempts(), e.getMessage());
+            } else {
+                long delay = backoffMillis(job.getAttempts(), initialBackoffMs, maxBackoffMs);
+                job.setStatus(EmailJob.Status.QUEUED);
+                job.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+                log.warn("Email job {} attempt {} failed, retrying in {} ms: {}",
+                        job.getId(), job.getAttempts(), delay, e.getMessage());
+            }
+        }
+        emailJobRepository.save(job);
+    }
+
+    /**
+     * Delay before the next attempt: initial, 2x, 4x, ... capped at max.
+     */
+    static long backoffMillis(int attempts, long initialMs, long maxMs) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(initialMs << exponent, maxMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
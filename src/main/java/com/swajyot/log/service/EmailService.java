@@ -6,6 +6,9 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
@@ -16,6 +19,10 @@ public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
 
+    // The application's registry when running in the context, the global one otherwise
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     /**
      * Send an email with a PDF attachment
      * 
@@ -41,7 +48,17 @@ public class EmailService {
         ByteArrayResource resource = new ByteArrayResource(pdfBytes);
         helper.addAttachment(fileName, resource);
         
-        // Send the email
-        mailSender.send(message);
+        // Send the email, timing the SMTP conversation
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            mailSender.send(message);
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("mail.send")
+                    .description("SMTP send of a report email")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
     }
 }
\ No newline at end of file
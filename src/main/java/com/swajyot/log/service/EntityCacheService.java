@@ -0,0 +1,67 @@
+package com.swajyot.log.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.swajyot.log.config.SecondLevelCacheConfig;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.model.res.CacheRegionStats;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Statistics and invalidation for the Hibernate second-level cache. Writes through the
+ * entity manager keep the cache current on their own; bulk and JSONB updates issued as
+ * native SQL are covered by evicting the report once the change has committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager hibernateCacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(event.reportType().getEntityClass(), event.reportId());
+        cache.evictQueryRegion(SecondLevelCacheConfig.STATUS_LISTS_REGION);
+    }
+
+    public List<CacheRegionStats> getStatistics() {
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (String name : hibernateCacheManager.getCacheNames()) {
+            javax.cache.Cache<Object, Object> region = hibernateCacheManager.getCache(name);
+            if (region == null) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            Cache<Object, Object> cache = region.unwrap(Cache.class);
+            CacheStats stats = cache.stats();
+            Long weightedSize = cache.policy().eviction()
+                    .filter(eviction -> eviction.isWeighted())
+                    .map(eviction -> eviction.weightedSize().orElse(0))
+                    .orElse(null);
+            regions.add(new CacheRegionStats(name, cache.estimatedSize(), weightedSize, stats.hitCount(),
+                    stats.missCount(), stats.hitRate(), stats.evictionCount(), stats.evictionWeight()));
+        }
+        regions.sort((a, b) -> a.region().compareTo(b.region()));
+        return regions;
+    }
+
+    /**
+     * Drops every cached entity and query result.
+     */
+    public void clear() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
@@ -1,8 +1,17 @@
 package com.swajyot.log.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.swajyot.log.model.IncomingQualityInspectionReport;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.model.event.ReportDownloadedEvent;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.AcceptanceSummary;
+import com.swajyot.log.model.res.CursorPage;
 import com.swajyot.log.repository.IncomingQualityInspectionReportRepository;
+import com.swajyot.log.repository.ReportSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,19 +23,44 @@ import java.util.List;
 public class IncomingQualityInspectionReportService {
 
     private final IncomingQualityInspectionReportRepository reportRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final DocumentNumberAllocator documentNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportPatcher reportPatcher;
+    private final ReportWorkflow reportWorkflow;
+    private final IqcRollupService rollupService;
 
     @Autowired
-    public IncomingQualityInspectionReportService(IncomingQualityInspectionReportRepository reportRepository) {
+    public IncomingQualityInspectionReportService(IncomingQualityInspectionReportRepository reportRepository,
+            KeysetPaginator keysetPaginator, DocumentNumberAllocator documentNumberAllocator,
+            ApplicationEventPublisher eventPublisher, IqcRollupService rollupService, ReportPatcher reportPatcher,
+            ReportWorkflow reportWorkflow) {
         this.reportRepository = reportRepository;
+        this.keysetPaginator = keysetPaginator;
+        this.documentNumberAllocator = documentNumberAllocator;
+        this.eventPublisher = eventPublisher;
+        this.reportPatcher = reportPatcher;
+        this.reportWorkflow = reportWorkflow;
+        this.rollupService = rollupService;
     }
 
     public List<IncomingQualityInspectionReport> getAllReports() {
         return reportRepository.findAll();
     }
 
+    /**
+     * Keyset-paginated list with optional status, date range, line, product and submitter filters
+     */
+    public CursorPage<IncomingQualityInspectionReport> getReportsPage(ReportFilter filter) {
+        return keysetPaginator.page(reportRepository,
+                ReportSpecifications.matching(ReportType.INCOMING_QUALITY, filter),
+                filter.getSort(), filter.getCursor(), filter.getSize(),
+                IncomingQualityInspectionReport::getId, IncomingQualityInspectionReport::getSubmittedAt);
+    }
+
     public IncomingQualityInspectionReport getReportById(Long id) {
         return reportRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Incoming Quality Inspection Report not found with id: " + id));
+                .orElseThrow(() -> new ReportNotFoundException("Incoming Quality Inspection Report not found with id: " + id));
     }
 
     public List<IncomingQualityInspectionReport> getReportsByStatus(IncomingQualityInspectionReport.ReportStatus status) {
@@ -77,13 +111,16 @@ public class IncomingQualityInspectionReportService {
             report.setDocumentNo(generateDocumentNumber());
         }
 
-        return reportRepository.save(report);
+        IncomingQualityInspectionReport saved = reportRepository.save(report);
+        rollupService.apply(null, rollupService.contributionOf(saved));
+        return changed(saved, null, ReportChangedEvent.Kind.CREATED);
     }
 
 
     @Transactional
     public IncomingQualityInspectionReport updateReport(Long id, IncomingQualityInspectionReport updatedReport) {
         IncomingQualityInspectionReport existingReport = getReportById(id);
+        IncomingQualityInspectionReport.ReportStatus previousStatus = existingReport.getStatus();
         
         // Only allow updates for reports in DRAFT or REJECTED status
 //        if (existingReport.getStatus() != IncomingQualityInspectionReport.ReportStatus.DRAFT 
@@ -93,35 +130,60 @@ public class IncomingQualityInspectionReportService {
         
         // Preserve the ID
         updatedReport.setId(id);
+        // A client that sent no version gets last-writer-wins; a stale version fails the merge
+        if (updatedReport.getVersion() == null) {
+            updatedReport.setVersion(existingReport.getVersion());
+        }
+        // Status and the submitted/reviewed fields only change through the workflow endpoints,
+        // which validate the transition and record it in workflow_transitions
+        updatedReport.setStatus(existingReport.getStatus());
+        updatedReport.setSubmittedBy(existingReport.getSubmittedBy());
+        updatedReport.setSubmittedAt(existingReport.getSubmittedAt());
+        updatedReport.setReviewedBy(existingReport.getReviewedBy());
+        updatedReport.setReviewedAt(existingReport.getReviewedAt());
         
-        return reportRepository.save(updatedReport);
+        IqcRollupService.Contribution before = rollupService.contributionOf(existingReport);
+        IncomingQualityInspectionReport saved = reportRepository.save(updatedReport);
+        rollupService.apply(before, rollupService.contributionOf(saved));
+        return changed(saved, previousStatus, ReportChangedEvent.Kind.UPDATED);
+    }
+
+    /**
+     * Applies a JSON Merge Patch or JSON Patch; only the changed columns and JSON paths are written.
+     *
+     * @throws IllegalArgumentException if the patch is malformed or targets a missing or protected path
+     */
+    @Transactional
+    public IncomingQualityInspectionReport patchReport(Long id, JsonNode patch, ReportPatcher.Format format) {
+        IncomingQualityInspectionReport report = getReportById(id);
+        IncomingQualityInspectionReport.ReportStatus previousStatus = report.getStatus();
+        IqcRollupService.Contribution before = rollupService.contributionOf(report);
+        reportPatcher.apply(ReportType.INCOMING_QUALITY, report, id, patch, format);
+        IncomingQualityInspectionReport saved = reportRepository.saveAndFlush(report);
+        rollupService.apply(before, rollupService.contributionOf(saved));
+        return changed(saved, previousStatus, ReportChangedEvent.Kind.UPDATED);
     }
 
     @Transactional
     public IncomingQualityInspectionReport submitReport(Long id, String submittedBy) {
         IncomingQualityInspectionReport report = getReportById(id);
+        IncomingQualityInspectionReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != IncomingQualityInspectionReport.ReportStatus.DRAFT 
-                && report.getStatus() != IncomingQualityInspectionReport.ReportStatus.REJECTED) {
-            throw new IllegalStateException("Report is already submitted or approved");
-        }
-        
-        report.setStatus(IncomingQualityInspectionReport.ReportStatus.SUBMITTED);
+        report.setStatus(reportWorkflow.advance(ReportType.INCOMING_QUALITY, report,
+                ReportWorkflow.Transition.SUBMIT, submittedBy, null));
         report.setSubmittedBy(submittedBy);
         report.setSubmittedAt(LocalDateTime.now());
         
-        return reportRepository.save(report);
+        return changed(reportRepository.save(report), previousStatus, ReportChangedEvent.Kind.SUBMITTED);
     }
 
     @Transactional
     public IncomingQualityInspectionReport approveReport(Long id, String reviewedBy, String comments) {
         IncomingQualityInspectionReport report = getReportById(id);
+        IncomingQualityInspectionReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != IncomingQualityInspectionReport.ReportStatus.SUBMITTED) {
-            throw new IllegalStateException("Report must be in SUBMITTED status to approve");
-        }
-        
-        report.setStatus(IncomingQualityInspectionReport.ReportStatus.APPROVED);
+        report.setStatus(reportWorkflow.advance(ReportType.INCOMING_QUALITY, report,
+                ReportWorkflow.Transition.APPROVE, reviewedBy, null));
         report.setReviewedBy(reviewedBy);
         report.setReviewedAt(LocalDateTime.now());
         
@@ -129,23 +191,21 @@ public class IncomingQualityInspectionReportService {
             report.setComments(comments);
         }
         
-        return reportRepository.save(report);
+        return changed(reportRepository.save(report), previousStatus, ReportChangedEvent.Kind.APPROVED);
     }
 
     @Transactional
     public IncomingQualityInspectionReport rejectReport(Long id, String reviewedBy, String comments) {
         IncomingQualityInspectionReport report = getReportById(id);
+        IncomingQualityInspectionReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != IncomingQualityInspectionReport.ReportStatus.SUBMITTED) {
-            throw new IllegalStateException("Report must be in SUBMITTED status to reject");
-        }
-        
-        report.setStatus(IncomingQualityInspectionReport.ReportStatus.REJECTED);
+        report.setStatus(reportWorkflow.advance(ReportType.INCOMING_QUALITY, report,
+                ReportWorkflow.Transition.REJECT, reviewedBy, null));
         report.setReviewedBy(reviewedBy);
         report.setReviewedAt(LocalDateTime.now());
         report.setComments(comments);
         
-        return reportRepository.save(report);
+        return changed(reportRepository.save(report), previousStatus, ReportChangedEvent.Kind.REJECTED);
     }
 
     @Transactional
@@ -159,12 +219,15 @@ public class IncomingQualityInspectionReportService {
         }
         
         reportRepository.deleteById(id);
+        rollupService.apply(rollupService.contributionOf(report), null);
+        eventPublisher.publishEvent(new ReportChangedEvent(ReportType.INCOMING_QUALITY, id, ReportChangedEvent.Kind.DELETED));
     }
     
-    @Transactional
+    /**
+     * Records the download in the audit log; the report row is not touched
+     */
     public void logPdfDownload(Long id, String userName) {
-        // Implementation can be adjusted based on logging requirements
-        System.out.println("PDF for Incoming Quality Inspection Report ID: " + id + " downloaded by: " + userName);
+        eventPublisher.publishEvent(new ReportDownloadedEvent(ReportType.INCOMING_QUALITY, id, userName, LocalDateTime.now()));
     }
     
     // Additional methods for business logic specific to Incoming Quality Inspection Reports
@@ -177,89 +240,53 @@ public class IncomingQualityInspectionReportService {
     }
     
     /**
-     * Gets reports with critical defects found
-     * This method would need additional repository methods or filtering logic
+     * Gets reports with at least one critical defect, evaluated in the database
      */
     public List<IncomingQualityInspectionReport> getReportsWithCriticalDefects() {
-        // This is a placeholder implementation
-        // In a real implementation, you would query reports where audit results
-        // contain entries with "CRITICAL" category and count > 0
-        return reportRepository.findAll().stream()
-                .filter(this::hasCriticalDefects)
-                .toList();
+        return reportRepository.findByDefectCategory(IncomingQualityInspectionReport.DefectCategory.CRITICAL.name(),
+                0, Long.MAX_VALUE, Integer.MAX_VALUE);
     }
-    
+
     /**
-     * Helper method to check if a report has critical defects
+     * Reports with more than minCount defects of the given audit category, keyset-paginated
+     * newest first.
+     *
+     * @throws IllegalArgumentException if the category is unknown or the cursor is malformed
      */
-    private boolean hasCriticalDefects(IncomingQualityInspectionReport report) {
-        if (report.getAuditResults() == null) {
-            return false;
-        }
-        
-        return report.getAuditResults().stream()
-                .anyMatch(result -> {
-                    String category = (String) result.get("category");
-                    Object countObj = result.get("count");
-                    Integer count = null;
-                    
-                    if (countObj instanceof Integer) {
-                        count = (Integer) countObj;
-                    } else if (countObj instanceof String) {
-                        try {
-                            count = Integer.parseInt((String) countObj);
-                        } catch (NumberFormatException e) {
-                            // Ignore parsing errors
-                        }
-                    }
-                    
-                    return "CRITICAL".equals(category) && count != null && count > 0;
-                });
+    public CursorPage<IncomingQualityInspectionReport> getReportsByDefectCategory(String category, Integer minCount,
+                                                                                 String cursor, Integer size) {
+        String defectCategory = IncomingQualityInspectionReport.DefectCategory.valueOf(category.toUpperCase()).name();
+        int threshold = minCount != null ? minCount : 0;
+        return keysetPaginator.pageById(cursor, size,
+                (beforeId, limit) -> reportRepository.findByDefectCategory(defectCategory, threshold, beforeId, limit),
+                IncomingQualityInspectionReport::getId);
     }
     
     /**
      * Calculates batch acceptance rate for a specific time period
      */
     public double calculateBatchAcceptanceRate(LocalDate startDate, LocalDate endDate) {
-        List<IncomingQualityInspectionReport> reports = reportRepository.findByIqcDateBetween(startDate, endDate);
-        
-        if (reports.isEmpty()) {
-            return 0.0;
-        }
-        
-        long passedReports = reports.stream()
-                .filter(report -> "PASS".equals(report.getQualityDecision()) || 
-                                  "CONDITIONAL_PASS".equals(report.getQualityDecision()))
-                .count();
-        
-        return (double) passedReports / reports.size() * 100.0;
+        return getAcceptanceSummary(startDate, endDate, null, null).acceptanceRate();
     }
-    
-    private String generateDocumentNumber() {
-        String month = LocalDate.now().getMonth().toString(); // e.g., MAY
-        String prefix = "AGI-IQIR-" + month + "-";
-
-        // Fetch all reports for current month to determine the next serial number
-        List<IncomingQualityInspectionReport> reportsThisMonth =
-                reportRepository.findByDocumentNoStartingWith(prefix);
 
-        // Find the max serial number used this month
-        int maxSerial = reportsThisMonth.stream()
-                .map(r -> {
-                    String[] parts = r.getDocumentNo().split("-");
-                    try {
-                        return Integer.parseInt(parts[parts.length - 1]);
-                    } catch (Exception e) {
-                        return 0; // fallback if parsing fails
-                    }
-                })
-                .max(Integer::compare)
-                .orElse(0);
-
-        int nextSerial = maxSerial + 1;
-        String paddedSerial = String.format("%03d", nextSerial); // 001, 002, etc.
+    /**
+     * Outcome counts for a time period, optionally for one supplier and/or product variant,
+     * summed from the daily rollups
+     */
+    public AcceptanceSummary getAcceptanceSummary(LocalDate startDate, LocalDate endDate,
+                                                  String supplier, String productVariant) {
+        return rollupService.summarize(startDate, endDate, supplier, productVariant);
+    }
+    
+    private IncomingQualityInspectionReport changed(IncomingQualityInspectionReport saved, IncomingQualityInspectionReport.ReportStatus previousStatus,
+                                                    ReportChangedEvent.Kind kind) {
+        eventPublisher.publishEvent(ReportChangedEvent.of(ReportType.INCOMING_QUALITY, saved.getId(), kind, saved.getDocumentNo(),
+                previousStatus, saved.getStatus()));
+        return saved;
+    }
 
-        return prefix + paddedSerial;
+    private String generateDocumentNumber() {
+        return documentNumberAllocator.next(ReportType.INCOMING_QUALITY);
     }
 
 }
\ No newline at end of file
@@ -4,19 +4,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
-import com.itextpdf.io.font.constants.StandardFonts;
-import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -33,6 +28,10 @@ import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.layout.properties.VerticalAlignment;
 import com.swajyot.log.model.InspectionForm;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.service.pdf.PdfCache;
+import com.swajyot.log.service.pdf.PdfMetrics;
+import com.swajyot.log.service.pdf.PdfResources;
 
 @Service
 public class InspectionFormPdfService {
@@ -50,18 +49,42 @@ public class InspectionFormPdfService {
     private static final float CONTENT_FONT_SIZE = 9f;
     private static final float SMALL_FONT_SIZE = 8f;
 
+    private final PdfCache pdfCache;
+    private final PdfResources pdfResources;
+    private final PdfMetrics pdfMetrics;
+
+    public InspectionFormPdfService(PdfCache pdfCache, PdfResources pdfResources, PdfMetrics pdfMetrics) {
+        this.pdfCache = pdfCache;
+        this.pdfResources = pdfResources;
+        this.pdfMetrics = pdfMetrics;
+    }
+
     public byte[] generatePdf(InspectionForm form, String username) throws IOException {
+        byte[] body = pdfCache.getOrRender(ReportType.INSPECTION_FORM, form.getId(), form.getVersion(), () -> renderBody(form));
+        return pdfMetrics.stampFooter(ReportType.INSPECTION_FORM, body, username);
+    }
+
+    /** Same as generatePdf without the PdfCache, for bulk exports. */
+    public byte[] generateUncachedPdf(InspectionForm form, String username) throws IOException {
+        byte[] body = pdfCache.renderUncached(() -> renderBody(form));
+        return pdfMetrics.stampFooter(ReportType.INSPECTION_FORM, body, username);
+    }
+
+    private byte[] renderBody(InspectionForm form) throws IOException {
+        PdfMetrics.Stages stages = pdfMetrics.start(ReportType.INSPECTION_FORM);
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         PdfWriter writer = new PdfWriter(baos);
         PdfDocument pdf = new PdfDocument(writer);
         Document document = new Document(pdf, PageSize.A4);
         // Optimized margins for better content fit
         document.setMargins(15, 36, 15, 36); // top, right, bottom, left
-        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-        PdfFont fontBold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        PdfFont font = pdfResources.regularFont();
+        PdfFont fontBold = pdfResources.boldFont();
+        stages.end("setup");
 
         addHeader(document, form, fontBold);
         addHeaderInfo(document, form, font, fontBold);
+        stages.end("header");
         
         // Add appropriate table based on form type
         if (form.getFormType() == InspectionForm.FormType.COATING) {
@@ -71,21 +94,12 @@ public class InspectionFormPdfService {
         }
         
         addCharacteristicsTable(document, form, font, fontBold);
+        stages.end("tables");
         addSignatureSection(document, form, font, fontBold);
+        stages.end("signatures");
         
-        // Add username at bottom of the PDF
-        String generatedTime = java.time.LocalDateTime.now()
-                .format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-
-        Paragraph usernameFooter = new Paragraph("Downloaded by: " + username + " on " + generatedTime)
-                .setFontSize(SMALL_FONT_SIZE)
-                .setTextAlignment(TextAlignment.RIGHT)
-                .setMarginTop(10);
-
-        document.add(usernameFooter);
-
         document.close();
-        return baos.toByteArray();
+        return stages.finish(baos.toByteArray());
     }
 
     private void addHeader(Document document, InspectionForm form, PdfFont fontBold) throws IOException {
@@ -115,27 +129,19 @@ public class InspectionFormPdfService {
         headerTable.addCell(titleCell);
 
         // Column 3: Logo
-        Image logo;
-        try {
-            ClassPathResource resource = new ClassPathResource("static/images/agilogo.png");
-            logo = new Image(ImageDataFactory.create(resource.getInputStream().readAllBytes()));
-        } catch (Exception e) {
-            byte[] placeholder = Base64.getDecoder().decode(
-                    "iVBORw0KGgoAAAANSUhEUgAAAGQAAABkCAIAAAD/gAIDAAAAGXRFWHRTb2Z0d2FyZQBBZG9iZSBJbWFnZVJlYWR5ccllPAAAAyJpVFh0WE1MOmNvbS5hZG9iZS54bXAAAAAAADw/eHBhY2tldCBiZWdpbj0i77u/IiBpZD0iVzVNME1wQ2VoaUh6cmVTek5UY3prYzlkIj8+IDx4OnhtcG1ldGEgeG1sbnM6eD0iYWRvYmU6bnM6bWV0YS8iIHg6eG1wdGs9IkFkb2JlIFhNUCBDb3JlIDUuMy1jMDExIDY2LjE0NTY2MSwgMjAxMi8wMi8wNi0xNDo1NjoyNyAgICAgICAgIj4gPHJkZjpSREYgeG1sbnM6cmRmPSJodHRwOi8vd3d3LnczLm9yZy8xOTk5LzAyLzIyLXJkZi1zeW50YXgtbnMjIj4gPHJkZjpEZXNjcmlwdGlvbiByZGY6YWJvdXQ9IiIgeG1sbnM6eG1wPSJodHRwOi8vbnMuYWRvYmUuY29tL3hhcC8xLjAvIiB4bWxuczp4bXBNTT0iaHR0cDovL25zLmFkb2JlLmNvbS94YXAvMS4wL21tLyIgeG1sbnM6c3RSZWY9Imh0dHA6Ly9ucy5hZG9iZS5jb20veGFwLzEuMC9zVHlwZS9SZXNvdXJjZVJlZiMiIHhtcDpDcmVhdG9yVG9vbD0iQWRvYmUgUGhvdG9zaG9wIENTNiAoV2luZG93cykiIHhtcE1NOkluc3RhbmNlSUQ9InhtcC5paWQ6NTkzRTlDQkUyMEU5MTFFQTk4RkNBRkJDODVCRTZCODMiIHhtcE1NOkRvY3VtZW50SUQ9InhtcC5kaWQ6NTkzRTlDQkYyMEU5MTFFQTk4RkNBRkJDODVCRTZCODMiPiA8eG1wTU06RGVyaXZlZEZyb20gc3RSZWY6aW5zdGFuY2VJRD0ieG1wLmlpZDo1OTNFOUNCQzIwRTkxMUVBOThGQ0FGQkM4NUJFNkI4MyIgc3RSZWY6ZG9jdW1lbnRJRD0ieG1wLmRpZDo1OTNFOUNCRDIwRTkxMUVBOThGQ0FGQkM4NUJFNkI4MyIvPiA8L3JkZjpEZXNjcmlwdGlvbj4gPC9yZGY6UkRGPiA8L3g6eG1wbWV0YT4gPD94cGFja2V0IGVuZD0iciI/PpR4Hs4AAAgISURBVHja7JxrbBRVFMfPnd3Z3S7d0pWWbYEi5VGMWAPxAZgoBsLDGISoRIN8IcaYKJ+MSvxgCD7wQwkJMTHRRGIk8YMJGk0kBIwvSDRCRMFAIgYUaAHb0hf7nN0ZzwxndnZ3Znfb6ba7c+C07cydu3vv/57//5x7Z2dNQggMx8IyTGAYtjBsYdjCsIVhC8MWhi0MWxi2MGxh2MKwhWELw9Yw1m/O/Q8tCyYzRGmNDaFQMDyQSuA4Dviv1BobAMdR39d1xDl3HOq6jmVNcM1fsdpaIgQIQQD5f5ybpYfRUCXTnE6nwHEyU2/JskgTQizLEkIEQRAEQRRFnudr7TEfQUF8JEl0Y5qZCDAGRifBp8rGRgXgNJUa4ZKlGK4Mm2dnWf1Q30VFAZqYikSOKoqqquGwlP8eRcQDaiiKarooBIDU1NQtXBiBJ0pUgJd7dRtlZQVwoQQRCvE8D/C6LsU1Lpu6D3A6nYbfG24QQjRNczgc+eVcVKLJ9wJSoWoaQC5aDYWigXUcL8t6NBp2OADPcznAo7RFIpFYLOZwOEzWa+DLTIJlZCSJPP5YcLYdXVYUzYz5KQfTGhoa7rrrruXLl4dCIT6vB2nLqxcfPnzY4XDMnDmTZxaVp6xlyGxRIqyUWM37UPkMiouyzJZjwc5SAyGkqmogEFixYsXZs2e//vprmyfzgBgIBJLJZHt7O0+ZYEUd/Pju6JBVNZ9FZctR/Lnvn3PZKQRnwTxDsJlM5vHHH+/r6/v6669nzJhhcXIFYrt27XrooYduvvlmi0t46Rlf5aZ7TU1NLpfL5XK5XE6n0+l0u9yiKAqiwPN8JpPq7e21Xu/sHwwN9RA1BKPBT4lrGlJVVVGUTCaTSCQGBgb6+vquX7/e39//2GOP9fb2fvXVV1OnTrUYzOXLl7/88st9+/ZZXMJLr3rNQ6FQU1NTe3t7W1vblClTmpubXS7XwEBU06QTJ46LSqdlcjfbR2CUPXsufXju8kBU5ngfPcUYERFtMElJDdHfTU1Nd9xxx6pVq7xe75YtW1577bXe3t6vvvrK7/fbOhRCyJYtWzZs2DA4ONjS0mIN3lJ8M6yt7e3tXbZs2Z133mm4UT7uTgYG0q9/8HXw/OnQgFf3+yBeIIXfGCf6FI2mqaZpiURiYGCAYqS72Lx58zPPPNPR0XHo0KG5c+dajOaLL75YuHDha6+9Zt2DJcs1TnS5XAsWLJg+fTohJJVKaZrW19d38eJFnuc9Hk9zc7PP5+N5LpWSXn75vS++unH8ZPrqNYUQJxUZzLVYVBcZGJEkSZKkdDqdTCYlSRoaGlIUJZ1O9/T0NDY2iqLY2dnZ1NRk8SDPnj27cePGl156ieOsXUMr9TqkiGR0Op3zrwk6nU6fz+f3+1taWnw+HyFEVbWvvz31ye7rv/xGYrEoz1MwR3wDwJFEMjk0NBSJRPr7+3/77bdLly4dOXLkp59+2r9//+HDh48dO3bhwoXVq1fbOk44HH7xxRfXrVvX0dFRJnhLzUKCINBhNZvNZrPZbDZL3a6RSCSRSPh8Po/HI8syn0yqv1+JZLME+xxYP+RCoUVcEgQhEAjU1dX5/f729vahUEgURa/X29LS4vF4RFGMRCLP/vPi3r1777nnnvr6enunef/99+fNm9fa2lpO9pVWDiw0TUskEocOHfrhhx8OHDhw5syZeDweDodvv/32OXPmdHV1zZ8/f+bMme3t7YIgIISu/9GPEKqwABYuXLh79+6DBw8+8MADtk7T3d39zjvvbNu2rZyA5tDq0UfpvtFRo/0qPVAGYkYs3QIkSQoGgx6PR5ZlVVUDgUBXV1ddXd3DDz+8cOHCu+++e8aMGTSfvnz5w2eeebOvbwivbCgEcIvIQnSZInrHFFWmU4uyVF31OBRDqMbmfz737LPPvvnmm7bwOXfu3IoVK372iy/+Y7J9Q7VuM7bZ5KweFiCErHcZFoYtbGHYGpO/sQ17U1i2MGwNM9vCsDVsYdi6dU+djb3FGSPQmTaEEPiKgZ1xS3WZ3M3TYolWKpXq6ur66aefEokE5y+Hxd66kKqqtbW1W7duraurKzmLLOqWTrx1dHQcP358586dhw4dunbtWiQSoYcZxeUv9s0OwGqz2fZAINCazWZDodCePXs2bdp0/vz5wf8M/q3QEYvF7r///s8++2zNmjXlxbJoQmiOAo7jes8ddXV1dUvCGlP0VFJEl1dXV1dXV1d3e/eePXs2bdp0/vz5wf8M/q3QEYvF7r///s8++2zNmjXlxbJoQmiOAo7jes8ddXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXV1dXU=");
-            logo = new Image(ImageDataFactory.create(placeholder));
-        }
-
-        // Optimized logo size and positioning for better display
-        logo.setWidth(UnitValue.createPercentValue(80));
-        logo.setAutoScale(true);
-        logo.setMargins(20,20,20,20);
-
         Cell logoCell = new Cell()
-                .add(logo)
                 .setBorder(Border.NO_BORDER)
                 .setPadding(5)
                 .setVerticalAlignment(VerticalAlignment.MIDDLE)
                 .setHorizontalAlignment(HorizontalAlignment.CENTER);
+        Image logo = pdfResources.logo();
+        if (logo != null) {
+            // Optimized logo size and positioning for better display
+            logo.setWidth(UnitValue.createPercentValue(80));
+            logo.setAutoScale(true);
+            logo.setMargins(20,20,20,20);
+            logoCell.add(logo);
+        }
 
         headerTable.addCell(logoCell);
         document.add(headerTable);
@@ -679,9 +685,7 @@ public class InspectionFormPdfService {
 
         if (form.getQaSignature() != null && !form.getQaSignature().isEmpty()) {
             try {
-                ClassPathResource resource = new ClassPathResource("static/images/QASign.png");
-                Image qaSignatureImg = new Image(
-                        ImageDataFactory.create(resource.getInputStream().readAllBytes()))
+                Image qaSignatureImg = pdfResources.qaSignature()
                         .scaleToFit(40, 20);
                 qaSignCell.add(qaSignatureImg);
             } catch (Exception e) {
@@ -712,9 +716,7 @@ public class InspectionFormPdfService {
 
         if (form.getOperatorSignature() != null && !form.getOperatorSignature().isEmpty()) {
             try {
-                ClassPathResource resource = new ClassPathResource("static/images/OperatorSign.png");
-                Image opSignatureImg = new Image(
-                        ImageDataFactory.create(resource.getInputStream().readAllBytes()))
+                Image opSignatureImg = pdfResources.operatorSignature()
                         .scaleToFit(40, 20);
                 opSignCell.add(opSignatureImg);
             } catch (Exception e) {
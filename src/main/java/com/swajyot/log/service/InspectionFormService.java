@@ -3,19 +3,25 @@ package com.swajyot.log.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.swajyot.log.model.InspectionForm;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.model.event.ReportDownloadedEvent;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.CursorPage;
 import com.swajyot.log.repository.InspectionFormRepository;
+import com.swajyot.log.repository.ReportSpecifications;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -23,18 +29,29 @@ import java.util.regex.Pattern;
 public class InspectionFormService {
 
     private final InspectionFormRepository inspectionFormRepository;
-
-    // Constants for document number format
-    private static final String DOC_PREFIX = "AGI-APR-";
-    private static final Pattern DOC_NUMBER_PATTERN = Pattern.compile(DOC_PREFIX + "(\\d+)-(\\d+)");
+    private final KeysetPaginator keysetPaginator;
+    private final DocumentNumberAllocator documentNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportPatcher reportPatcher;
+    private final ReportWorkflow reportWorkflow;
 
     public List<InspectionForm> getAllForms() {
         return inspectionFormRepository.findAll();
     }
 
+    /**
+     * Keyset-paginated list with optional status, date range, line, product and submitter filters
+     */
+    public CursorPage<InspectionForm> getFormsPage(ReportFilter filter) {
+        return keysetPaginator.page(inspectionFormRepository,
+                ReportSpecifications.matching(ReportType.INSPECTION_FORM, filter),
+                filter.getSort(), filter.getCursor(), filter.getSize(),
+                InspectionForm::getId, InspectionForm::getSubmittedAt);
+    }
+
     public InspectionForm getFormById(Long id) {
         return inspectionFormRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Inspection Form not found with id: " + id));
+                .orElseThrow(() -> new ReportNotFoundException("Inspection Form not found with id: " + id));
     }
 
     public List<InspectionForm> getFormsByStatus(InspectionForm.FormStatus status) {
@@ -60,50 +77,20 @@ public class InspectionFormService {
         return inspectionFormRepository.findByFormType(formType);
     }
 
+    private InspectionForm changed(InspectionForm saved, InspectionForm.FormStatus previousStatus,
+                                   ReportChangedEvent.Kind kind) {
+        eventPublisher.publishEvent(ReportChangedEvent.of(ReportType.INSPECTION_FORM, saved.getId(), kind, saved.getDocumentNo(),
+                previousStatus, saved.getStatus()));
+        return saved;
+    }
+
     /**
      * Generates a document number in the format AGI-APR-YY-X
      * where YY is the last two digits of the current year
      * and X is a sequential number that increments for each document in the current year
      */
     private String generateDocumentNumber() {
-        // Get current year's last two digits
-        int currentYear = LocalDate.now().getYear();
-        String yearSuffix = String.valueOf(currentYear).substring(2);
-
-        // Find the latest document number for the current year
-        String yearPrefix = DOC_PREFIX + yearSuffix + "-";
-
-        // Find all documents matching the pattern for this year
-        List<InspectionForm> formsThisYear = inspectionFormRepository.findByDocumentNoStartingWith(yearPrefix);
-
-        int maxSequence = 0;
-
-        // Find the highest sequence number
-        for (InspectionForm form : formsThisYear) {
-            Matcher matcher = DOC_NUMBER_PATTERN.matcher(form.getDocumentNo());
-            if (matcher.matches()) {
-                String yearPart = matcher.group(1);
-                String sequencePart = matcher.group(2);
-
-                // Only process if the year matches
-                if (yearPart.equals(yearSuffix)) {
-                    try {
-                        int sequence = Integer.parseInt(sequencePart);
-                        if (sequence > maxSequence) {
-                            maxSequence = sequence;
-                        }
-                    } catch (NumberFormatException e) {
-                        // Skip invalid format
-                    }
-                }
-            }
-        }
-
-        // Increment sequence for new document
-        int newSequence = maxSequence + 1;
-
-        // Format the document number
-        return DOC_PREFIX + yearSuffix + "-" + newSequence;
+        return documentNumberAllocator.next(ReportType.INSPECTION_FORM);
     }
 
     @Transactional
@@ -146,12 +133,18 @@ public class InspectionFormService {
             }
         }
 
-        return inspectionFormRepository.save(form);
+        return changed(inspectionFormRepository.save(form), null, ReportChangedEvent.Kind.CREATED);
     }
 
     @Transactional
     public InspectionForm updateForm(Long id, InspectionForm updatedForm) {
         InspectionForm existingForm = getFormById(id);
+        InspectionForm.FormStatus previousStatus = existingForm.getStatus();
+
+        if (updatedForm.getVersion() != null && !updatedForm.getVersion().equals(existingForm.getVersion())) {
+            throw new OptimisticLockingFailureException("Inspection form " + id + " has changed (version "
+                    + existingForm.getVersion() + ")");
+        }
 
         // Update the existing form fields with the new values
         existingForm.setDocumentNo(updatedForm.getDocumentNo());
@@ -176,9 +169,8 @@ public class InspectionFormService {
         existingForm.setOperatorSignature(updatedForm.getOperatorSignature());
         existingForm.setFinalApprovalTime(updatedForm.getFinalApprovalTime());
         existingForm.setComments(updatedForm.getComments());
-        existingForm.setStatus(updatedForm.getStatus());
-        existingForm.setReviewedAt(updatedForm.getReviewedAt());
-        existingForm.setReviewedBy(updatedForm.getReviewedBy());
+        // Status and the submitted/reviewed fields are left alone: they only change through the
+        // workflow endpoints, which validate the transition and record it
         
         // Update fields specific to the new model
         existingForm.setMcNo(updatedForm.getMcNo());
@@ -204,74 +196,71 @@ public class InspectionFormService {
             existingForm.setCharacteristics(updatedForm.getCharacteristics());
         }
 
-        return inspectionFormRepository.save(existingForm);
+        return changed(inspectionFormRepository.save(existingForm), previousStatus, ReportChangedEvent.Kind.UPDATED);
+    }
+
+    /**
+     * Applies a JSON Merge Patch or JSON Patch; only the changed columns and JSON paths are written.
+     *
+     * @throws IllegalArgumentException if the patch is malformed or targets a missing or protected path
+     */
+    @Transactional
+    public InspectionForm patchForm(Long id, JsonNode patch, ReportPatcher.Format format) {
+        InspectionForm form = getFormById(id);
+        InspectionForm.FormStatus previousStatus = form.getStatus();
+        reportPatcher.apply(ReportType.INSPECTION_FORM, form, id, patch, format);
+        return changed(inspectionFormRepository.saveAndFlush(form), previousStatus, ReportChangedEvent.Kind.UPDATED);
     }
 
     @Transactional
     public InspectionForm submitForm(Long id, String submittedBy) {
         InspectionForm form = getFormById(id);
-        form.setStatus(InspectionForm.FormStatus.SUBMITTED);
+        InspectionForm.FormStatus previousStatus = form.getStatus();
+        form.setStatus(reportWorkflow.advance(ReportType.INSPECTION_FORM, form,
+                ReportWorkflow.Transition.SUBMIT, submittedBy, form.getLineNo()));
         form.setSubmittedBy(submittedBy);
         form.setSubmittedAt(LocalDateTime.now());
-        return inspectionFormRepository.save(form);
+        return changed(inspectionFormRepository.save(form), previousStatus, ReportChangedEvent.Kind.SUBMITTED);
     }
 
     @Transactional
     public InspectionForm approveForm(Long id, String reviewedBy, String comments) {
         InspectionForm form = getFormById(id);
-        form.setStatus(InspectionForm.FormStatus.APPROVED);
+        InspectionForm.FormStatus previousStatus = form.getStatus();
+        form.setStatus(reportWorkflow.advance(ReportType.INSPECTION_FORM, form,
+                ReportWorkflow.Transition.APPROVE, reviewedBy, form.getLineNo()));
         form.setReviewedBy(reviewedBy);
         form.setReviewedAt(LocalDateTime.now());
         form.setComments(comments);
-        return inspectionFormRepository.save(form);
+        return changed(inspectionFormRepository.save(form), previousStatus, ReportChangedEvent.Kind.APPROVED);
     }
 
     @Transactional
     public InspectionForm rejectForm(Long id, String reviewedBy, String comments) {
         InspectionForm form = getFormById(id);
-        form.setStatus(InspectionForm.FormStatus.REJECTED);
+        InspectionForm.FormStatus previousStatus = form.getStatus();
+        form.setStatus(reportWorkflow.advance(ReportType.INSPECTION_FORM, form,
+                ReportWorkflow.Transition.REJECT, reviewedBy, form.getLineNo()));
         form.setReviewedBy(reviewedBy);
         form.setReviewedAt(LocalDateTime.now());
         form.setComments(comments);
-        return inspectionFormRepository.save(form);
+        return changed(inspectionFormRepository.save(form), previousStatus, ReportChangedEvent.Kind.REJECTED);
     }
 
     @Transactional
     public void deleteForm(Long id) {
         inspectionFormRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReportChangedEvent(ReportType.INSPECTION_FORM, id, ReportChangedEvent.Kind.DELETED));
     }
     
     /**
-     * Track PDF download without creating a separate table
-     * Simply logs the download action
+     * Records the download in the audit log; the form row is not touched
      *
      * @param formId ID of the form being downloaded
      * @param userName User who is downloading the form
      */
     public void logPdfDownload(Long formId, String userName) {
-        log.info("PDF downloaded - Form ID: {}, User: {}, Time: {}", 
-                formId, userName, LocalDateTime.now());
-                
-        // Store download information in the form's audit history
-        try {
-            InspectionForm form = getFormById(formId);
-            
-            // Create formatted download record with timestamp
-            LocalDateTime downloadTime = LocalDateTime.now();
-            String formattedTime = downloadTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            String downloadInfo = "PDF downloaded by " + userName + " at " + formattedTime;
-            
-            // Append to existing comments or create new
-            String updatedComments = form.getComments() != null && !form.getComments().isEmpty() ? 
-                form.getComments() + "\n" + downloadInfo : downloadInfo;
-            
-            // Update the form with the download information
-            form.setComments(updatedComments);
-            inspectionFormRepository.save(form);
-            
-            log.debug("Successfully recorded PDF download in form comments");
-        } catch (Exception e) {
-            log.error("Failed to update form with download information: {}", e.getMessage());
-        }
+        eventPublisher.publishEvent(new ReportDownloadedEvent(ReportType.INSPECTION_FORM, formId, userName,
+                LocalDateTime.now()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.swajyot.log.service;
+
+/**
+ * Thrown when a workflow action is not allowed from the report's current status,
+ * e.g. approving a draft.
+ */
+public class InvalidTransitionException extends IllegalStateException {
+
+    public InvalidTransitionException(String message) {
+        super(message);
+    }
+}
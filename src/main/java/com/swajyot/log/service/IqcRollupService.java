@@ -0,0 +1,113 @@
+package com.swajyot.log.service;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.swajyot.log.model.IncomingQualityInspectionReport;
+import com.swajyot.log.model.res.AcceptanceSummary;
+import com.swajyot.log.repository.IncomingQualityInspectionReportRepository;
+import com.swajyot.log.repository.IqcDailyRollupRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the IQC daily rollups. Writers snapshot a report's contribution before they
+ * change it and pass both snapshots to {@link #apply}, which moves one count between
+ * rollup rows in the writer's own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IqcRollupService {
+
+    private final IqcDailyRollupRepository rollupRepository;
+    private final IncomingQualityInspectionReportRepository reportRepository;
+
+    /**
+     * The rollup bucket a report is counted in, or null if it has no IQC date.
+     */
+    public Contribution contributionOf(IncomingQualityInspectionReport report) {
+        if (report == null || report.getIqcDate() == null) {
+            return null;
+        }
+        return new Contribution(report.getIqcDate(),
+                Objects.requireNonNullElse(report.getProductReceivedFrom(), ""),
+                Objects.requireNonNullElse(report.getProductVariantName(), ""),
+                Outcome.of(report.getQualityDecision()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            add(before, -1);
+        }
+        if (after != null) {
+            add(after, 1);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public AcceptanceSummary summarize(LocalDate startDate, LocalDate endDate, String supplier, String productVariant) {
+        return rollupRepository.summarize(startDate, endDate, supplier, productVariant);
+    }
+
+    /**
+     * Rebuilds all rollups from the reports. Concurrent report writes wait for the rebuild.
+     */
+    @Transactional
+    public int rebuild() {
+        rollupRepository.lockForRebuild();
+        rollupRepository.deleteAllRows();
+        int rows = rollupRepository.insertFromReports();
+        log.info("Rebuilt {} IQC rollup rows", rows);
+        return rows;
+    }
+
+    /**
+     * Backfills the rollups on the first start after they were introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0 && reportRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    private void add(Contribution c, int sign) {
+        rollupRepository.applyDelta(c.date(), c.supplier(), c.productVariant(),
+                c.outcome() == Outcome.ACCEPTED ? sign : 0,
+                c.outcome() == Outcome.CONDITIONAL ? sign : 0,
+                c.outcome() == Outcome.FAILED ? sign : 0,
+                c.outcome() == Outcome.UNDECIDED ? sign : 0);
+    }
+
+    public record Contribution(LocalDate date, String supplier, String productVariant, Outcome outcome) {
+    }
+
+    public enum Outcome {
+        ACCEPTED, CONDITIONAL, FAILED, UNDECIDED;
+
+        static Outcome of(String qualityDecision) {
+            if (qualityDecision == null) {
+                return UNDECIDED;
+            }
+            return switch (qualityDecision) {
+                case "PASS" -> ACCEPTED;
+                case "CONDITIONAL_PASS" -> CONDITIONAL;
+                case "FAIL" -> FAILED;
+                default -> UNDECIDED;
+            };
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.swajyot.log.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import com.swajyot.log.model.req.ReportFilter.SortKey;
+import com.swajyot.log.model.res.CursorPage;
+
+/**
+ * Keyset (cursor) pagination over any repository that supports specifications.
+ *
+ * Pages are ordered newest first, either by id or by submittedAt with id as tie-breaker.
+ * The cursor encodes the sort key of the last row returned, so the next page is a
+ * plain index range scan instead of an OFFSET, and stays stable while rows are inserted.
+ */
+@Component
+public class KeysetPaginator {
+
+    private static final String SEPARATOR = "|";
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public KeysetPaginator(@Value("${app.pagination.default-size:50}") int defaultSize,
+                           @Value("${app.pagination.max-size:200}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Fetches the page after the given cursor, ordered by id.
+     */
+    public <T> CursorPage<T> page(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                  String cursor, Integer size, Function<T, Long> idOf) {
+        return page(repository, filter, SortKey.ID, cursor, size, idOf, null);
+    }
+
+    /**
+     * Fetches the page after the given cursor. SUBMITTED_AT ordering only covers rows
+     * that have been submitted at least once.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    public <T> CursorPage<T> page(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                  SortKey sortKey, String cursor, Integer size,
+                                  Function<T, Long> idOf, Function<T, LocalDateTime> submittedAtOf) {
+        return page(filter, sortKey, cursor, size,
+                (spec, order, limit) -> repository.findBy(spec, q -> q.sortBy(order).limit(limit).all()),
+                idOf, submittedAtOf);
+    }
+
+    /**
+     * Variant for queries that select something other than the entity itself, such as
+     * projections. The fetcher receives the combined filter and cursor specification.
+     */
+    public <T, R> CursorPage<R> page(Specification<T> filter, SortKey sortKey, String cursor, Integer size,
+                                     RowFetcher<T, R> fetcher,
+                                     Function<R, Long> idOf, Function<R, LocalDateTime> submittedAtOf) {
+        SortKey sort = sortKey != null ? sortKey : SortKey.ID;
+        if (sort == SortKey.SUBMITTED_AT && submittedAtOf == null) {
+            throw new IllegalArgumentException("Sorting by submittedAt is not supported here");
+        }
+        int pageSize = clampSize(size);
+
+        Specification<T> spec = filter.and(after(sort, cursor));
+        Sort order = sort == SortKey.SUBMITTED_AT
+                ? Sort.by(Sort.Order.desc("submittedAt"), Sort.Order.desc("id"))
+                : Sort.by(Sort.Order.desc("id"));
+
+        // Fetch one extra row to find out whether another page exists
+        List<R> rows = fetcher.fetch(spec, order, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            R last = rows.get(pageSize - 1);
+            nextCursor = encode(sort, idOf.apply(last),
+                    sort == SortKey.SUBMITTED_AT ? submittedAtOf.apply(last) : null);
+        }
+        return new CursorPage<>(rows, rows.size(), nextCursor);
+    }
+
+    /**
+     * Variant for hand-written (e.g. native) queries ordered by id descending. The fetcher
+     * receives the exclusive upper id bound, Long.MAX_VALUE for the first page.
+     */
+    public <R> CursorPage<R> pageById(String cursor, Integer size, IdRangeFetcher<R> fetcher,
+                                      Function<R, Long> idOf) {
+        int pageSize = clampSize(size);
+        long beforeId = cursor == null || cursor.isBlank()
+                ? Long.MAX_VALUE
+                : Long.parseLong(decode(SortKey.ID, cursor)[1]);
+
+        List<R> rows = fetcher.fetch(beforeId, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = encode(SortKey.ID, idOf.apply(rows.get(pageSize - 1)), null);
+        }
+        return new CursorPage<>(rows, rows.size(), nextCursor);
+    }
+
+    public int clampSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultSize;
+        }
+        return Math.min(size, maxSize);
+    }
+
+    private <T> Specification<T> after(SortKey sort, String cursor) {
+        if (sort == SortKey.SUBMITTED_AT) {
+            if (cursor == null || cursor.isBlank()) {
+                return (root, query, cb) -> cb.isNotNull(root.get("submittedAt"));
+            }
+            String[] parts = decode(sort, cursor);
+            LocalDateTime submittedAt;
+            try {
+                submittedAt = LocalDateTime.parse(parts[1]);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            Long id = Long.valueOf(parts[2]);
+            return (root, query, cb) -> cb.or(
+                    cb.lessThan(root.get("submittedAt"), submittedAt),
+                    cb.and(cb.equal(root.get("submittedAt"), submittedAt), cb.lessThan(root.get("id"), id)));
+        }
+
+        if (cursor == null || cursor.isBlank()) {
+            return Specification.where(null);
+        }
+        Long id = Long.valueOf(decode(sort, cursor)[1]);
+        return (root, query, cb) -> cb.lessThan(root.get("id"), id);
+    }
+
+    private static String encode(SortKey sort, Long id, LocalDateTime submittedAt) {
+        String raw = sort == SortKey.SUBMITTED_AT
+                ? sort.name() + SEPARATOR + submittedAt + SEPARATOR + id
+                : sort.name() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(SortKey sort, String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        String[] parts = raw.split("\\" + SEPARATOR);
+        int expected = sort == SortKey.SUBMITTED_AT ? 3 : 2;
+        if (parts.length != expected || !parts[0].equals(sort.name())) {
+            throw new IllegalArgumentException("Cursor does not match sort " + sort);
+        }
+        return parts;
+    }
+
+    @FunctionalInterface
+    public interface RowFetcher<T, R> {
+        List<R> fetch(Specification<T> spec, Sort order, int limit);
+    }
+
+    @FunctionalInterface
+    public interface IdRangeFetcher<R> {
+        List<R> fetch(long beforeId, int limit);
+    }
+}
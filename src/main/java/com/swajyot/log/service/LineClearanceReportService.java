@@ -1,8 +1,16 @@
 package com.swajyot.log.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.swajyot.log.model.LineClearanceReport;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.model.event.ReportDownloadedEvent;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.CursorPage;
 import com.swajyot.log.repository.LineClearanceReportRepository;
+import com.swajyot.log.repository.ReportSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,19 +22,42 @@ import java.util.List;
 public class LineClearanceReportService {
 
     private final LineClearanceReportRepository lineClearanceReportRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final DocumentNumberAllocator documentNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportPatcher reportPatcher;
+    private final ReportWorkflow reportWorkflow;
 
     @Autowired
-    public LineClearanceReportService(LineClearanceReportRepository lineClearanceReportRepository) {
+    public LineClearanceReportService(LineClearanceReportRepository lineClearanceReportRepository,
+            KeysetPaginator keysetPaginator, DocumentNumberAllocator documentNumberAllocator,
+            ApplicationEventPublisher eventPublisher, ReportPatcher reportPatcher,
+            ReportWorkflow reportWorkflow) {
         this.lineClearanceReportRepository = lineClearanceReportRepository;
+        this.keysetPaginator = keysetPaginator;
+        this.documentNumberAllocator = documentNumberAllocator;
+        this.eventPublisher = eventPublisher;
+        this.reportPatcher = reportPatcher;
+        this.reportWorkflow = reportWorkflow;
     }
 
     public List<LineClearanceReport> getAllReports() {
         return lineClearanceReportRepository.findAll();
     }
 
+    /**
+     * Keyset-paginated list with optional status, date range, line, product and submitter filters
+     */
+    public CursorPage<LineClearanceReport> getReportsPage(ReportFilter filter) {
+        return keysetPaginator.page(lineClearanceReportRepository,
+                ReportSpecifications.matching(ReportType.LINE_CLEARANCE, filter),
+                filter.getSort(), filter.getCursor(), filter.getSize(),
+                LineClearanceReport::getId, LineClearanceReport::getSubmittedAt);
+    }
+
     public LineClearanceReport getReportById(Long id) {
         return lineClearanceReportRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Line Clearance Report not found with id: " + id));
+                .orElseThrow(() -> new ReportNotFoundException("Line Clearance Report not found with id: " + id));
     }
 
     public List<LineClearanceReport> getReportsByStatus(LineClearanceReport.ReportStatus status) {
@@ -68,7 +99,7 @@ public class LineClearanceReportService {
             report.setDocumentNo(generateDocumentNumber());
         }
 
-        return lineClearanceReportRepository.save(report);
+        return changed(lineClearanceReportRepository.save(report), null, ReportChangedEvent.Kind.CREATED);
     }
 
 //    @Transactional
@@ -89,50 +120,59 @@ public class LineClearanceReportService {
     @Transactional
     public LineClearanceReport updateReport(Long id, LineClearanceReport updatedReport) {
         LineClearanceReport existingReport = getReportById(id);
+        LineClearanceReport.ReportStatus previousStatus = existingReport.getStatus();
         
         // Remove the status check to allow updates regardless of status
         // Preserve the ID
         updatedReport.setId(id);
-        
-        // Preserve audit trail information if it exists in the original report
-        if (existingReport.getSubmittedBy() != null) {
-            updatedReport.setSubmittedBy(existingReport.getSubmittedBy());
-            updatedReport.setSubmittedAt(existingReport.getSubmittedAt());
-        }
-        
-        if (existingReport.getReviewedBy() != null) {
-            updatedReport.setReviewedBy(existingReport.getReviewedBy());
-            updatedReport.setReviewedAt(existingReport.getReviewedAt());
+        // A client that sent no version gets last-writer-wins; a stale version fails the merge
+        if (updatedReport.getVersion() == null) {
+            updatedReport.setVersion(existingReport.getVersion());
         }
+        // Status and the submitted/reviewed fields only change through the workflow endpoints,
+        // which validate the transition and record it in workflow_transitions
+        updatedReport.setStatus(existingReport.getStatus());
+        updatedReport.setSubmittedBy(existingReport.getSubmittedBy());
+        updatedReport.setSubmittedAt(existingReport.getSubmittedAt());
+        updatedReport.setReviewedBy(existingReport.getReviewedBy());
+        updatedReport.setReviewedAt(existingReport.getReviewedAt());
         
-        return lineClearanceReportRepository.save(updatedReport);
+        return changed(lineClearanceReportRepository.save(updatedReport), previousStatus, ReportChangedEvent.Kind.UPDATED);
+    }
+
+    /**
+     * Applies a JSON Merge Patch or JSON Patch; only the changed columns and JSON paths are written.
+     *
+     * @throws IllegalArgumentException if the patch is malformed or targets a missing or protected path
+     */
+    @Transactional
+    public LineClearanceReport patchReport(Long id, JsonNode patch, ReportPatcher.Format format) {
+        LineClearanceReport report = getReportById(id);
+        LineClearanceReport.ReportStatus previousStatus = report.getStatus();
+        reportPatcher.apply(ReportType.LINE_CLEARANCE, report, id, patch, format);
+        return changed(lineClearanceReportRepository.saveAndFlush(report), previousStatus, ReportChangedEvent.Kind.UPDATED);
     }
 
     @Transactional
     public LineClearanceReport submitReport(Long id, String submittedBy) {
         LineClearanceReport report = getReportById(id);
+        LineClearanceReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != LineClearanceReport.ReportStatus.DRAFT 
-                && report.getStatus() != LineClearanceReport.ReportStatus.REJECTED) {
-            throw new IllegalStateException("Report is already submitted or approved");
-        }
-        
-        report.setStatus(LineClearanceReport.ReportStatus.SUBMITTED);
+        report.setStatus(reportWorkflow.advance(ReportType.LINE_CLEARANCE, report,
+                ReportWorkflow.Transition.SUBMIT, submittedBy, report.getLine()));
         report.setSubmittedBy(submittedBy);
         report.setSubmittedAt(LocalDateTime.now());
         
-        return lineClearanceReportRepository.save(report);
+        return changed(lineClearanceReportRepository.save(report), previousStatus, ReportChangedEvent.Kind.SUBMITTED);
     }
 
     @Transactional
     public LineClearanceReport approveReport(Long id, String reviewedBy, String comments) {
         LineClearanceReport report = getReportById(id);
+        LineClearanceReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != LineClearanceReport.ReportStatus.SUBMITTED) {
-            throw new IllegalStateException("Report must be in SUBMITTED status to approve");
-        }
-        
-        report.setStatus(LineClearanceReport.ReportStatus.APPROVED);
+        report.setStatus(reportWorkflow.advance(ReportType.LINE_CLEARANCE, report,
+                ReportWorkflow.Transition.APPROVE, reviewedBy, report.getLine()));
         report.setReviewedBy(reviewedBy);
         report.setReviewedAt(LocalDateTime.now());
         
@@ -140,23 +180,21 @@ public class LineClearanceReportService {
             report.setComments(comments);
         }
         
-        return lineClearanceReportRepository.save(report);
+        return changed(lineClearanceReportRepository.save(report), previousStatus, ReportChangedEvent.Kind.APPROVED);
     }
 
     @Transactional
     public LineClearanceReport rejectReport(Long id, String reviewedBy, String comments) {
         LineClearanceReport report = getReportById(id);
+        LineClearanceReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != LineClearanceReport.ReportStatus.SUBMITTED) {
-            throw new IllegalStateException("Report must be in SUBMITTED status to reject");
-        }
-        
-        report.setStatus(LineClearanceReport.ReportStatus.REJECTED);
+        report.setStatus(reportWorkflow.advance(ReportType.LINE_CLEARANCE, report,
+                ReportWorkflow.Transition.REJECT, reviewedBy, report.getLine()));
         report.setReviewedBy(reviewedBy);
         report.setReviewedAt(LocalDateTime.now());
         report.setComments(comments);
         
-        return lineClearanceReportRepository.save(report);
+        return changed(lineClearanceReportRepository.save(report), previousStatus, ReportChangedEvent.Kind.REJECTED);
     }
 
     @Transactional
@@ -170,14 +208,14 @@ public class LineClearanceReportService {
         }
         
         lineClearanceReportRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReportChangedEvent(ReportType.LINE_CLEARANCE, id, ReportChangedEvent.Kind.DELETED));
     }
     
-    @Transactional
+    /**
+     * Records the download in the audit log; the report row is not touched
+     */
     public void logPdfDownload(Long id, String userName) {
-        // Implement logging logic here if needed
-        // This could write to a separate audit log table
-        // For now, we'll just log to console
-        System.out.println("PDF for Line Clearance Report ID: " + id + " downloaded by: " + userName);
+        eventPublisher.publishEvent(new ReportDownloadedEvent(ReportType.LINE_CLEARANCE, id, userName, LocalDateTime.now()));
     }
     
     /**     * Generates a unique document number in the format AGI-MS-<Month>-LCR-<id>
@@ -196,30 +234,14 @@ public class LineClearanceReportService {
 //        return prefix + nextId;
 //    }
     
+    private LineClearanceReport changed(LineClearanceReport saved, LineClearanceReport.ReportStatus previousStatus,
+                                        ReportChangedEvent.Kind kind) {
+        eventPublisher.publishEvent(ReportChangedEvent.of(ReportType.LINE_CLEARANCE, saved.getId(), kind, saved.getDocumentNo(),
+                previousStatus, saved.getStatus()));
+        return saved;
+    }
+
     private String generateDocumentNumber() {
-        String month = LocalDate.now().getMonth().toString(); // e.g., MAY
-        String prefix = "AGI-LCR-" + month + "-";
-
-        // Fetch all reports for current month to determine the next serial number
-        List<LineClearanceReport> reportsThisMonth =
-        		lineClearanceReportRepository.findByDocumentNoStartingWith(prefix);
-
-        // Find the max serial number used this month
-        int maxSerial = reportsThisMonth.stream()
-                .map(r -> {
-                    String[] parts = r.getDocumentNo().split("-");
-                    try {
-                        return Integer.parseInt(parts[parts.length - 1]);
-                    } catch (Exception e) {
-                        return 0; // fallback if parsing fails
-                    }
-                })
-                .max(Integer::compare)
-                .orElse(0);
-
-        int nextSerial = maxSerial + 1;
-        String paddedSerial = String.format("%03d", nextSerial); // 001, 002, etc.
-
-        return prefix + paddedSerial;
+        return documentNumberAllocator.next(ReportType.LINE_CLEARANCE);
     }
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.swajyot.log.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.ReportSummary;
+import com.swajyot.log.repository.ReportSpecifications;
+import com.swajyot.log.repository.ReportSummaryRepository;
+import com.swajyot.log.service.pdf.PdfRenderBusyException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams the PDFs of all reports matching a filter as one ZIP.
+ *
+ * Matching reports are read in id-ordered batches, rendered on a bounded pool and written
+ * to the ZIP in completion order. At most {@code window} PDFs are held in memory at once,
+ * however many reports match.
+ */
+@Service
+@Slf4j
+public class PdfZipExportService {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final ReportSummaryRepository reportSummaryRepository;
+    private final ReportPdfRenderer reportPdfRenderer;
+    private final ExecutorService renderPool;
+    private final int window;
+
+    public PdfZipExportService(ReportSummaryRepository reportSummaryRepository,
+                               ReportPdfRenderer reportPdfRenderer,
+                               @Value("${app.export.render-threads:0}") int renderThreads) {
+        this.reportSummaryRepository = reportSummaryRepository;
+        this.reportPdfRenderer = reportPdfRenderer;
+        int threads = renderThreads > 0 ? renderThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.renderPool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "pdf-export-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.window = threads * 2;
+    }
+
+    /**
+     * Prepares a ZIP export. The filter is validated here, so a bad filter fails before
+     * the response is committed.
+     *
+     * @throws IllegalArgumentException if the filter is invalid for one of the types
+     */
+    public StreamingResponseBody zipExport(List<ReportType> types, ReportFilter filter, String username) {
+        if (types.isEmpty()) {
+            throw new IllegalArgumentException("At least one report type is required");
+        }
+        Map<ReportType, Specification<Object>> specs = new LinkedHashMap<>();
+        for (ReportType type : types) {
+            specs.put(type, ReportSpecifications.matching(type, filter));
+        }
+        String footerName = username != null ? username : "";
+        return out -> writeZip(specs, footerName, out);
+    }
+
+    private void writeZip(Map<ReportType, Specification<Object>> specs, String username, OutputStream out)
+            throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        CompletionService<Rendered> completion = new ExecutorCompletionService<>(renderPool);
+        Set<Future<Rendered>> inFlight = new HashSet<>();
+        List<String> failures = new ArrayList<>();
+        int written = 0;
+
+        try {
+            for (Map.Entry<ReportType, Specification<Object>> entry : specs.entrySet()) {
+                ReportType type = entry.getKey();
+                Long lastId = null;
+                List<ReportSummary> batch;
+                do {
+                    batch = nextBatch(type, entry.getValue(), lastId);
+                    for (ReportSummary summary : batch) {
+                        // Keep the number of rendered-but-unwritten PDFs bounded
+                        if (inFlight.size() >= window) {
+                            written += writeNext(zip, completion, inFlight, failures);
+                        }
+                        inFlight.add(completion.submit(() -> render(summary, username)));
+                        lastId = summary.id();
+                    }
+                } while (batch.size() == BATCH_SIZE);
+            }
+            while (!inFlight.isEmpty()) {
+                written += writeNext(zip, completion, inFlight, failures);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Typically the client went away; the pending renders would only be thrown away
+            inFlight.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        if (!failures.isEmpty()) {
+            writeStored(zip, "export-errors.txt", String.join("\n", failures).getBytes(StandardCharsets.UTF_8));
+        }
+        zip.finish();
+        zip.flush();
+        log.info("PDF ZIP export finished: {} written, {} failed", written, failures.size());
+    }
+
+    private List<ReportSummary> nextBatch(ReportType type, Specification<Object> filter, Long lastId) {
+        Specification<Object> spec = lastId == null ? filter
+                : filter.and((root, query, cb) -> cb.lessThan(root.get("id"), lastId));
+        return reportSummaryRepository.findSummaries(type, spec, Sort.by(Sort.Order.desc("id")), BATCH_SIZE);
+    }
+
+    private int writeNext(ZipOutputStream zip, CompletionService<Rendered> completion,
+                          Set<Future<Rendered>> inFlight, List<String> failures) throws IOException {
+        Future<Rendered> future;
+        try {
+            future = completion.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        }
+        inFlight.remove(future);
+        try {
+            Rendered rendered = future.get();
+            if (rendered.error() != null) {
+                failures.add(describeFailure(rendered.summary(), rendered.error()));
+                return 0;
+            }
+            writeStored(zip, entryName(rendered.summary()), rendered.pdf());
+            return 1;
+        } catch (ExecutionException e) {
+            // render() catches exceptions, so only errors end up here
+            failures.add(e.getCause().getClass().getName() + ": " + e.getCause().getMessage());
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        }
+    }
+
+    /**
+     * Renders one report, keeping a failure with its summary so the error file can say
+     * which report it was. A render that times out waiting for the PdfRenderLane is queued
+     * again: interactive downloads may hold the permits for a while, and an export has no
+     * client waiting on a single document, so it must not come out incomplete.
+     */
+    private Rendered render(ReportSummary summary, String username) {
+        while (true) {
+            try {
+                return new Rendered(summary,
+                        reportPdfRenderer.renderUncached(summary.reportType(), summary.id(), username), null);
+            } catch (PdfRenderBusyException e) {
+                log.debug("Render lane busy, {} {} queued again", summary.reportType(), summary.id());
+            } catch (Exception e) {
+                log.warn("PDF export failed for {} {}", summary.reportType(), summary.id(), e);
+                return new Rendered(summary, null, e);
+            }
+        }
+    }
+
+    private static String describeFailure(ReportSummary summary, Exception error) {
+        return summary.reportType() + " " + summary.id() + " " + summary.documentNo() + ": "
+                + error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+
+    /**
+     * PDFs are already compressed, so entries are stored rather than deflated again.
+     */
+    private static void writeStored(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCompressedSize(content.length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static String entryName(ReportSummary summary) {
+        String folder = summary.reportType().name().toLowerCase();
+        String documentNo = summary.documentNo() != null
+                ? summary.documentNo().replaceAll("[^A-Za-z0-9._-]", "_") + "_"
+                : "";
+        return folder + "/" + documentNo + summary.id() + ".pdf";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    private record Rendered(ReportSummary summary, byte[] pdf, Exception error) {
+    }
+}
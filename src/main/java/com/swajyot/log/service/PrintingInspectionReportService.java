@@ -1,8 +1,16 @@
 package com.swajyot.log.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.swajyot.log.model.PrintingInspectionReport;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.model.event.ReportDownloadedEvent;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.CursorPage;
 import com.swajyot.log.repository.PrintingInspectionReportRepository;
+import com.swajyot.log.repository.ReportSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
@@ -13,19 +21,42 @@ import java.util.UUID;
 public class PrintingInspectionReportService {
 
     private final PrintingInspectionReportRepository printingInspectionReportRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final DocumentNumberAllocator documentNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportPatcher reportPatcher;
+    private final ReportWorkflow reportWorkflow;
 
     @Autowired
-    public PrintingInspectionReportService(PrintingInspectionReportRepository printingInspectionReportRepository) {
+    public PrintingInspectionReportService(PrintingInspectionReportRepository printingInspectionReportRepository,
+            KeysetPaginator keysetPaginator, DocumentNumberAllocator documentNumberAllocator,
+            ApplicationEventPublisher eventPublisher, ReportPatcher reportPatcher,
+            ReportWorkflow reportWorkflow) {
         this.printingInspectionReportRepository = printingInspectionReportRepository;
+        this.keysetPaginator = keysetPaginator;
+        this.documentNumberAllocator = documentNumberAllocator;
+        this.eventPublisher = eventPublisher;
+        this.reportPatcher = reportPatcher;
+        this.reportWorkflow = reportWorkflow;
     }
 
     public List<PrintingInspectionReport> getAllReports() {
         return printingInspectionReportRepository.findAll();
     }
 
+    /**
+     * Keyset-paginated list with optional status, date range, line, product and submitter filters
+     */
+    public CursorPage<PrintingInspectionReport> getReportsPage(ReportFilter filter) {
+        return keysetPaginator.page(printingInspectionReportRepository,
+                ReportSpecifications.matching(ReportType.PRINTING, filter),
+                filter.getSort(), filter.getCursor(), filter.getSize(),
+                PrintingInspectionReport::getId, PrintingInspectionReport::getSubmittedAt);
+    }
+
     public PrintingInspectionReport getReportById(Long id) {
         return printingInspectionReportRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Printing Inspection Report not found with id: " + id));
+                .orElseThrow(() -> new ReportNotFoundException("Printing Inspection Report not found with id: " + id));
     }
 
     public List<PrintingInspectionReport> getReportsByStatus(PrintingInspectionReport.ReportStatus status) {
@@ -72,7 +103,7 @@ public class PrintingInspectionReportService {
             report.setDocumentNo(generateDocumentNumber());
         }
 
-        return printingInspectionReportRepository.save(report);
+        return changed(printingInspectionReportRepository.save(report), null, ReportChangedEvent.Kind.CREATED);
     }
 
 
@@ -80,39 +111,59 @@ public class PrintingInspectionReportService {
     public PrintingInspectionReport updateReport(Long id, PrintingInspectionReport updatedReport) {
         // Fetch the existing report to ensure it exists
         PrintingInspectionReport existingReport = getReportById(id);
+        PrintingInspectionReport.ReportStatus previousStatus = existingReport.getStatus();
 
         // Optionally: preserve any fields that should not be overwritten
         updatedReport.setId(id); // ensure correct ID is used
-
-        return printingInspectionReportRepository.save(updatedReport);
+        // A client that sent no version gets last-writer-wins; a stale version fails the merge
+        if (updatedReport.getVersion() == null) {
+            updatedReport.setVersion(existingReport.getVersion());
+        }
+        // Status and the submitted/reviewed fields only change through the workflow endpoints,
+        // which validate the transition and record it in workflow_transitions
+        updatedReport.setStatus(existingReport.getStatus());
+        updatedReport.setSubmittedBy(existingReport.getSubmittedBy());
+        updatedReport.setSubmittedAt(existingReport.getSubmittedAt());
+        updatedReport.setReviewedBy(existingReport.getReviewedBy());
+        updatedReport.setReviewedAt(existingReport.getReviewedAt());
+
+        return changed(printingInspectionReportRepository.save(updatedReport), previousStatus, ReportChangedEvent.Kind.UPDATED);
+    }
+
+    /**
+     * Applies a JSON Merge Patch or JSON Patch; only the changed columns and JSON paths are written.
+     *
+     * @throws IllegalArgumentException if the patch is malformed or targets a missing or protected path
+     */
+    @Transactional
+    public PrintingInspectionReport patchReport(Long id, JsonNode patch, ReportPatcher.Format format) {
+        PrintingInspectionReport report = getReportById(id);
+        PrintingInspectionReport.ReportStatus previousStatus = report.getStatus();
+        reportPatcher.apply(ReportType.PRINTING, report, id, patch, format);
+        return changed(printingInspectionReportRepository.saveAndFlush(report), previousStatus, ReportChangedEvent.Kind.UPDATED);
     }
 
 
     @Transactional
     public PrintingInspectionReport submitReport(Long id, String submittedBy) {
         PrintingInspectionReport report = getReportById(id);
+        PrintingInspectionReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != PrintingInspectionReport.ReportStatus.DRAFT 
-                && report.getStatus() != PrintingInspectionReport.ReportStatus.REJECTED) {
-            throw new IllegalStateException("Report is already submitted or approved");
-        }
-        
-        report.setStatus(PrintingInspectionReport.ReportStatus.SUBMITTED);
+        report.setStatus(reportWorkflow.advance(ReportType.PRINTING, report,
+                ReportWorkflow.Transition.SUBMIT, submittedBy, report.getLineNo()));
         report.setSubmittedBy(submittedBy);
         report.setSubmittedAt(LocalDateTime.now());
         
-        return printingInspectionReportRepository.save(report);
+        return changed(printingInspectionReportRepository.save(report), previousStatus, ReportChangedEvent.Kind.SUBMITTED);
     }
 
     @Transactional
     public PrintingInspectionReport approveReport(Long id, String reviewedBy, String comments) {
         PrintingInspectionReport report = getReportById(id);
+        PrintingInspectionReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != PrintingInspectionReport.ReportStatus.SUBMITTED) {
-            throw new IllegalStateException("Report must be in SUBMITTED status to approve");
-        }
-        
-        report.setStatus(PrintingInspectionReport.ReportStatus.APPROVED);
+        report.setStatus(reportWorkflow.advance(ReportType.PRINTING, report,
+                ReportWorkflow.Transition.APPROVE, reviewedBy, report.getLineNo()));
         report.setReviewedBy(reviewedBy);
         report.setReviewedAt(LocalDateTime.now());
         
@@ -120,23 +171,21 @@ public class PrintingInspectionReportService {
             report.setComments(comments);
         }
         
-        return printingInspectionReportRepository.save(report);
+        return changed(printingInspectionReportRepository.save(report), previousStatus, ReportChangedEvent.Kind.APPROVED);
     }
 
     @Transactional
     public PrintingInspectionReport rejectReport(Long id, String reviewedBy, String comments) {
         PrintingInspectionReport report = getReportById(id);
+        PrintingInspectionReport.ReportStatus previousStatus = report.getStatus();
         
-        if (report.getStatus() != PrintingInspectionReport.ReportStatus.SUBMITTED) {
-            throw new IllegalStateException("Report must be in SUBMITTED status to reject");
-        }
-        
-        report.setStatus(PrintingInspectionReport.ReportStatus.REJECTED);
+        report.setStatus(reportWorkflow.advance(ReportType.PRINTING, report,
+                ReportWorkflow.Transition.REJECT, reviewedBy, report.getLineNo()));
         report.setReviewedBy(reviewedBy);
         report.setReviewedAt(LocalDateTime.now());
         report.setComments(comments);
         
-        return printingInspectionReportRepository.save(report);
+        return changed(printingInspectionReportRepository.save(report), previousStatus, ReportChangedEvent.Kind.REJECTED);
     }
 
     @Transactional
@@ -150,38 +199,24 @@ public class PrintingInspectionReportService {
         }
         
         printingInspectionReportRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReportChangedEvent(ReportType.PRINTING, id, ReportChangedEvent.Kind.DELETED));
     }
     
-    @Transactional
+    /**
+     * Records the download in the audit log; the report row is not touched
+     */
     public void logPdfDownload(Long id, String userName) {
-        // Implement logging logic here if needed
-        System.out.println("PDF for Printing Inspection Report ID: " + id + " downloaded by: " + userName);
+        eventPublisher.publishEvent(new ReportDownloadedEvent(ReportType.PRINTING, id, userName, LocalDateTime.now()));
     }
     
+    private PrintingInspectionReport changed(PrintingInspectionReport saved, PrintingInspectionReport.ReportStatus previousStatus,
+                                             ReportChangedEvent.Kind kind) {
+        eventPublisher.publishEvent(ReportChangedEvent.of(ReportType.PRINTING, saved.getId(), kind, saved.getDocumentNo(),
+                previousStatus, saved.getStatus()));
+        return saved;
+    }
+
     private String generateDocumentNumber() {
-        String month = LocalDate.now().getMonth().toString(); // e.g., MAY
-        String prefix = "AGI-FAIRP-" + month + "-";
-
-        // Fetch all reports for current month to determine the next serial number
-        List<PrintingInspectionReport> reportsThisMonth =
-        		printingInspectionReportRepository.findByDocumentNoStartingWith(prefix);
-
-        // Find the max serial number used this month
-        int maxSerial = reportsThisMonth.stream()
-                .map(r -> {
-                    String[] parts = r.getDocumentNo().split("-");
-                    try {
-                        return Integer.parseInt(parts[parts.length - 1]);
-                    } catch (Exception e) {
-                        return 0; // fallback if parsing fails
-                    }
-                })
-                .max(Integer::compare)
-                .orElse(0);
-
-        int nextSerial = maxSerial + 1;
-        String paddedSerial = String.format("%03d", nextSerial); // 001, 002, etc.
-
-        return prefix + paddedSerial;
+        return documentNumberAllocator.next(ReportType.PRINTING);
     }
 }
\ No newline at end of file
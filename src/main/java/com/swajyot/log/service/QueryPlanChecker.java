@@ -0,0 +1,95 @@
+package com.swajyot.log.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.swajyot.log.model.ReportType;
+
+/**
+ * Explains the queries behind the report finders and list filters and reports the ones
+ * the planner can only answer with a sequential scan of a report table.
+ *
+ * Sequential scans are disabled for the check, so on a small or empty table a plan still
+ * uses an index whenever a usable one exists; a remaining Seq Scan means a missing index.
+ */
+@Service
+public class QueryPlanChecker {
+
+    private static final String DATE_RANGE = " BETWEEN DATE '2024-01-01' AND DATE '2024-01-31'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public QueryPlanChecker(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * @return "TYPE name: sql" for every probe query whose plan scans a report table sequentially
+     */
+    public List<String> findUnindexedQueries() {
+        List<String> unindexed = new ArrayList<>();
+        for (ReportType type : ReportType.values()) {
+            for (Map.Entry<String, String> probe : probes(type).entrySet()) {
+                String plan = explain(probe.getValue());
+                if (plan.contains("Seq Scan on " + type.getTableName())) {
+                    unindexed.add(type + " " + probe.getKey() + ": " + probe.getValue());
+                }
+            }
+        }
+        return unindexed;
+    }
+
+    private String explain(String sql) {
+        return transactionTemplate.execute(status -> {
+            // SET LOCAL ends with the transaction, so the pooled connection is left as it was
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            try {
+                return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+            } catch (DataAccessException e) {
+                return "";
+            }
+        });
+    }
+
+    /**
+     * Representative queries per report type, with literals in place of the bind parameters.
+     */
+    private static Map<String, String> probes(ReportType type) {
+        String from = "SELECT id FROM " + type.getTableName() + " WHERE ";
+        String date = column(type.getDateAttribute());
+        String product = column(type.getProductAttribute());
+
+        Map<String, String> probes = new LinkedHashMap<>();
+        probes.put("by status", from + "status = 'SUBMITTED' ORDER BY " + date + " DESC");
+        probes.put("by status and date", from + "status = 'SUBMITTED' AND " + date + DATE_RANGE);
+        probes.put("by date", from + date + DATE_RANGE);
+        if (type.getLineAttribute() != null) {
+            probes.put("by line and date", from + column(type.getLineAttribute()) + " = 'L1' AND " + date + DATE_RANGE);
+        }
+        probes.put("by submitter", from + "submitted_by = 'probe' ORDER BY submitted_at DESC");
+        probes.put("by reviewer", from + "reviewed_by = 'probe' ORDER BY reviewed_at DESC");
+        probes.put("by product", from + product + " = 'probe'");
+        probes.put("document number prefix", from + "document_no LIKE 'AGI-%'");
+        probes.put("submittedAt keyset page", from + "submitted_at IS NOT NULL ORDER BY submitted_at DESC, id DESC LIMIT 51");
+        probes.put("full-text search", from + "search_vector @@ to_tsquery('simple', 'probe:*')");
+        if (type == ReportType.INSPECTION_FORM) {
+            probes.put("product contains", from + "upper(product) LIKE upper('%probe%')");
+        }
+        return probes;
+    }
+
+    private static String column(String attribute) {
+        return attribute.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
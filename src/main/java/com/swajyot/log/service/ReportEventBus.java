@@ -0,0 +1,303 @@
+package com.swajyot.log.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.User;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.model.res.ReportFeedEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process fan-out of committed report changes to Server-Sent Events subscribers.
+ *
+ * An idle subscriber is only an open emitter and an empty map; no thread is held. Each
+ * subscriber buffers at most queue-capacity pending events keyed by report, so several
+ * changes to one report before delivery collapse into one event. If a slow client still
+ * overflows its buffer the oldest events are dropped and a "resync" event tells it to
+ * reload. Delivery runs on a virtual thread per busy subscriber, never on the committing
+ * thread, so a client that stops reading only stalls its own writes. A write blocked for
+ * longer than write-timeout-ms closes that subscriber.
+ */
+@Service
+@Slf4j
+public class ReportEventBus {
+
+    private static final Map<User.Role, Set<ReportChangedEvent.Kind>> KINDS_BY_ROLE = new EnumMap<>(User.Role.class);
+
+    static {
+        // Operators follow their drafts and the review outcome; reviewers follow the approval queue
+        KINDS_BY_ROLE.put(User.Role.OPERATOR, EnumSet.of(ReportChangedEvent.Kind.CREATED,
+                ReportChangedEvent.Kind.UPDATED, ReportChangedEvent.Kind.APPROVED,
+                ReportChangedEvent.Kind.REJECTED, ReportChangedEvent.Kind.DELETED));
+        Set<ReportChangedEvent.Kind> review = EnumSet.of(ReportChangedEvent.Kind.SUBMITTED,
+                ReportChangedEvent.Kind.APPROVED, ReportChangedEvent.Kind.REJECTED, ReportChangedEvent.Kind.DELETED);
+        KINDS_BY_ROLE.put(User.Role.QA, review);
+        KINDS_BY_ROLE.put(User.Role.AVP, review);
+        KINDS_BY_ROLE.put(User.Role.MASTER, EnumSet.allOf(ReportChangedEvent.Kind.class));
+    }
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService senders;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMs;
+    private final long writeTimeoutNanos;
+
+    public ReportEventBus(@Value("${app.events.queue-capacity:256}") int queueCapacity,
+                          @Value("${app.events.max-subscribers:5000}") int maxSubscribers,
+                          @Value("${app.events.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                          @Value("${app.events.write-timeout-ms:10000}") long writeTimeoutMs) {
+        this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-events-", 0).factory());
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+    }
+
+    /**
+     * Opens a feed for a user with the given role, optionally limited to some report types.
+     *
+     * @param types Report types to receive, or empty for all
+     * @throws IllegalStateException if the subscriber limit is reached
+     */
+    public SseEmitter subscribe(User.Role role, Set<ReportType> types) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many event subscribers");
+        }
+        SseEmitter emitter = newEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, KINDS_BY_ROLE.get(role),
+                types.isEmpty() ? EnumSet.allOf(ReportType.class) : EnumSet.copyOf(types));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // Overridden in tests to capture what is sent
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ReportFeedEvent payload = new ReportFeedEvent(event.reportType(), event.reportId(), event.documentNo(),
+                event.kind().name(), event.previousStatus(), event.status(), LocalDateTime.now());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                subscriber.offer(payload);
+            }
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.ping();
+        }
+    }
+
+    /**
+     * Drops subscribers whose current write has been blocked too long, e.g. a client that
+     * stopped reading with a full TCP buffer.
+     */
+    @Scheduled(fixedDelayString = "${app.events.write-timeout-ms:10000}")
+    public void closeStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.writeStartedAt;
+            if (started != 0 && now - started > writeTimeoutNanos) {
+                log.debug("Closing report event subscriber with a write blocked for {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(now - started));
+                subscriber.abort();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<ReportChangedEvent.Kind> kinds;
+        private final Set<ReportType> types;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Start of the write in progress (System.nanoTime), 0 when idle; and the thread doing it
+        private volatile long writeStartedAt;
+        private volatile Thread writer;
+        private volatile boolean aborted;
+
+        // Guarded by this
+        private final LinkedHashMap<String, ReportFeedEvent> pending = new LinkedHashMap<>();
+        private boolean overflowed;
+        private boolean pingDue;
+
+        Subscriber(SseEmitter emitter, Set<ReportChangedEvent.Kind> kinds, Set<ReportType> types) {
+            this.emitter = emitter;
+            this.kinds = kinds;
+            this.types = types;
+        }
+
+        boolean accepts(ReportChangedEvent event) {
+            return types.contains(event.reportType()) && kinds.contains(event.kind());
+        }
+
+        void offer(ReportFeedEvent event) {
+            synchronized (this) {
+                String key = event.reportType() + ":" + event.reportId();
+                ReportFeedEvent earlier = pending.remove(key);
+                if (earlier != null) {
+                    event = event.since(earlier.fromStatus());
+                } else if (pending.size() >= queueCapacity) {
+                    Iterator<String> oldest = pending.keySet().iterator();
+                    oldest.next();
+                    oldest.remove();
+                    overflowed = true;
+                }
+                pending.put(key, event);
+            }
+            schedule();
+        }
+
+        void ping() {
+            synchronized (this) {
+                pingDue = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            writer = Thread.currentThread();
+            try {
+                while (!closed.get()) {
+                    List<ReportFeedEvent> batch;
+                    boolean resync;
+                    boolean ping;
+                    synchronized (this) {
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                        resync = overflowed;
+                        overflowed = false;
+                        ping = pingDue;
+                        pingDue = false;
+                    }
+                    if (batch.isEmpty() && !resync && !ping) {
+                        break;
+                    }
+                    if (resync) {
+                        write(SseEmitter.event().name("resync").data("Events were dropped; reload the list"));
+                    }
+                    for (ReportFeedEvent event : batch) {
+                        write(SseEmitter.event()
+                                .id(Long.toString(sequence.incrementAndGet()))
+                                .name("report")
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+                    if (ping && batch.isEmpty() && !resync) {
+                        write(SseEmitter.event().comment("ping"));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Closing report event subscriber: {}", e.getMessage());
+                // The container reports the failed write to the emitter's error callback as well
+                close();
+            } finally {
+                writeStartedAt = 0;
+                writer = null;
+                Thread.interrupted();
+                scheduled.set(false);
+            }
+            if (aborted) {
+                // Completed here rather than by the watchdog, which must not wait on a blocked write
+                emitter.complete();
+                return;
+            }
+            // Anything offered between the last check and clearing the flag is sent now
+            boolean more;
+            synchronized (this) {
+                more = !pending.isEmpty() || overflowed || pingDue;
+            }
+            if (more) {
+                schedule();
+            }
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) throws IOException {
+            writeStartedAt = System.nanoTime();
+            emitter.send(event);
+            writeStartedAt = 0;
+        }
+
+        void abort() {
+            aborted = true;
+            close();
+            Thread thread = writer;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+}
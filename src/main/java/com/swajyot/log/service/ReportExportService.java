@@ -0,0 +1,217 @@
+package com.swajyot.log.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.repository.ReportSpecifications;
+import com.swajyot.log.repository.ReportStreamRepository;
+
+/**
+ * Flat CSV / NDJSON exports of reports and their JSONB line items.
+ *
+ * Every item of every detail list (see {@link ReportType#getDetailAttributes()}) becomes
+ * its own record, prefixed with the report's scalar columns. CSV goes one step further and
+ * writes one row per item field, so the header is the same whatever the items contain.
+ * Reports are read from a database cursor and detached once written, so memory use does
+ * not grow with the size of the export.
+ */
+@Service
+public class ReportExportService {
+
+    private static final String[] CSV_HEADER = {
+            "report_id", "document_no", "status", "report_date", "shift", "product", "line",
+            "section", "item_index", "field", "value"
+    };
+
+    private final ReportStreamRepository reportStreamRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public ReportExportService(ReportStreamRepository reportStreamRepository,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.reportStreamRepository = reportStreamRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Prepares an export of all reports matching the filter; paging fields are ignored.
+     * The filter is validated here, before the response is committed.
+     *
+     * @throws IllegalArgumentException if the filter is invalid for the type
+     */
+    public StreamingResponseBody export(ReportType type, ReportFilter filter, Format format) {
+        Specification<Object> spec = ReportSpecifications.matching(type, filter);
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object> reports = reportStreamRepository.streamMatching(type, spec, fetchSize)) {
+                    if (format == Format.CSV) {
+                        writeCsvRow(writer, CSV_HEADER);
+                    }
+                    for (Object report : (Iterable<Object>) reports::iterator) {
+                        writeReport(type, report, format, writer);
+                        reportStreamRepository.detach(report);
+                    }
+                    writer.flush();
+                } catch (IOException e) {
+                    // Client went away; abandon the cursor
+                    throw new IllegalStateException("Export aborted: " + e.getMessage(), e);
+                }
+            });
+        };
+    }
+
+    private void writeReport(ReportType type, Object report, Format format, Writer writer) throws IOException {
+        BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(report);
+        Map<String, Object> columns = reportColumns(type, bean);
+
+        boolean wroteItem = false;
+        for (String section : type.getDetailAttributes()) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> items = (List<Map<String, Object>>) bean.getPropertyValue(section);
+            if (items == null) {
+                continue;
+            }
+            for (int i = 0; i < items.size(); i++) {
+                Map<String, Object> item = items.get(i);
+                if (format == Format.CSV) {
+                    writeCsvItem(writer, columns, section, i, item);
+                } else {
+                    Map<String, Object> record = new LinkedHashMap<>(columns);
+                    record.put("section", section);
+                    record.put("itemIndex", i);
+                    record.put("fields", item);
+                    writer.write(objectMapper.writeValueAsString(record));
+                    writer.write('\n');
+                }
+                wroteItem = true;
+            }
+        }
+
+        // Keep reports without line items visible in the export
+        if (!wroteItem) {
+            if (format == Format.CSV) {
+                writeCsvRow(writer, csvValues(columns, "", "", "", ""));
+            } else {
+                writer.write(objectMapper.writeValueAsString(columns));
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static Map<String, Object> reportColumns(ReportType type, BeanWrapper bean) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        Object status = bean.getPropertyValue("status");
+        columns.put("reportId", bean.getPropertyValue("id"));
+        columns.put("documentNo", bean.getPropertyValue("documentNo"));
+        columns.put("status", status != null ? ((Enum<?>) status).name() : null);
+        columns.put("reportDate", bean.getPropertyValue(type.getDateAttribute()));
+        columns.put("shift", bean.getPropertyValue("shift"));
+        columns.put("product", bean.getPropertyValue(type.getProductAttribute()));
+        columns.put("line", type.getLineAttribute() != null ? bean.getPropertyValue(type.getLineAttribute()) : null);
+        return columns;
+    }
+
+    private void writeCsvItem(Writer writer, Map<String, Object> columns, String section, int index,
+                              Map<String, Object> item) throws IOException {
+        if (item == null || item.isEmpty()) {
+            writeCsvRow(writer, csvValues(columns, section, String.valueOf(index), "", ""));
+            return;
+        }
+        for (Map.Entry<String, Object> field : item.entrySet()) {
+            writeCsvRow(writer, csvValues(columns, section, String.valueOf(index), field.getKey(),
+                    scalar(field.getValue())));
+        }
+    }
+
+    private static String[] csvValues(Map<String, Object> columns, String section, String index,
+                                      String field, String value) {
+        String[] values = new String[CSV_HEADER.length];
+        int i = 0;
+        for (Object column : columns.values()) {
+            values[i++] = column != null ? column.toString() : "";
+        }
+        values[i++] = section;
+        values[i++] = index;
+        values[i++] = field;
+        values[i] = value;
+        return values;
+    }
+
+    /**
+     * Nested objects and lists inside an item are written as JSON text.
+     */
+    private String scalar(Object value) throws JsonProcessingException {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Map || value instanceof List) {
+            return objectMapper.writeValueAsString(value);
+        }
+        return value.toString();
+    }
+
+    static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
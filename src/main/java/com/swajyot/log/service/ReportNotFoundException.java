@@ -0,0 +1,11 @@
+package com.swajyot.log.service;
+
+/**
+ * Thrown when a report looked up by id does not exist.
+ */
+public class ReportNotFoundException extends RuntimeException {
+
+    public ReportNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,169 @@
+package com.swajyot.log.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.repository.ReportJsonRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Applies JSON Merge Patch (RFC 7396) and JSON Patch (RFC 6902) documents to a managed
+ * report entity. Scalar changes are made on the entity, so with dynamic updates only the
+ * changed columns are written. JSON Patch operations below a JSONB detail column
+ * (e.g. /characteristics/3/result) are executed in place with jsonb_set and friends.
+ *
+ * Must be called inside the caller's transaction; any failure throws
+ * IllegalArgumentException and the caller's rollback undoes operations already applied.
+ */
+@Component
+public class ReportPatcher {
+
+    // Managed by the workflow endpoints, never by patches
+    private static final Set<String> PROTECTED = Set.of(
+            "id", "version", "documentNo", "status", "submittedBy", "submittedAt", "reviewedBy", "reviewedAt");
+
+    private final ObjectMapper objectMapper;
+    private final ReportJsonRepository reportJsonRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ReportPatcher(ObjectMapper objectMapper, ReportJsonRepository reportJsonRepository) {
+        this.objectMapper = objectMapper;
+        this.reportJsonRepository = reportJsonRepository;
+    }
+
+    public enum Format {
+        MERGE_PATCH, JSON_PATCH
+    }
+
+    public void apply(ReportType type, Object entity, Long id, JsonNode patch, Format format) {
+        if (format == Format.JSON_PATCH) {
+            jsonPatch(type, entity, id, patch);
+        } else {
+            mergePatch(entity, patch);
+        }
+    }
+
+    /**
+     * Top-level members replace the property; null clears it. Arrays, including the JSONB
+     * detail lists, are replaced as a whole as the RFC requires.
+     */
+    public void mergePatch(Object entity, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        Iterator<String> names = patch.fieldNames();
+        while (names.hasNext()) {
+            checkWritable(bean, names.next());
+        }
+        update(entity, (ObjectNode) patch);
+    }
+
+    public void jsonPatch(ReportType type, Object entity, Long id, JsonNode operations) {
+        if (operations == null || !operations.isArray()) {
+            throw new IllegalArgumentException("JSON Patch must be an array of operations");
+        }
+        BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        // Set once a native statement has changed the row behind the entity's back
+        boolean stale = false;
+
+        for (JsonNode operation : operations) {
+            String op = operation.path("op").asText();
+            List<String> path = parsePointer(operation.path("path").asText(null));
+            String property = path.get(0);
+            checkWritable(bean, property);
+            JsonNode value = operation.get("value");
+            if (("add".equals(op) || "replace".equals(op) || "test".equals(op)) && value == null) {
+                throw new IllegalArgumentException(op + " requires a value");
+            }
+
+            if (path.size() > 1) {
+                // Push pending entity changes first so the statement sees them
+                entityManager.flush();
+                applyInColumn(type, id, op, property, path.subList(1, path.size()), value);
+                stale = true;
+                continue;
+            }
+
+            if (stale) {
+                entityManager.refresh(entity);
+                stale = false;
+            }
+            switch (op) {
+                case "add", "replace" -> update(entity, objectMapper.createObjectNode().set(property, value));
+                case "remove" -> bean.setPropertyValue(property, null);
+                case "test" -> {
+                    if (!objectMapper.valueToTree(bean.getPropertyValue(property)).equals(value)) {
+                        throw new IllegalArgumentException("Test failed at " + operation.path("path").asText());
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unsupported operation: " + op);
+            }
+        }
+
+        if (stale) {
+            entityManager.refresh(entity);
+        }
+    }
+
+    private void applyInColumn(ReportType type, Long id, String op, String column, List<String> path, JsonNode value) {
+        String json = value != null ? value.toString() : null;
+        String last = path.get(path.size() - 1);
+        boolean done = switch (op) {
+            case "replace" -> reportJsonRepository.replace(type, column, id, path, json);
+            case "add" -> "-".equals(last) || last.chars().allMatch(Character::isDigit)
+                    ? reportJsonRepository.insert(type, column, id, path, json)
+                    : reportJsonRepository.put(type, column, id, path, json);
+            case "remove" -> reportJsonRepository.remove(type, column, id, path);
+            case "test" -> reportJsonRepository.matches(type, column, id, path, json);
+            default -> throw new IllegalArgumentException("Unsupported operation: " + op);
+        };
+        if (!done) {
+            String pointer = "/" + column + "/" + String.join("/", path);
+            throw new IllegalArgumentException(("test".equals(op) ? "Test failed at " : "Path not found: ") + pointer);
+        }
+    }
+
+    private void update(Object entity, ObjectNode values) {
+        try {
+            objectMapper.readerForUpdating(entity).readValue(values);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid value: " + e.getMessage());
+        }
+    }
+
+    private static void checkWritable(BeanWrapper bean, String property) {
+        if (PROTECTED.contains(property) || !bean.isWritableProperty(property)) {
+            throw new IllegalArgumentException("Property cannot be patched: " + property);
+        }
+    }
+
+    /**
+     * Splits a JSON Pointer into unescaped tokens.
+     */
+    static List<String> parsePointer(String pointer) {
+        if (pointer == null || !pointer.startsWith("/") || pointer.length() == 1) {
+            throw new IllegalArgumentException("Invalid path: " + pointer);
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : pointer.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return tokens;
+    }
+}
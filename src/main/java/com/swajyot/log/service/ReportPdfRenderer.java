@@ -0,0 +1,94 @@
+package com.swajyot.log.service;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.hibernate.jpa.SpecHints;
+import org.springframework.stereotype.Service;
+
+import com.swajyot.log.model.CoatingInspectionReport;
+import com.swajyot.log.model.IncomingQualityInspectionReport;
+import com.swajyot.log.model.InspectionForm;
+import com.swajyot.log.model.LineClearanceReport;
+import com.swajyot.log.model.PrintingInspectionReport;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.service.pdf.CoatingInspectionReportPdfService;
+import com.swajyot.log.service.pdf.LineClearanceReportPdfService;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Renders the PDF of any report given only its type and id, for callers that work
+ * outside a type-specific controller.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportPdfRenderer {
+
+    // Equivalent of CacheMode.IGNORE; EntityManager.find only honours the JPA cache hints
+    private static final Map<String, Object> BYPASS_CACHE = Map.of(
+            SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS,
+            SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final InspectionFormService inspectionFormService;
+    private final InspectionFormPdfService inspectionFormPdfService;
+    private final CoatingInspectionReportService coatingInspectionReportService;
+    private final CoatingInspectionReportPdfService coatingInspectionReportPdfService;
+    private final PrintingInspectionReportService printingInspectionReportService;
+    private final PrintingInspectionReportPdfService printingInspectionReportPdfService;
+    private final LineClearanceReportService lineClearanceReportService;
+    private final LineClearanceReportPdfService lineClearanceReportPdfService;
+    private final IncomingQualityInspectionReportService incomingQualityInspectionReportService;
+    private final IncomingQualityInspectionReportPdfService incomingQualityInspectionReportPdfService;
+
+    public byte[] render(ReportType type, Long id, String username) throws IOException {
+        return switch (type) {
+            case INSPECTION_FORM -> inspectionFormPdfService.generatePdf(
+                    inspectionFormService.getFormById(id), username);
+            case COATING -> coatingInspectionReportPdfService.generatePdf(
+                    coatingInspectionReportService.getReportById(id), username);
+            case PRINTING -> printingInspectionReportPdfService.generatePdf(
+                    printingInspectionReportService.getReportById(id), username);
+            case LINE_CLEARANCE -> lineClearanceReportPdfService.generatePdf(
+                    lineClearanceReportService.getReportById(id), username);
+            case INCOMING_QUALITY -> incomingQualityInspectionReportPdfService.generatePdf(
+                    incomingQualityInspectionReportService.getReportById(id), username);
+        };
+    }
+
+    /**
+     * Renders like {@link #render} but bypasses both the PdfCache and the second-level entity
+     * cache, so a bulk export of many reports does not evict what interactive requests rely on.
+     *
+     * @throws ReportNotFoundException if the report does not exist
+     */
+    public byte[] renderUncached(ReportType type, Long id, String username) throws IOException {
+        return switch (type) {
+            case INSPECTION_FORM -> inspectionFormPdfService.generateUncachedPdf(
+                    load(InspectionForm.class, type, id), username);
+            case COATING -> coatingInspectionReportPdfService.generateUncachedPdf(
+                    load(CoatingInspectionReport.class, type, id), username);
+            case PRINTING -> printingInspectionReportPdfService.generateUncachedPdf(
+                    load(PrintingInspectionReport.class, type, id), username);
+            case LINE_CLEARANCE -> lineClearanceReportPdfService.generateUncachedPdf(
+                    load(LineClearanceReport.class, type, id), username);
+            case INCOMING_QUALITY -> incomingQualityInspectionReportPdfService.generateUncachedPdf(
+                    load(IncomingQualityInspectionReport.class, type, id), username);
+        };
+    }
+
+    private <T> T load(Class<T> entityClass, ReportType type, Long id) {
+        T report = entityManager.find(entityClass, id, BYPASS_CACHE);
+        if (report == null) {
+            throw new ReportNotFoundException(type + " report not found with id: " + id);
+        }
+        return report;
+    }
+}
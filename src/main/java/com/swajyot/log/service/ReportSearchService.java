@@ -0,0 +1,83 @@
+package com.swajyot.log.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.res.CursorPage;
+import com.swajyot.log.model.res.SearchHit;
+import com.swajyot.log.repository.ReportSearchRepository;
+
+/**
+ * Ranked full-text search across all report types, paged by (rank, type, id) cursors in
+ * the same way {@link KeysetPaginator} pages the list endpoints.
+ */
+@Service
+public class ReportSearchService {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final String SEPARATOR = "|";
+
+    private final ReportSearchRepository searchRepository;
+    private final KeysetPaginator paginator;
+
+    public ReportSearchService(ReportSearchRepository searchRepository, KeysetPaginator paginator) {
+        this.searchRepository = searchRepository;
+        this.paginator = paginator;
+    }
+
+    /**
+     * @param types Report types to search, or empty for all
+     * @throws IllegalArgumentException if the query is blank or too long, or the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<SearchHit> search(String text, Collection<ReportType> types, String cursor, Integer size) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        if (text.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search text is longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+        int pageSize = paginator.clampSize(size);
+        Collection<ReportType> searched = types == null || types.isEmpty() ? EnumSet.allOf(ReportType.class) : types;
+
+        // Fetch one extra row to find out whether another page exists
+        List<SearchHit> hits = searchRepository.search(text.strip(), searched, decode(cursor), pageSize + 1);
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            nextCursor = encode(hits.get(pageSize - 1));
+        }
+        return new CursorPage<>(hits, hits.size(), nextCursor);
+    }
+
+    private static String encode(SearchHit last) {
+        String raw = last.rank() + SEPARATOR + last.reportType().name() + SEPARATOR + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SearchHit decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new SearchHit(ReportType.valueOf(parts[1]), Long.valueOf(parts[2]), null, null, null, null, null,
+                    Float.parseFloat(parts[0]));
+        } catch (IllegalArgumentException e) {
+            // Also covers NumberFormatException and unknown report types
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+}
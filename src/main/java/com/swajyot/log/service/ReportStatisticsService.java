@@ -0,0 +1,92 @@
+package com.swajyot.log.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.model.res.ReportStatistics;
+import com.swajyot.log.model.res.ReportStatistics.TypeStatistics;
+import com.swajyot.log.repository.ReportStatisticsRepository;
+
+/**
+ * Grouped report counts for the dashboard, computed with a handful of COUNT queries per
+ * report type. Results are kept per type for a short TTL and dropped as soon as a report
+ * of that type is written.
+ */
+@Service
+public class ReportStatisticsService {
+
+    private final ReportStatisticsRepository reportStatisticsRepository;
+    private final long ttlMillis;
+    private final int maxGroups;
+
+    private final Map<ReportType, Cached> cache = new ConcurrentHashMap<>();
+    // Bumped per type on every write; a computation that overlapped one is not cached
+    private final Map<ReportType, Long> generations = new ConcurrentHashMap<>();
+
+    public ReportStatisticsService(ReportStatisticsRepository reportStatisticsRepository,
+                                   @Value("${app.statistics.ttl-ms:30000}") long ttlMillis,
+                                   @Value("${app.statistics.max-groups:50}") int maxGroups) {
+        this.reportStatisticsRepository = reportStatisticsRepository;
+        this.ttlMillis = ttlMillis;
+        this.maxGroups = maxGroups;
+    }
+
+    @Transactional(readOnly = true)
+    public ReportStatistics getStatistics() {
+        Map<ReportType, TypeStatistics> types = new EnumMap<>(ReportType.class);
+        for (ReportType type : ReportType.values()) {
+            types.put(type, getStatistics(type));
+        }
+        return new ReportStatistics(LocalDateTime.now(), types);
+    }
+
+    @Transactional(readOnly = true)
+    public TypeStatistics getStatistics(ReportType type) {
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(type);
+        if (cached != null && now - cached.computedAt() < ttlMillis) {
+            return cached.statistics();
+        }
+
+        long generation = generations.getOrDefault(type, 0L);
+        TypeStatistics statistics = compute(type);
+        if (ttlMillis > 0 && generations.getOrDefault(type, 0L) == generation) {
+            cache.put(type, new Cached(statistics, now));
+        }
+        return statistics;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        generations.merge(event.reportType(), 1L, Long::sum);
+        cache.remove(event.reportType());
+    }
+
+    private TypeStatistics compute(ReportType type) {
+        Map<String, Long> byStatus = reportStatisticsRepository.countBy(type, "status", 0);
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        Map<String, Long> byLine = type.getLineAttribute() != null
+                ? reportStatisticsRepository.countBy(type, type.getLineAttribute(), maxGroups)
+                : Map.of();
+        return new TypeStatistics(
+                total,
+                byStatus,
+                byLine,
+                reportStatisticsRepository.countBy(type, "shift", maxGroups),
+                reportStatisticsRepository.countBy(type, type.getProductAttribute(), maxGroups),
+                reportStatisticsRepository.countByMonth(type),
+                LocalDateTime.now());
+    }
+
+    private record Cached(TypeStatistics statistics, long computedAt) {
+    }
+}
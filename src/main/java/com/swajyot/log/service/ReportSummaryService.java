@@ -0,0 +1,32 @@
+package com.swajyot.log.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.CursorPage;
+import com.swajyot.log.model.res.ReportSummary;
+import com.swajyot.log.repository.ReportSpecifications;
+import com.swajyot.log.repository.ReportSummaryRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lightweight, keyset-paginated summary lists for the dashboard screens.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportSummaryService {
+
+    private final ReportSummaryRepository reportSummaryRepository;
+    private final KeysetPaginator keysetPaginator;
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReportSummary> getSummaries(ReportType type, ReportFilter filter) {
+        return keysetPaginator.page(ReportSpecifications.matching(type, filter),
+                filter.getSort(), filter.getCursor(), filter.getSize(),
+                (spec, order, limit) -> reportSummaryRepository.findSummaries(type, spec, order, limit),
+                ReportSummary::id, ReportSummary::submittedAt);
+    }
+}
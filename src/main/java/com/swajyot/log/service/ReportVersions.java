@@ -0,0 +1,75 @@
+package com.swajyot.log.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.swajyot.log.model.ReportType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Version lookups for conditional requests. Versions are read with a single-column query,
+ * so answering a poll with 304 never loads the JSONB columns.
+ */
+@Service
+public class ReportVersions {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ReportVersions(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * The report's current version, or null if it does not exist.
+     */
+    public Long currentVersion(ReportType type, Long id) {
+        return version(type, id, false);
+    }
+
+    /**
+     * Runs the action only if the report's version matches the If-Match header. The row is
+     * locked while the action runs, so nobody can change it between the check and the write.
+     * Without a header the action runs unconditionally.
+     *
+     * @throws OptimisticLockingFailureException if the header does not match
+     */
+    public <T> T ifMatch(ReportType type, Long id, String ifMatch, Supplier<T> action) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return action.get();
+        }
+        return transactionTemplate.execute(status -> {
+            Long version = version(type, id, true);
+            // A missing report is left to the action, which reports it as not found
+            if (version != null && !ETags.matches(ifMatch, version)) {
+                throw new OptimisticLockingFailureException(
+                        type + " " + id + " has changed (version " + version + ")");
+            }
+            return action.get();
+        });
+    }
+
+    public void runIfMatch(ReportType type, Long id, String ifMatch, Runnable action) {
+        ifMatch(type, id, ifMatch, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private Long version(ReportType type, Long id, boolean lock) {
+        List<?> rows = entityManager.createNativeQuery("SELECT version FROM " + type.getTableName()
+                        + " WHERE id = :id" + (lock ? " FOR UPDATE" : ""))
+                .setParameter("id", id)
+                .getResultList();
+        return rows.isEmpty() || rows.get(0) == null ? null : ((Number) rows.get(0)).longValue();
+    }
+}
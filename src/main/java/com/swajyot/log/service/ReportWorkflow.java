@@ -0,0 +1,177 @@
+package com.swajyot.log.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.WorkflowReport;
+import com.swajyot.log.model.WorkflowState;
+import com.swajyot.log.model.WorkflowTransition;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.repository.WorkflowTransitionRepository;
+
+/**
+ * The report approval workflow: DRAFT or REJECTED may be submitted, SUBMITTED may be
+ * approved or rejected. The rules live in one transition table indexed by state and
+ * transition; each report type's own status enum is mapped onto it once at startup.
+ * Every transition is stored as a {@link WorkflowTransition} with the time spent in the
+ * source state.
+ */
+@Service
+public class ReportWorkflow {
+
+    public enum Transition {
+        SUBMIT(WorkflowState.SUBMITTED, ReportChangedEvent.Kind.SUBMITTED),
+        APPROVE(WorkflowState.APPROVED, ReportChangedEvent.Kind.APPROVED),
+        REJECT(WorkflowState.REJECTED, ReportChangedEvent.Kind.REJECTED);
+
+        private final WorkflowState target;
+        private final ReportChangedEvent.Kind kind;
+
+        Transition(WorkflowState target, ReportChangedEvent.Kind kind) {
+            this.target = target;
+            this.kind = kind;
+        }
+
+        public WorkflowState getTarget() {
+            return target;
+        }
+
+        public ReportChangedEvent.Kind getKind() {
+            return kind;
+        }
+    }
+
+    // NEXT[state][transition] is the resulting state, or null if the transition is not allowed
+    private static final WorkflowState[][] NEXT =
+            new WorkflowState[WorkflowState.values().length][Transition.values().length];
+
+    static {
+        allow(WorkflowState.DRAFT, Transition.SUBMIT);
+        allow(WorkflowState.REJECTED, Transition.SUBMIT);
+        allow(WorkflowState.SUBMITTED, Transition.APPROVE);
+        allow(WorkflowState.SUBMITTED, Transition.REJECT);
+    }
+
+    private static void allow(WorkflowState from, Transition transition) {
+        NEXT[from.ordinal()][transition.ordinal()] = transition.getTarget();
+    }
+
+    private final WorkflowTransitionRepository transitionRepository;
+    private final Map<ReportType, Enum<?>[]> entityStatuses = new EnumMap<>(ReportType.class);
+    private final Map<ReportType, WorkflowState[]> workflowStates = new EnumMap<>(ReportType.class);
+    private final Map<Transition, List<String>> sources = new EnumMap<>(Transition.class);
+
+    public ReportWorkflow(WorkflowTransitionRepository transitionRepository) {
+        this.transitionRepository = transitionRepository;
+        for (ReportType type : ReportType.values()) {
+            Enum<?>[] constants = type.getStatusClass().getEnumConstants();
+            Enum<?>[] byState = new Enum<?>[WorkflowState.values().length];
+            WorkflowState[] byOrdinal = new WorkflowState[constants.length];
+            for (Enum<?> constant : constants) {
+                WorkflowState state = WorkflowState.valueOf(constant.name());
+                byState[state.ordinal()] = constant;
+                byOrdinal[constant.ordinal()] = state;
+            }
+            entityStatuses.put(type, byState);
+            workflowStates.put(type, byOrdinal);
+        }
+        for (Transition transition : Transition.values()) {
+            List<String> from = new ArrayList<>();
+            for (WorkflowState state : WorkflowState.values()) {
+                if (NEXT[state.ordinal()][transition.ordinal()] != null) {
+                    from.add(state.name());
+                }
+            }
+            sources.put(transition, List.copyOf(from));
+        }
+    }
+
+    /**
+     * The status a report moves to.
+     *
+     * @throws InvalidTransitionException if the transition is not allowed from the current status
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends Enum<S>> S next(ReportType type, S current, Transition transition) {
+        WorkflowState from = state(type, current);
+        WorkflowState to = NEXT[from.ordinal()][transition.ordinal()];
+        if (to == null) {
+            throw new InvalidTransitionException("Cannot " + transition.name().toLowerCase()
+                    + " a report in status " + from);
+        }
+        return (S) entityStatuses.get(type)[to.ordinal()];
+    }
+
+    /**
+     * Validates the transition and records it, returning the status to set. Must be called
+     * before the report's submitted/reviewed timestamps are overwritten, since those tell
+     * how long it sat in its current state.
+     *
+     * @throws InvalidTransitionException if the transition is not allowed from the current status
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <S extends Enum<S>> S advance(ReportType type, WorkflowReport<S> report, Transition transition,
+                                         String actor, String line) {
+        S target = next(type, report.getStatus(), transition);
+        WorkflowState from = state(type, report.getStatus());
+        transitionRepository.save(transition(type, report.getId(), from, transition, actor, line,
+                enteredAt(from, report.getSubmittedAt(), report.getReviewedAt()), LocalDateTime.now()));
+        return target;
+    }
+
+    /**
+     * Records transitions that were applied directly in the database (bulk updates).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<WorkflowTransition> transitions) {
+        transitionRepository.saveAll(transitions);
+    }
+
+    /**
+     * The stored status names a transition may start from.
+     */
+    public List<String> sources(Transition transition) {
+        return sources.get(transition);
+    }
+
+    public List<WorkflowTransition> getHistory(ReportType type, Long reportId) {
+        return transitionRepository.findByReportTypeAndReportIdOrderByTransitionedAtAscIdAsc(type, reportId);
+    }
+
+    /**
+     * Builds the record of one transition; enteredAt is when the report entered the source
+     * state, or null if unknown.
+     */
+    public static WorkflowTransition transition(ReportType type, Long reportId, WorkflowState from,
+                                                Transition transition, String actor, String line,
+                                                LocalDateTime enteredAt, LocalDateTime at) {
+        Long dwellMs = enteredAt == null ? null : Math.max(0, Duration.between(enteredAt, at).toMillis());
+        return new WorkflowTransition(null, type, reportId, from, transition.getTarget(), actor, line, at, dwellMs);
+    }
+
+    /**
+     * When a report entered the given state, judging by its workflow timestamps.
+     */
+    public static LocalDateTime enteredAt(WorkflowState state, LocalDateTime submittedAt, LocalDateTime reviewedAt) {
+        return switch (state) {
+            case SUBMITTED -> submittedAt;
+            case APPROVED, REJECTED -> reviewedAt;
+            case DRAFT -> null;
+        };
+    }
+
+    private WorkflowState state(ReportType type, Enum<?> status) {
+        // Reports saved before the status column was filled in are drafts
+        return status == null ? WorkflowState.DRAFT : workflowStates.get(type)[status.ordinal()];
+    }
+}
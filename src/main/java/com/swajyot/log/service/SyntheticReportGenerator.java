@@ -0,0 +1,482 @@
+package com.swajyot.log.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swajyot.log.model.CoatingInspectionReport;
+import com.swajyot.log.model.FirstArticleInspectionReport;
+import com.swajyot.log.model.IncomingQualityInspectionReport;
+import com.swajyot.log.model.InspectionForm;
+import com.swajyot.log.model.LineClearanceReport;
+import com.swajyot.log.model.PrintingInspectionReport;
+import com.swajyot.log.model.ReportType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates large volumes of realistic reports for load and query-plan testing.
+ *
+ * Rows are written with multi-row INSERT statements straight through JDBC; the entities use
+ * IDENTITY ids, which rules out Hibernate's JDBC batching. Output is fully determined by the
+ * seed. Dates are spread over the last few years, statuses follow a typical mix (mostly
+ * approved, a tail still in review) and JSONB list sizes are skewed towards small reports
+ * with a long tail up to the configured maximum. Document numbers use a SYN- prefix so they
+ * never collide with the real numbering schemes. Submitted and reviewed reports get the
+ * matching workflow_transitions rows, so the workflow statistics cover the seeded data.
+ * Only available with the "seed" profile.
+ */
+@Service
+@Profile("seed")
+@Slf4j
+public class SyntheticReportGenerator {
+
+    // PostgreSQL accepts at most 65535 bind parameters per statement
+    private static final int MAX_PARAMETERS = 65535;
+
+    private static final String[] STATUSES = { "DRAFT", "SUBMITTED", "APPROVED", "REJECTED" };
+    private static final String[] SHIFTS = { "A", "B", "C" };
+    private static final String[] LINES = { "01", "02", "03", "04", "05", "06", "07", "08" };
+    private static final String[] PRODUCTS = { "30 ML Bottle", "50 ML Bottle", "100 ML Bottle", "150 ML Jar",
+            "200 ML Bottle", "250 ML Jar", "500 ML Bottle", "Vial 10 ML", "Nail Polish 12 ML", "Perfume 75 ML" };
+    private static final String[] SIZES = { "30", "50", "100", "150", "200", "250", "500" };
+    private static final String[] VARIANTS = { "Pink matt", "Blue gloss", "Frosted clear", "Amber", "Black matt",
+            "Gold print", "Silver print", "White opal" };
+    private static final String[] CUSTOMERS = { "Customer A", "Customer B", "Customer C", "Customer D",
+            "Customer E", "Customer F" };
+    private static final String[] SUPPLIERS = { "Supplier A", "Supplier B", "Supplier C", "Supplier D" };
+    private static final String[] OPERATORS = { "operator1", "operator2", "operator3", "operator4", "operator5" };
+    private static final String[] REVIEWERS = { "qa.head", "qa.manager", "qa.lead" };
+    private static final String[] DEFECTS = { "Scratch", "Bubble", "Uneven coating", "Colour variation", "Smudge",
+            "Chipped neck", "Stone", "Blister", "Print shift", "Peel off" };
+    private static final String[] OBSERVATIONS = { "No abnormality observed", "Within specification",
+            "Minor variation, accepted", "Slight orange peel on shoulder", "Print slightly off centre",
+            "Coating thickness at lower limit", "Adhesion test passed" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchRows;
+    private final int maxDetailRows;
+    private final int years;
+
+    public SyntheticReportGenerator(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                    @Value("${app.seed.batch-rows:500}") int batchRows,
+                                    @Value("${app.seed.max-detail-rows:200}") int maxDetailRows,
+                                    @Value("${app.seed.years:3}") int years) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.batchRows = Math.max(1, batchRows);
+        this.maxDetailRows = Math.max(1, maxDetailRows);
+        this.years = Math.max(1, years);
+    }
+
+    /**
+     * The tables that can be seeded, keyed by a short name (IF, COATING, ...).
+     */
+    public static Map<String, SeedTable> tables() {
+        Map<String, SeedTable> tables = new LinkedHashMap<>();
+        for (SeedTable table : List.of(inspectionForms(), coatingReports(), printingReports(),
+                lineClearanceReports(), incomingQualityReports(), firstArticleReports())) {
+            tables.put(table.name(), table);
+        }
+        return tables;
+    }
+
+    /**
+     * Inserts {@code count} reports into one table.
+     *
+     * @return the number of rows inserted
+     */
+    public long generate(SeedTable table, int count, long seed) {
+        String prefix = "SYN-" + table.name() + "-" + seed + "-";
+        Long existing = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + table.tableName() + " WHERE document_no LIKE ?", Long.class, prefix + "%");
+        long offset = existing != null ? existing : 0;
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(max(id), 0) FROM " + table.tableName(), Long.class);
+
+        List<Column> columns = table.columns();
+        int rowsPerStatement = Math.min(batchRows, MAX_PARAMETERS / columns.size());
+        SplittableRandom random = new SplittableRandom(seed * 31 + table.name().hashCode());
+        LocalDate today = LocalDate.now();
+        int days = years * 365;
+
+        long started = System.nanoTime();
+        long inserted = 0;
+        List<Object> args = new ArrayList<>(rowsPerStatement * columns.size());
+        int pending = 0;
+        for (int i = 0; i < count; i++) {
+            Row row = new Row(random, prefix + (offset + i + 1), today.minusDays(random.nextInt(days)), maxDetailRows);
+            for (Column column : columns) {
+                Object value = column.value().apply(row);
+                args.add(column.jsonb() ? toJson(value) : value);
+            }
+            if (++pending == rowsPerStatement) {
+                inserted += insert(table, pending, args);
+                args.clear();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            inserted += insert(table, pending, args);
+        }
+        int transitions = insertTransitions(table, maxId != null ? maxId : 0);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Seeded {} {} rows and {} workflow transitions in {} ms ({} rows/s)", inserted,
+                table.tableName(), transitions, millis, millis == 0 ? inserted : inserted * 1000 / millis);
+        return inserted;
+    }
+
+    private int insert(SeedTable table, int rows, List<Object> args) {
+        StringBuilder placeholders = new StringBuilder("(");
+        for (int c = 0; c < table.columns().size(); c++) {
+            placeholders.append(c == 0 ? "" : ", ").append(table.columns().get(c).jsonb() ? "CAST(? AS jsonb)" : "?");
+        }
+        placeholders.append(")");
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table.tableName()).append(" (");
+        for (int c = 0; c < table.columns().size(); c++) {
+            sql.append(c == 0 ? "" : ", ").append(table.columns().get(c).columnName());
+        }
+        sql.append(") VALUES ");
+        for (int r = 0; r < rows; r++) {
+            sql.append(r == 0 ? "" : ", ").append(placeholders);
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Writes the DRAFT to SUBMITTED and SUBMITTED to APPROVED/REJECTED transitions the seeded
+     * rows (ids above afterId) went through, derived from their workflow timestamps.
+     * Tables without a ReportType have no workflow history.
+     */
+    private int insertTransitions(SeedTable table, long afterId) {
+        ReportType type = null;
+        for (ReportType candidate : ReportType.values()) {
+            if (candidate.getEntityClass() == table.entityClass()) {
+                type = candidate;
+            }
+        }
+        if (type == null) {
+            return 0;
+        }
+        String line = type.getLineAttribute() == null ? "CAST(NULL AS varchar)"
+                : type.getLineAttribute().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+        // One nextval per row stays clear of the blocks Hibernate's pooled id optimizer reserves
+        String insert = "INSERT INTO workflow_transitions"
+                + " (id, report_type, report_id, from_status, to_status, actor, line, transitioned_at, dwell_ms) ";
+        int submitted = jdbcTemplate.update(insert
+                + "SELECT nextval('workflow_transitions_seq'), ?, id, 'DRAFT', 'SUBMITTED', submitted_by, " + line
+                + ", submitted_at, NULL FROM " + table.tableName()
+                + " WHERE id > ? AND submitted_at IS NOT NULL", type.name(), afterId);
+        int reviewed = jdbcTemplate.update(insert
+                + "SELECT nextval('workflow_transitions_seq'), ?, id, 'SUBMITTED', status, reviewed_by, " + line
+                + ", reviewed_at, CAST(EXTRACT(EPOCH FROM reviewed_at - submitted_at) * 1000 AS bigint) FROM "
+                + table.tableName() + " WHERE id > ? AND reviewed_at IS NOT NULL", type.name(), afterId);
+        return submitted + reviewed;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return value == null ? null : objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize seed payload", e);
+        }
+    }
+
+    private static SeedTable inspectionForms() {
+        List<Column> columns = workflowColumns("inspectionDate");
+        columns.addAll(List.of(
+                column("issuanceNo", r -> "00"),
+                column("issueDate", r -> r.date.withDayOfYear(1)),
+                column("reviewedDate", r -> r.date.withDayOfYear(1)),
+                column("page", r -> "1 of 1"),
+                column("preparedBy", r -> "QA Executive"),
+                column("approvedBy", r -> "QA Head"),
+                column("issued", r -> "QA Head"),
+                column("scope", r -> "AGI / DEC / COATING & PRINTING"),
+                column("title", r -> "ON-LINE INSPECTION REPORT"),
+                column("product", r -> r.product),
+                column("sizeNo", r -> r.pick(SIZES)),
+                column("variant", r -> r.pick(VARIANTS)),
+                column("lineNo", r -> r.line),
+                column("customer", r -> r.pick(CUSTOMERS)),
+                column("sampleSize", r -> "08 Nos."),
+                column("mcNo", r -> "M-" + (1 + r.random.nextInt(12))),
+                column("formType", r -> r.random.nextBoolean() ? "COATING" : "PRINTING"),
+                column("qaExecutive", r -> "QA Executive"),
+                column("productionOperator", r -> r.submittedBy),
+                column("finalApprovalTime", r -> r.reviewedAt != null ? r.reviewedAt.toLocalTime().toString() : null),
+                json("tableData", r -> r.detailRows(r.detailCount() / 10 + 1, i -> Map.of(
+                        "id", i, "name", "Lacquer " + (1 + r.random.nextInt(40)), "weight", r.decimal(5, 50),
+                        "batchNo", r.batchNo(), "expiryDate", r.date.plusMonths(6).toString()))),
+                json("characteristics", r -> r.detailRows(r.detailCount(), i -> Map.of(
+                        "id", i, "name", "Characteristic " + i, "observation", r.pick(OBSERVATIONS),
+                        "comments", r.random.nextInt(10) == 0 ? r.pick(DEFECTS) : "OK",
+                        "bodyThickness", r.decimal(15, 30), "bottomThickness", r.decimal(15, 30))))));
+        return new SeedTable("IF", InspectionForm.class, "inspection_forms", columns);
+    }
+
+    private static SeedTable coatingReports() {
+        List<Column> columns = workflowColumns("inspectionDate");
+        columns.addAll(headerColumns("AGI/ DEC/ COATING", "FIRST ARTICLE INSPECTION REPORT - COATING"));
+        columns.addAll(List.of(
+                column("lineNo", r -> r.line),
+                column("product", r -> r.product),
+                column("variant", r -> r.pick(VARIANTS)),
+                column("sizeNo", r -> r.pick(SIZES)),
+                column("customer", r -> r.pick(CUSTOMERS)),
+                column("sampleSize", r -> "08 Nos."),
+                column("operatorName", r -> r.submittedBy),
+                column("qaName", r -> r.reviewedBy),
+                column("approvalTime", r -> r.reviewedAt != null ? r.reviewedAt.toLocalTime().toString() : null),
+                json("coatingDetails", r -> r.detailRows(r.detailCount() / 10 + 1, i -> Map.of(
+                        "id", i, "lacquerType", "Lacquer " + (1 + r.random.nextInt(40)), "batchNo", r.batchNo(),
+                        "quantity", r.decimal(5, 50), "expiryDate", r.date.plusMonths(6).toString()))),
+                json("characteristics", r -> r.detailRows(r.detailCount(), i -> Map.of(
+                        "characteristic", "Characteristic " + i, "observations", r.pick(OBSERVATIONS),
+                        "comments", r.random.nextInt(10) == 0 ? r.pick(DEFECTS) : "OK",
+                        "bodyObservations", r.decimal(15, 30), "bottomObservations", r.decimal(15, 30))))));
+        return new SeedTable("COATING", CoatingInspectionReport.class, "coating_inspection_reports", columns);
+    }
+
+    private static SeedTable printingReports() {
+        List<Column> columns = workflowColumns("inspectionDate");
+        columns.addAll(headerColumns("AGI/ DEC/ PRINTING", "FIRST ARTICLE INSPECTION REPORT - PRINTING"));
+        columns.addAll(List.of(
+                column("machineNo", r -> "P-" + (1 + r.random.nextInt(6))),
+                column("product", r -> r.product),
+                column("variant", r -> r.pick(VARIANTS)),
+                column("lineNo", r -> r.line),
+                column("customer", r -> r.pick(CUSTOMERS)),
+                column("sizeNo", r -> r.pick(SIZES)),
+                column("sampleSize", r -> "08 Nos."),
+                column("verticalPosition", r -> r.decimal(5, 20)),
+                column("horizontalPosition", r -> r.decimal(5, 20)),
+                column("colorShade", r -> "Matching"),
+                column("visualDefect", r -> r.random.nextInt(10) == 0 ? r.pick(DEFECTS) : "Nil"),
+                column("operatorName", r -> r.submittedBy),
+                column("qaName", r -> r.reviewedBy),
+                column("approvalTime", r -> r.reviewedAt != null ? r.reviewedAt.toLocalTime().toString() : null),
+                json("printingDetails", r -> r.detailRows(r.detailCount() / 10 + 1, i -> Map.of(
+                        "inkType", "Ink " + (1 + r.random.nextInt(30)), "batchNo", r.batchNo(),
+                        "expiryDate", r.date.plusMonths(6).toString()))),
+                json("characteristics", r -> r.detailRows(r.detailCount(), i -> Map.of(
+                        "characteristic", "Characteristic " + i, "observations", r.pick(OBSERVATIONS),
+                        "comments", r.random.nextInt(10) == 0 ? r.pick(DEFECTS) : "OK")))));
+        return new SeedTable("PRINTING", PrintingInspectionReport.class, "printing_inspection_reports", columns);
+    }
+
+    private static SeedTable lineClearanceReports() {
+        List<Column> columns = workflowColumns("reportDate");
+        columns.addAll(headerColumns("AGI/ DEC/ COATING & PRINTING", "LINE CLEARANCE REPORT"));
+        columns.addAll(List.of(
+                column("line", r -> r.line),
+                column("productName", r -> r.product),
+                column("existingVariantName", r -> r.pick(VARIANTS)),
+                column("newVariantName", r -> r.pick(VARIANTS)),
+                column("existingVariantDescription", r -> r.product + " " + r.pick(VARIANTS)),
+                column("newVariantDescription", r -> r.product + " " + r.pick(VARIANTS)),
+                column("existingVariantStopTime", r -> r.date.atTime(6 + r.random.nextInt(12), 0)),
+                column("newVariantStartTime", r -> r.date.atTime(18 + r.random.nextInt(4), 30)),
+                column("responsibleName", r -> r.submittedBy),
+                column("productionName", r -> "Production Head"),
+                column("qualityName", r -> r.reviewedBy),
+                json("checkPoints", r -> r.detailRows(r.detailCount(), i -> Map.of(
+                        "id", i, "description", "Check point " + i + ": previous material removed from line",
+                        "responsibility", r.random.nextBoolean() ? "Production" : "Quality",
+                        "remarks", r.random.nextInt(8) == 0 ? "Re-cleaned, " + r.pick(DEFECTS).toLowerCase() : "Done")))));
+        return new SeedTable("LCR", LineClearanceReport.class, "line_clearance_reports", columns);
+    }
+
+    private static SeedTable incomingQualityReports() {
+        List<Column> columns = workflowColumns("iqcDate");
+        columns.addAll(headerColumns("AGI / DEC / IQC", "INCOMING QUALITY INSPECTION REPORT"));
+        columns.addAll(List.of(
+                column("productVariantName", r -> r.product + " " + r.pick(VARIANTS)),
+                column("productReceivedFrom", r -> r.pick(SUPPLIERS)),
+                column("supplierShift", r -> r.pick(SHIFTS)),
+                column("productReceivedDate", r -> r.date.minusDays(r.random.nextInt(3))),
+                column("productReceivedQuantity", r -> 1000 * (5 + r.random.nextInt(95))),
+                column("quantityAudited", r -> 125 + r.random.nextInt(190)),
+                column("batchNumber", r -> r.batchNo()),
+                column("qualityDecision", r -> r.random.nextInt(12) == 0 ? "Rejected" : "Accepted"),
+                column("qualityManagerName", r -> r.reviewedBy),
+                column("signatureDate", r -> r.reviewedAt != null ? r.reviewedAt.toLocalDate() : null),
+                json("auditResults", r -> r.detailRows(r.detailCount() / 4 + 1, i -> Map.of(
+                        "category", i % 3 == 0 ? "Critical" : i % 3 == 1 ? "Major" : "Minor",
+                        "count", r.random.nextInt(5), "defectName", r.pick(DEFECTS)))),
+                json("testResults", r -> r.detailRows(r.detailCount() / 4 + 1, i -> Map.of(
+                        "testName", "Test " + i, "specification", "Within limits",
+                        "result", r.random.nextInt(15) == 0 ? "NOT OK" : "OK", "checkedBy", r.submittedBy)))));
+        return new SeedTable("IQC", IncomingQualityInspectionReport.class, "incoming_quality_inspection_reports",
+                columns);
+    }
+
+    private static SeedTable firstArticleReports() {
+        List<Column> columns = workflowColumns("reportDate");
+        columns.addAll(headerColumns("AGI / DEC / PRINTING", "FIRST ARTICLE INSPECTION REPORT - PRINTING"));
+        columns.addAll(List.of(
+                column("line", r -> r.line),
+                column("productName", r -> r.product),
+                column("customer", r -> r.pick(CUSTOMERS)),
+                column("mcNo", r -> "M-" + (1 + r.random.nextInt(12))),
+                column("sampleSize", r -> "08 Nos."),
+                column("inkType", r -> "Ink " + (1 + r.random.nextInt(30))),
+                column("batchNo", r -> r.batchNo()),
+                column("expiryDate", r -> r.date.plusMonths(6)),
+                column("qaName", r -> r.reviewedBy),
+                column("productionName", r -> r.submittedBy),
+                column("inspectionTime", r -> r.date.atTime(8 + r.random.nextInt(10), 0)),
+                column("productionArea", r -> r.pick(new String[] { "COATING", "PRINTING", "BOTH" })),
+                json("inspectionPoints", r -> r.detailRows(r.detailCount(), i -> Map.of(
+                        "id", i, "parameter", "Parameter " + i, "specification", "As per standard",
+                        "observation", r.pick(OBSERVATIONS), "result", r.random.nextInt(20) == 0 ? "NOT OK" : "OK")))));
+        return new SeedTable("FAIR", FirstArticleInspectionReport.class, "first_article_inspection_reports", columns);
+    }
+
+    /** Columns every report table has: identity, business date, shift and workflow state. */
+    private static List<Column> workflowColumns(String dateAttribute) {
+        return new ArrayList<>(List.of(
+                column("version", r -> 0L),
+                column("documentNo", r -> r.documentNo),
+                column(dateAttribute, r -> r.date),
+                column("shift", r -> r.pick(SHIFTS)),
+                column("status", r -> r.status),
+                column("submittedBy", r -> r.submittedBy),
+                column("submittedAt", r -> r.submittedAt),
+                column("reviewedBy", r -> r.reviewedBy),
+                column("reviewedAt", r -> r.reviewedAt),
+                column("comments", r -> r.comments)));
+    }
+
+    /** The document control block printed in the PDF header (see ReportHeader). */
+    private static List<Column> headerColumns(String scope, String title) {
+        return List.of(
+                column("unit", r -> "AGI Speciality Glass Division"),
+                column("scope", r -> scope),
+                column("title", r -> title),
+                column("revision", r -> "00"),
+                column("effectiveDate", r -> r.date.withDayOfYear(1)),
+                column("reviewedOn", r -> r.date.withDayOfYear(1)),
+                column("page", r -> "1 of 1"),
+                column("preparedBy", r -> "QA Executive"),
+                column("approvedBy", r -> "QA Head"),
+                column("issued", r -> "QA Head"));
+    }
+
+    private static Column column(String attribute, Function<Row, Object> value) {
+        return new Column(attribute, false, value);
+    }
+
+    private static Column json(String attribute, Function<Row, Object> value) {
+        return new Column(attribute, true, value);
+    }
+
+    /**
+     * A seedable table. Column attributes are checked against the entity, so a renamed field
+     * fails fast instead of at the first INSERT.
+     */
+    public record SeedTable(String name, Class<?> entityClass, String tableName, List<Column> columns) {
+
+        public SeedTable {
+            for (Column column : columns) {
+                try {
+                    entityClass.getDeclaredField(column.attribute());
+                } catch (NoSuchFieldException e) {
+                    throw new IllegalStateException(entityClass.getSimpleName() + " has no field " + column.attribute());
+                }
+            }
+        }
+    }
+
+    public record Column(String attribute, boolean jsonb, Function<Row, Object> value) {
+
+        String columnName() {
+            return attribute.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+        }
+    }
+
+    /**
+     * The random draws shared by the columns of one generated report, so that dates,
+     * status and people stay consistent with each other.
+     */
+    public static final class Row {
+
+        private final SplittableRandom random;
+        private final String documentNo;
+        private final LocalDate date;
+        private final String line;
+        private final String product;
+        private final String status;
+        private final String submittedBy;
+        private final LocalDateTime submittedAt;
+        private final String reviewedBy;
+        private final LocalDateTime reviewedAt;
+        private final String comments;
+        private final int maxDetailRows;
+        private int detailCount = -1;
+
+        private Row(SplittableRandom random, String documentNo, LocalDate date, int maxDetailRows) {
+            this.random = random;
+            this.maxDetailRows = maxDetailRows;
+            this.documentNo = documentNo;
+            this.date = date;
+            this.line = pick(LINES);
+            this.product = pick(PRODUCTS);
+
+            // 10% draft, 15% awaiting review, 65% approved, 10% rejected
+            int roll = random.nextInt(100);
+            this.status = STATUSES[roll < 10 ? 0 : roll < 25 ? 1 : roll < 90 ? 2 : 3];
+            boolean submitted = roll >= 10;
+            boolean reviewed = roll >= 25;
+            this.submittedBy = pick(OPERATORS);
+            this.submittedAt = submitted ? date.atTime(6, 0).plusMinutes(random.nextInt(16 * 60)) : null;
+            this.reviewedBy = reviewed ? pick(REVIEWERS) : null;
+            this.reviewedAt = reviewed ? submittedAt.plusMinutes(5 + random.nextInt(48 * 60)) : null;
+            this.comments = roll >= 90 ? "Rejected: " + pick(DEFECTS).toLowerCase() : null;
+        }
+
+        /** Rows in the main JSONB list; cubed so most reports are small and a few are large. */
+        private int detailCount() {
+            if (detailCount < 0) {
+                double r = random.nextDouble();
+                detailCount = 1 + (int) (r * r * r * maxDetailRows);
+            }
+            return detailCount;
+        }
+
+        private List<Map<String, Object>> detailRows(int count, IntFunction<Map<String, Object>> row) {
+            List<Map<String, Object>> rows = new ArrayList<>(count);
+            for (int i = 1; i <= count; i++) {
+                rows.add(row.apply(i));
+            }
+            return rows;
+        }
+
+        private String pick(String[] values) {
+            return values[random.nextInt(values.length)];
+        }
+
+        private String decimal(int min, int max) {
+            return String.valueOf(min + random.nextInt((max - min) * 10) / 10.0);
+        }
+
+        private String batchNo() {
+            return "B" + date.getYear() + "-" + (10000 + random.nextInt(90000));
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.swajyot.log.model.User;
+import com.swajyot.log.model.res.CursorPage;
+import com.swajyot.log.repository.ReportSpecifications;
 import com.swajyot.log.repository.UserRepository;
 
 import java.util.List;
@@ -14,11 +16,17 @@ import java.util.List;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final KeysetPaginator keysetPaginator;
     
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
     
+    public CursorPage<User> getUsersPage(User.Role role, Boolean active, String cursor, Integer size) {
+        return keysetPaginator.page(userRepository, ReportSpecifications.usersMatching(role, active),
+                cursor, size, User::getId);
+    }
+    
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
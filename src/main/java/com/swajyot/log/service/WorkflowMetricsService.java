@@ -0,0 +1,69 @@
+package com.swajyot.log.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.res.DwellHistogram;
+import com.swajyot.log.repository.WorkflowMetricsRepository;
+
+/**
+ * Dwell-time histograms built from the workflow transition history.
+ */
+@Service
+public class WorkflowMetricsService {
+
+    private final WorkflowMetricsRepository metricsRepository;
+    private final long[] bounds;
+
+    public WorkflowMetricsService(WorkflowMetricsRepository metricsRepository,
+                                  @Value("${app.workflow.dwell-buckets-ms:60000,300000,900000,1800000,3600000,7200000,14400000,28800000,86400000,259200000,604800000}")
+                                  long[] bounds) {
+        this.metricsRepository = metricsRepository;
+        this.bounds = Arrays.stream(bounds).sorted().distinct().toArray();
+    }
+
+    /**
+     * One histogram per report type and transition, optionally split by line.
+     *
+     * @param type Only this report type, or null for all
+     * @param from Only transitions at or after this time, or null
+     * @param to Only transitions before this time, or null
+     */
+    @Transactional(readOnly = true)
+    public List<DwellHistogram> getDwellHistograms(ReportType type, boolean byLine,
+                                                   LocalDateTime from, LocalDateTime to) {
+        Map<List<String>, long[]> counts = new LinkedHashMap<>();
+        Map<List<String>, long[]> totals = new LinkedHashMap<>();
+        for (Object[] row : metricsRepository.dwellBuckets(type, byLine, from, to, bounds)) {
+            List<String> key = Arrays.asList((String) row[0], (String) row[1], (String) row[2], (String) row[3]);
+            int bucket = ((Number) row[4]).intValue();
+            long count = ((Number) row[5]).longValue();
+            counts.computeIfAbsent(key, k -> new long[bounds.length + 1])[bucket] += count;
+            long[] total = totals.computeIfAbsent(key, k -> new long[3]);
+            total[0] += count;
+            total[1] += ((Number) row[6]).longValue();
+            total[2] = Math.max(total[2], ((Number) row[7]).longValue());
+        }
+
+        List<DwellHistogram> histograms = new ArrayList<>(counts.size());
+        counts.forEach((key, bucketCounts) -> {
+            long[] total = totals.get(key);
+            List<DwellHistogram.Bucket> buckets = new ArrayList<>(bucketCounts.length);
+            for (int i = 0; i < bucketCounts.length; i++) {
+                buckets.add(new DwellHistogram.Bucket(i < bounds.length ? bounds[i] : null, bucketCounts[i]));
+            }
+            histograms.add(new DwellHistogram(key.get(0), key.get(1), key.get(2), key.get(3), total[0],
+                    total[0] == 0 ? 0.0 : (double) total[1] / total[0], total[2], buckets));
+        });
+        return histograms;
+    }
+}
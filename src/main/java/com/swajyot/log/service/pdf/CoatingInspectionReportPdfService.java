@@ -4,19 +4,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
-import com.itextpdf.io.font.constants.StandardFonts;
-import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -32,6 +27,7 @@ import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.layout.properties.VerticalAlignment;
 import com.swajyot.log.model.CoatingInspectionReport;
+import com.swajyot.log.model.ReportType;
 
 @Service
 public class CoatingInspectionReportPdfService {
@@ -44,31 +40,49 @@ public class CoatingInspectionReportPdfService {
 	private static final float CONTENT_FONT_SIZE = 9f;
 	private static final float SMALL_FONT_SIZE = 8f;
 
+	private final PdfCache pdfCache;
+	private final PdfResources pdfResources;
+	private final PdfMetrics pdfMetrics;
+
+	public CoatingInspectionReportPdfService(PdfCache pdfCache, PdfResources pdfResources, PdfMetrics pdfMetrics) {
+		this.pdfCache = pdfCache;
+		this.pdfResources = pdfResources;
+		this.pdfMetrics = pdfMetrics;
+	}
+
 	public byte[] generatePdf(CoatingInspectionReport report, String username) throws IOException {
+		byte[] body = pdfCache.getOrRender(ReportType.COATING, report.getId(), report.getVersion(), () -> renderBody(report));
+		return pdfMetrics.stampFooter(ReportType.COATING, body, username);
+	}
+
+	/** Same as generatePdf without the PdfCache, for bulk exports. */
+	public byte[] generateUncachedPdf(CoatingInspectionReport report, String username) throws IOException {
+		byte[] body = pdfCache.renderUncached(() -> renderBody(report));
+		return pdfMetrics.stampFooter(ReportType.COATING, body, username);
+	}
+
+	private byte[] renderBody(CoatingInspectionReport report) throws IOException {
+		PdfMetrics.Stages stages = pdfMetrics.start(ReportType.COATING);
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		PdfWriter writer = new PdfWriter(baos);
 		PdfDocument pdf = new PdfDocument(writer);
 		Document document = new Document(pdf, PageSize.A4);
 		document.setMargins(15, 36, 15, 36);
-		PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-		PdfFont fontBold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+		PdfFont font = pdfResources.regularFont();
+		PdfFont fontBold = pdfResources.boldFont();
+		stages.end("setup");
 
-		PdfCommonComponents.addHeader(document, report, fontBold);
+		PdfCommonComponents.addHeader(document, report, fontBold, pdfResources.logo());
 		addProductInfo(document, report, font, fontBold);
+		stages.end("header");
 		addCoatingDetailsTable(document, report, font, fontBold);
 		addCharacteristicsTable(document, report, font, fontBold);
+		stages.end("tables");
 		addSignatureSection(document, report, font, fontBold);
-
-		// Add username at bottom of the PDF
-		String generatedTime = java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-
-		Paragraph usernameFooter = new Paragraph("Downloaded by: " + username + " on " + generatedTime)
-				.setFontSize(SMALL_FONT_SIZE).setTextAlignment(TextAlignment.RIGHT).setMarginTop(10);
-
-		document.add(usernameFooter);
+		stages.end("signatures");
 
 		document.close();
-		return baos.toByteArray();
+		return stages.finish(baos.toByteArray());
 	}
 
 	private void addProductInfo(Document document, CoatingInspectionReport report, PdfFont font, PdfFont fontBold) {
@@ -335,8 +349,7 @@ public class CoatingInspectionReportPdfService {
 		// Add QA signature if available
 		if (report.getQaSignature() != null && !report.getQaSignature().isEmpty()) {
 			try {
-				ClassPathResource resource = new ClassPathResource("static/images/QASign.png");
-				Image qaSignImg = new Image(ImageDataFactory.create(resource.getInputStream().readAllBytes()))
+				Image qaSignImg = pdfResources.qaSignature()
 						.scaleToFit(100, 30);
 				qaSign.add(qaSignImg);
 			} catch (Exception e) {
@@ -357,8 +370,7 @@ public class CoatingInspectionReportPdfService {
 		// Add operator signature if available
 		if (report.getOperatorSignature() != null && !report.getOperatorSignature().isEmpty()) {
 			try {
-				ClassPathResource resource = new ClassPathResource("static/images/OperatorSign.png");
-				Image operatorSignImg = new Image(ImageDataFactory.create(resource.getInputStream().readAllBytes()))
+				Image operatorSignImg = pdfResources.operatorSignature()
 						.scaleToFit(100, 30);
 				operatorSign.add(operatorSignImg);
 			} catch (Exception e) {
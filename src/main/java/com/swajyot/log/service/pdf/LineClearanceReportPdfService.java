@@ -4,20 +4,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
-import com.itextpdf.io.font.constants.StandardFonts;
-import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -34,6 +29,7 @@ import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.layout.properties.VerticalAlignment;
 import com.swajyot.log.model.LineClearanceReport;
+import com.swajyot.log.model.ReportType;
 
 @Service
 public class LineClearanceReportPdfService {
@@ -52,36 +48,51 @@ public class LineClearanceReportPdfService {
     private static final float CONTENT_FONT_SIZE = 9f;
     private static final float SMALL_FONT_SIZE = 8f;
 
+    private final PdfCache pdfCache;
+    private final PdfResources pdfResources;
+    private final PdfMetrics pdfMetrics;
+
+    public LineClearanceReportPdfService(PdfCache pdfCache, PdfResources pdfResources, PdfMetrics pdfMetrics) {
+        this.pdfCache = pdfCache;
+        this.pdfResources = pdfResources;
+        this.pdfMetrics = pdfMetrics;
+    }
+
     public byte[] generatePdf(LineClearanceReport report, String username) throws IOException {
+        byte[] body = pdfCache.getOrRender(ReportType.LINE_CLEARANCE, report.getId(), report.getVersion(), () -> renderBody(report));
+        return pdfMetrics.stampFooter(ReportType.LINE_CLEARANCE, body, username);
+    }
+
+    /** Same as generatePdf without the PdfCache, for bulk exports. */
+    public byte[] generateUncachedPdf(LineClearanceReport report, String username) throws IOException {
+        byte[] body = pdfCache.renderUncached(() -> renderBody(report));
+        return pdfMetrics.stampFooter(ReportType.LINE_CLEARANCE, body, username);
+    }
+
+    private byte[] renderBody(LineClearanceReport report) throws IOException {
+        PdfMetrics.Stages stages = pdfMetrics.start(ReportType.LINE_CLEARANCE);
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         PdfWriter writer = new PdfWriter(baos);
         PdfDocument pdf = new PdfDocument(writer);
         Document document = new Document(pdf, PageSize.A4);
         // Optimized margins for better content fit
         document.setMargins(15, 36, 15, 36); // top, right, bottom, left
-        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-        PdfFont fontBold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        PdfFont font = pdfResources.regularFont();
+        PdfFont fontBold = pdfResources.boldFont();
+        stages.end("setup");
 
 //        addHeader(document, report, fontBold);
         // Use the common header component
-        PdfCommonComponents.addHeader(document, report, fontBold);
+        PdfCommonComponents.addHeader(document, report, fontBold, pdfResources.logo());
         addProductInfo(document, report, font, fontBold);
+        stages.end("header");
         addCheckPointsTable(document, report, font, fontBold);
+        stages.end("tables");
         addSignatureSection(document, report, font, fontBold);
+        stages.end("signatures");
         
-        // Add username at bottom of the PDF
-        String generatedTime = java.time.LocalDateTime.now()
-                .format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-
-        Paragraph usernameFooter = new Paragraph("Downloaded by: " + username + " on " + generatedTime)
-                .setFontSize(SMALL_FONT_SIZE)
-                .setTextAlignment(TextAlignment.RIGHT)
-                .setMarginTop(10);
-
-        document.add(usernameFooter);
-
         document.close();
-        return baos.toByteArray();
+        return stages.finish(baos.toByteArray());
     }
 
     private void addProductInfo(Document document, LineClearanceReport report, PdfFont font, PdfFont fontBold) {
@@ -348,9 +359,7 @@ public class LineClearanceReportPdfService {
         // Add production signature if available
         if (report.getProductionSignature() != null && !report.getProductionSignature().isEmpty()) {
             try {
-                ClassPathResource resource = new ClassPathResource("static/images/OperatorSign.png");
-                Image productionSignImg = new Image(
-                        ImageDataFactory.create(resource.getInputStream().readAllBytes()))
+                Image productionSignImg = pdfResources.operatorSignature()
                         .scaleToFit(100, 30);
                 productionSign.add(productionSignImg);
             } catch (Exception e) {
@@ -376,9 +385,7 @@ public class LineClearanceReportPdfService {
         // Add quality signature if available
         if (report.getQualitySignature() != null && !report.getQualitySignature().isEmpty()) {
             try {
-                ClassPathResource resource = new ClassPathResource("static/images/QASign.png");
-                Image qualitySignImg = new Image(
-                        ImageDataFactory.create(resource.getInputStream().readAllBytes()))
+                Image qualitySignImg = pdfResources.qaSignature()
                         .scaleToFit(100, 30);
                 qualitySign.add(qualitySignImg);
             } catch (Exception e) {
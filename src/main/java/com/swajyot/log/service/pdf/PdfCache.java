@@ -0,0 +1,117 @@
+package com.swajyot.log.service.pdf;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.event.ReportChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LRU cache of rendered PDF bodies, i.e. documents without the per-request "Downloaded by"
+ * footer. Entries are keyed by report version, so a body rendered from an older load of the
+ * report is never served for a newer one. Bounded both by entry count and total bytes; all
+ * versions of a report are dropped when it changes. Misses are rendered in the PdfRenderLane.
+ */
+@Component
+@Slf4j
+public class PdfCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final PdfRenderLane renderLane;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    // Bumped on every eviction; a render that overlapped one is not stored
+    private long invalidations;
+
+    public PdfCache(@Value("${app.pdf-cache.max-entries:200}") int maxEntries,
+                    @Value("${app.pdf-cache.max-bytes:67108864}") long maxBytes,
+                    PdfRenderLane renderLane) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.renderLane = renderLane;
+    }
+
+    /**
+     * Returns the cached body for the report, rendering and storing it on a miss.
+     * The returned array is shared and must not be modified.
+     *
+     * @param version The version of the report the renderer was loaded at
+     */
+    public byte[] getOrRender(ReportType type, Long id, Long version, Renderer renderer) throws IOException {
+        if (maxEntries <= 0 || id == null) {
+            return renderLane.render(renderer);
+        }
+
+        Key key = new Key(type, id, version);
+        long seen;
+        synchronized (this) {
+            byte[] cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            seen = invalidations;
+        }
+
+        byte[] body = renderLane.render(renderer);
+
+        synchronized (this) {
+            if (invalidations == seen && body.length <= maxBytes) {
+                byte[] previous = entries.put(key, body);
+                totalBytes += body.length - (previous != null ? previous.length : 0);
+                trim();
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Renders in the PdfRenderLane without looking up or storing a cached body.
+     */
+    public byte[] renderUncached(Renderer renderer) throws IOException {
+        return renderLane.render(renderer);
+    }
+
+    public synchronized void evict(ReportType type, Long id) {
+        invalidations++;
+        Iterator<Map.Entry<Key, byte[]>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, byte[]> entry = it.next();
+            if (entry.getKey().type() == type && entry.getKey().id().equals(id)) {
+                totalBytes -= entry.getValue().length;
+                it.remove();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        evict(event.reportType(), event.reportId());
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<Key, byte[]>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && it.hasNext()) {
+            totalBytes -= it.next().getValue().length;
+            it.remove();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Renderer {
+        byte[] render() throws IOException;
+    }
+
+    private record Key(ReportType type, Long id, Long version) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.swajyot.log.service.pdf;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.swajyot.log.model.ReportType;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for PDF generation, tagged by report type.
+ *
+ * pdf.render is a whole body render (cache misses only) and pdf.render.stage its parts:
+ * setup (document and fonts), header, tables, signatures and close (layout flush and
+ * serialization). pdf.footer is the per-download footer stamp and pdf.size the body size.
+ */
+@Component
+public class PdfMetrics {
+
+    private final MeterRegistry registry;
+
+    public PdfMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Starts timing a render; the setup stage begins now.
+     */
+    public Stages start(ReportType type) {
+        return new Stages(type);
+    }
+
+    public byte[] stampFooter(ReportType type, byte[] body, String username) throws IOException {
+        long started = System.nanoTime();
+        byte[] stamped = PdfCommonComponents.stampDownloadFooter(body, username);
+        Timer.builder("pdf.footer")
+                .tag("type", type.name())
+                .register(registry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return stamped;
+    }
+
+    /**
+     * The stages of one render. Each call to {@link #end} closes the stage running since the
+     * previous call, so stages are contiguous and add up to the whole render.
+     */
+    public final class Stages {
+
+        private final ReportType type;
+        private final long started;
+        private long stageStarted;
+
+        private Stages(ReportType type) {
+            this.type = type;
+            this.started = System.nanoTime();
+            this.stageStarted = started;
+        }
+
+        public void end(String stage) {
+            long now = System.nanoTime();
+            Timer.builder("pdf.render.stage")
+                    .tag("type", type.name())
+                    .tag("stage", stage)
+                    .register(registry)
+                    .record(now - stageStarted, TimeUnit.NANOSECONDS);
+            stageStarted = now;
+        }
+
+        /**
+         * Ends the close stage and records the render as a whole.
+         *
+         * @return the body, for chaining
+         */
+        public byte[] finish(byte[] body) {
+            end("close");
+            Timer.builder("pdf.render")
+                    .tag("type", type.name())
+                    .register(registry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("pdf.size")
+                    .baseUnit("bytes")
+                    .tag("type", type.name())
+                    .register(registry)
+                    .record(body.length);
+            return body;
+        }
+    }
+}
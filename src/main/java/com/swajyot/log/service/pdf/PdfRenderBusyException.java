@@ -0,0 +1,19 @@
+package com.swajyot.log.service.pdf;
+
+/**
+ * Thrown when no render slot became free in time. The request can be retried once the
+ * current renders have finished.
+ */
+public class PdfRenderBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PdfRenderBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,69 @@
+package com.swajyot.log.service.pdf;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Limits how many PDF bodies are rendered at once. iText layout is CPU-bound, so rendering
+ * more documents than there are cores only adds context switches and heap pressure, and with
+ * virtual request threads nothing else would stop thousands of requests rendering together.
+ * Renders beyond the limit wait in arrival order.
+ */
+@Component
+public class PdfRenderLane {
+
+    private final Semaphore permits;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+    private final Timer waitTimer;
+
+    public PdfRenderLane(@Value("${app.pdf.render-permits:0}") int permits,
+                         @Value("${app.pdf.render-wait-ms:30000}") long maxWaitMs,
+                         @Value("${app.pdf.busy-retry-after-seconds:5}") long retryAfterSeconds,
+                         MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(permits > 0 ? permits : Runtime.getRuntime().availableProcessors(), true);
+        this.maxWaitMs = maxWaitMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.waitTimer = Timer.builder("pdf.render.wait")
+                .description("Time spent waiting for a render permit")
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.waiting", this.permits, Semaphore::getQueueLength)
+                .description("Renders waiting for a permit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the renderer once a permit is free.
+     *
+     * @throws PdfRenderBusyException if no permit became free within app.pdf.render-wait-ms
+     */
+    public byte[] render(PdfCache.Renderer renderer) throws IOException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to render a PDF");
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new PdfRenderBusyException("Timed out waiting to render a PDF", retryAfterSeconds);
+        }
+        try {
+            return renderer.render();
+        } finally {
+            permits.release();
+        }
+    }
+}
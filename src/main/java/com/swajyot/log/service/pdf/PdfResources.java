@@ -0,0 +1,122 @@
+package com.swajyot.log.service.pdf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.layout.element.Image;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fonts and images shared by all PDF services, loaded and decoded once at startup.
+ *
+ * ImageData and FontProgram are read-only once created and can be used by concurrent
+ * renders; PdfFont and Image are bound to a single document, so fresh ones are handed out
+ * per call.
+ */
+@Component
+@Slf4j
+public class PdfResources {
+
+    private static final String LOGO = "static/images/agilogo.png";
+    private static final String QA_SIGNATURE = "static/images/QASign.png";
+    private static final String OPERATOR_SIGNATURE = "static/images/OperatorSign.png";
+
+    private final Map<String, LoadStats> loadStats = new LinkedHashMap<>();
+
+    private final FontProgram regular;
+    private final FontProgram bold;
+    private final ImageData logo;
+    private final ImageData qaSignature;
+    private final ImageData operatorSignature;
+
+    public PdfResources() throws IOException {
+        this.regular = loadFont(StandardFonts.HELVETICA);
+        this.bold = loadFont(StandardFonts.HELVETICA_BOLD);
+        this.logo = loadImage(LOGO);
+        this.qaSignature = loadImage(QA_SIGNATURE);
+        this.operatorSignature = loadImage(OPERATOR_SIGNATURE);
+        log.info("PDF resources loaded: {}", loadStats.values());
+    }
+
+    public PdfFont regularFont() {
+        return PdfFontFactory.createFont(regular);
+    }
+
+    public PdfFont boldFont() {
+        return PdfFontFactory.createFont(bold);
+    }
+
+    /**
+     * @return The company logo, or null if it could not be loaded
+     */
+    public Image logo() {
+        return logo != null ? new Image(logo) : null;
+    }
+
+    /**
+     * @throws IllegalStateException if the image could not be loaded at startup
+     */
+    public Image qaSignature() {
+        return image(qaSignature, QA_SIGNATURE);
+    }
+
+    /**
+     * @throws IllegalStateException if the image could not be loaded at startup
+     */
+    public Image operatorSignature() {
+        return image(operatorSignature, OPERATOR_SIGNATURE);
+    }
+
+    public Map<String, LoadStats> getLoadStats() {
+        return Collections.unmodifiableMap(loadStats);
+    }
+
+    private static Image image(ImageData data, String path) {
+        if (data == null) {
+            throw new IllegalStateException("Image not available: " + path);
+        }
+        return new Image(data);
+    }
+
+    private FontProgram loadFont(String name) throws IOException {
+        long start = System.nanoTime();
+        FontProgram program = FontProgramFactory.createFont(name);
+        loadStats.put(name, new LoadStats(name, 0, elapsedMillis(start), true));
+        return program;
+    }
+
+    private ImageData loadImage(String path) {
+        long start = System.nanoTime();
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            byte[] bytes = in.readAllBytes();
+            ImageData data = ImageDataFactory.create(bytes);
+            loadStats.put(path, new LoadStats(path, bytes.length, elapsedMillis(start), true));
+            return data;
+        } catch (Exception e) {
+            log.warn("Could not load PDF image {}: {}", path, e.getMessage());
+            loadStats.put(path, new LoadStats(path, 0, elapsedMillis(start), false));
+            return null;
+        }
+    }
+
+    private static double elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    public record LoadStats(String name, long bytes, double loadMillis, boolean loaded) {
+    }
+}
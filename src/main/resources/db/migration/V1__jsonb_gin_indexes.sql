@@ -0,0 +1,4 @@
+-- GIN index behind the JSONB containment queries on IQC audit results
+-- (previously created at startup by JsonbIndexConfig).
+CREATE INDEX IF NOT EXISTS idx_iqc_audit_results_gin
+    ON incoming_quality_inspection_reports USING GIN (audit_results jsonb_path_ops);
@@ -0,0 +1,53 @@
+-- Composite indexes for the report list filters, keyset paging and document number
+-- generation. Each list filter is an equality on the leading column followed by a
+-- range or sort on the date, so one index serves both.
+
+-- inspection_forms
+CREATE INDEX IF NOT EXISTS idx_if_status_date ON inspection_forms (status, inspection_date);
+CREATE INDEX IF NOT EXISTS idx_if_date ON inspection_forms (inspection_date);
+CREATE INDEX IF NOT EXISTS idx_if_line_date ON inspection_forms (line_no, inspection_date);
+CREATE INDEX IF NOT EXISTS idx_if_submitter_date ON inspection_forms (submitted_by, submitted_at);
+CREATE INDEX IF NOT EXISTS idx_if_reviewer_date ON inspection_forms (reviewed_by, reviewed_at);
+CREATE INDEX IF NOT EXISTS idx_if_submitted_at_id ON inspection_forms (submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_if_product ON inspection_forms (product);
+CREATE INDEX IF NOT EXISTS idx_if_document_no_prefix ON inspection_forms (document_no text_pattern_ops);
+
+-- coating_inspection_reports
+CREATE INDEX IF NOT EXISTS idx_cir_status_date ON coating_inspection_reports (status, inspection_date);
+CREATE INDEX IF NOT EXISTS idx_cir_date ON coating_inspection_reports (inspection_date);
+CREATE INDEX IF NOT EXISTS idx_cir_line_date ON coating_inspection_reports (line_no, inspection_date);
+CREATE INDEX IF NOT EXISTS idx_cir_submitter_date ON coating_inspection_reports (submitted_by, submitted_at);
+CREATE INDEX IF NOT EXISTS idx_cir_reviewer_date ON coating_inspection_reports (reviewed_by, reviewed_at);
+CREATE INDEX IF NOT EXISTS idx_cir_submitted_at_id ON coating_inspection_reports (submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_cir_product ON coating_inspection_reports (product);
+CREATE INDEX IF NOT EXISTS idx_cir_document_no_prefix ON coating_inspection_reports (document_no text_pattern_ops);
+
+-- printing_inspection_reports
+CREATE INDEX IF NOT EXISTS idx_pir_status_date ON printing_inspection_reports (status, inspection_date);
+CREATE INDEX IF NOT EXISTS idx_pir_date ON printing_inspection_reports (inspection_date);
+CREATE INDEX IF NOT EXISTS idx_pir_line_date ON printing_inspection_reports (line_no, inspection_date);
+CREATE INDEX IF NOT EXISTS idx_pir_submitter_date ON printing_inspection_reports (submitted_by, submitted_at);
+CREATE INDEX IF NOT EXISTS idx_pir_reviewer_date ON printing_inspection_reports (reviewed_by, reviewed_at);
+CREATE INDEX IF NOT EXISTS idx_pir_submitted_at_id ON printing_inspection_reports (submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_pir_product ON printing_inspection_reports (product);
+CREATE INDEX IF NOT EXISTS idx_pir_document_no_prefix ON printing_inspection_reports (document_no text_pattern_ops);
+
+-- line_clearance_reports
+CREATE INDEX IF NOT EXISTS idx_lcr_status_date ON line_clearance_reports (status, report_date);
+CREATE INDEX IF NOT EXISTS idx_lcr_date ON line_clearance_reports (report_date);
+CREATE INDEX IF NOT EXISTS idx_lcr_line_date ON line_clearance_reports (line, report_date);
+CREATE INDEX IF NOT EXISTS idx_lcr_submitter_date ON line_clearance_reports (submitted_by, submitted_at);
+CREATE INDEX IF NOT EXISTS idx_lcr_reviewer_date ON line_clearance_reports (reviewed_by, reviewed_at);
+CREATE INDEX IF NOT EXISTS idx_lcr_submitted_at_id ON line_clearance_reports (submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_lcr_product ON line_clearance_reports (product_name);
+CREATE INDEX IF NOT EXISTS idx_lcr_document_no_prefix ON line_clearance_reports (document_no text_pattern_ops);
+
+-- incoming_quality_inspection_reports
+CREATE INDEX IF NOT EXISTS idx_iqc_status_date ON incoming_quality_inspection_reports (status, iqc_date);
+CREATE INDEX IF NOT EXISTS idx_iqc_date ON incoming_quality_inspection_reports (iqc_date);
+CREATE INDEX IF NOT EXISTS idx_iqc_submitter_date ON incoming_quality_inspection_reports (submitted_by, submitted_at);
+CREATE INDEX IF NOT EXISTS idx_iqc_reviewer_date ON incoming_quality_inspection_reports (reviewed_by, reviewed_at);
+CREATE INDEX IF NOT EXISTS idx_iqc_submitted_at_id ON incoming_quality_inspection_reports (submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_iqc_product ON incoming_quality_inspection_reports (product_variant_name);
+CREATE INDEX IF NOT EXISTS idx_iqc_document_no_prefix ON incoming_quality_inspection_reports (document_no text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_iqc_supplier_date ON incoming_quality_inspection_reports (product_received_from, iqc_date);
@@ -0,0 +1,14 @@
+-- Trigram index for the case-insensitive "product contains" search on inspection forms.
+-- Spring Data renders ContainingIgnoreCase as upper(product) LIKE upper(?), so the index
+-- is on the same expression. pg_trgm needs CREATE privilege on the database; without it
+-- the search keeps working on a sequential scan and the startup plan check reports it.
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    CREATE INDEX IF NOT EXISTS idx_if_product_trgm
+        ON inspection_forms USING GIN (upper(product) gin_trgm_ops);
+EXCEPTION
+    WHEN insufficient_privilege OR undefined_file THEN
+        RAISE WARNING 'pg_trgm unavailable, product search index not created: %', SQLERRM;
+END
+$$;
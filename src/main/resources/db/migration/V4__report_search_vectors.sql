@@ -0,0 +1,85 @@
+-- Full-text search vectors for /api/search. The columns are generated by the database,
+-- so every insert and update keeps them current without application code; they are not
+-- mapped by the entities. 'simple' is used instead of a language configuration because
+-- most searched values are codes and names (batch numbers, variants) that must not be
+-- stemmed.
+--
+-- Weights: A = document number and product identity, B = line / batch / people,
+-- C = free text (comments, observations, remarks, defect names).
+
+ALTER TABLE inspection_forms ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(document_no, '') || ' ' || coalesce(product, '') || ' ' || coalesce(variant, '') || ' ' || coalesce(customer, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(line_no, '') || ' ' || coalesce(size_no, '') || ' ' || coalesce(submitted_by, '') || ' ' || coalesce(reviewed_by, '')), 'B')
+        || setweight(to_tsvector('simple', coalesce(comments, '')), 'C')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].name')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].observation')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].comments'),
+                '["string"]'), 'C')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_if_search ON inspection_forms USING GIN (search_vector);
+
+ALTER TABLE coating_inspection_reports ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(document_no, '') || ' ' || coalesce(product, '') || ' ' || coalesce(variant, '') || ' ' || coalesce(customer, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(line_no, '') || ' ' || coalesce(size_no, '') || ' ' || coalesce(submitted_by, '') || ' ' || coalesce(reviewed_by, '')), 'B')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(coating_details, '[]'::jsonb), '$[*].name')
+                || jsonb_path_query_array(coalesce(coating_details, '[]'::jsonb), '$[*].batchNo'),
+                '["string"]'), 'B')
+        || setweight(to_tsvector('simple', coalesce(comments, '')), 'C')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].characteristic')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].observations')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].bodyObservations')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].bottomObservations')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].comments'),
+                '["string"]'), 'C')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_cir_search ON coating_inspection_reports USING GIN (search_vector);
+
+ALTER TABLE printing_inspection_reports ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(document_no, '') || ' ' || coalesce(product, '') || ' ' || coalesce(variant, '') || ' ' || coalesce(customer, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(line_no, '') || ' ' || coalesce(machine_no, '') || ' ' || coalesce(size_no, '') || ' ' || coalesce(submitted_by, '') || ' ' || coalesce(reviewed_by, '')), 'B')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(printing_details, '[]'::jsonb), '$[*].inkType')
+                || jsonb_path_query_array(coalesce(printing_details, '[]'::jsonb), '$[*].batchNo'),
+                '["string"]'), 'B')
+        || setweight(to_tsvector('simple', coalesce(comments, '')), 'C')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].characteristic')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].observations')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].comments'),
+                '["string"]'), 'C')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_pir_search ON printing_inspection_reports USING GIN (search_vector);
+
+ALTER TABLE line_clearance_reports ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(document_no, '') || ' ' || coalesce(product_name, '') || ' ' || coalesce(existing_variant_name, '') || ' ' || coalesce(new_variant_name, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(line, '') || ' ' || coalesce(submitted_by, '') || ' ' || coalesce(reviewed_by, '')), 'B')
+        || setweight(to_tsvector('simple', coalesce(existing_variant_description, '') || ' ' || coalesce(new_variant_description, '') || ' ' || coalesce(comments, '')), 'C')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(check_points, '[]'::jsonb), '$[*].description')
+                || jsonb_path_query_array(coalesce(check_points, '[]'::jsonb), '$[*].remarks'),
+                '["string"]'), 'C')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_lcr_search ON line_clearance_reports USING GIN (search_vector);
+
+ALTER TABLE incoming_quality_inspection_reports ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(document_no, '') || ' ' || coalesce(product_variant_name, '') || ' ' || coalesce(product_received_from, '') || ' ' || coalesce(batch_number, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(quality_decision, '') || ' ' || coalesce(submitted_by, '') || ' ' || coalesce(reviewed_by, '')), 'B')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(test_results, '[]'::jsonb), '$[*].testName')
+                || jsonb_path_query_array(coalesce(test_results, '[]'::jsonb), '$[*].result'),
+                '["string"]'), 'B')
+        || setweight(to_tsvector('simple', coalesce(comments, '')), 'C')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(audit_results, '[]'::jsonb), '$[*].defectName')
+                || jsonb_path_query_array(coalesce(audit_results, '[]'::jsonb), '$[*].category'),
+                '["string"]'), 'C')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_iqc_search ON incoming_quality_inspection_reports USING GIN (search_vector);
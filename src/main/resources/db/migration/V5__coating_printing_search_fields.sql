@@ -0,0 +1,43 @@
+-- Completes the coating and printing search vectors from V4: lacquer rows store their name
+-- under lacquerType, and the report-level batch_no (coating) and visual_defect (coating,
+-- printing) columns were left out. A generated column's expression cannot be altered, so
+-- the columns are dropped (taking their indexes with them) and added again.
+
+ALTER TABLE coating_inspection_reports DROP COLUMN IF EXISTS search_vector;
+ALTER TABLE coating_inspection_reports ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(document_no, '') || ' ' || coalesce(product, '') || ' ' || coalesce(variant, '') || ' ' || coalesce(customer, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(line_no, '') || ' ' || coalesce(size_no, '') || ' ' || coalesce(batch_no, '') || ' ' || coalesce(submitted_by, '') || ' ' || coalesce(reviewed_by, '')), 'B')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(coating_details, '[]'::jsonb), '$[*].lacquerType')
+                || jsonb_path_query_array(coalesce(coating_details, '[]'::jsonb), '$[*].name')
+                || jsonb_path_query_array(coalesce(coating_details, '[]'::jsonb), '$[*].batchNo'),
+                '["string"]'), 'B')
+        || setweight(to_tsvector('simple', coalesce(visual_defect, '') || ' ' || coalesce(comments, '')), 'C')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].characteristic')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].observations')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].bodyObservations')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].bottomObservations')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].comments'),
+                '["string"]'), 'C')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_cir_search ON coating_inspection_reports USING GIN (search_vector);
+
+ALTER TABLE printing_inspection_reports DROP COLUMN IF EXISTS search_vector;
+ALTER TABLE printing_inspection_reports ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(document_no, '') || ' ' || coalesce(product, '') || ' ' || coalesce(variant, '') || ' ' || coalesce(customer, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(line_no, '') || ' ' || coalesce(machine_no, '') || ' ' || coalesce(size_no, '') || ' ' || coalesce(submitted_by, '') || ' ' || coalesce(reviewed_by, '')), 'B')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(printing_details, '[]'::jsonb), '$[*].inkType')
+                || jsonb_path_query_array(coalesce(printing_details, '[]'::jsonb), '$[*].batchNo'),
+                '["string"]'), 'B')
+        || setweight(to_tsvector('simple', coalesce(visual_defect, '') || ' ' || coalesce(comments, '')), 'C')
+        || setweight(jsonb_to_tsvector('simple',
+                jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].characteristic')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].observations')
+                || jsonb_path_query_array(coalesce(characteristics, '[]'::jsonb), '$[*].comments'),
+                '["string"]'), 'C')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_pir_search ON printing_inspection_reports USING GIN (search_vector);
@@ -0,0 +1,63 @@
+package com.swajyot.log.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.hibernate.query.NativeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.swajyot.log.model.ReportType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+class ReportJsonRepositoryTest {
+
+    private final ReportJsonRepository repository = new ReportJsonRepository();
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    @BeforeEach
+    void setUp() {
+        Query query = mock(Query.class);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.unwrap(NativeQuery.class)).thenReturn(mock(NativeQuery.class));
+        when(query.executeUpdate()).thenReturn(1);
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+    }
+
+    @Test
+    void everyInColumnUpdateIncrementsTheVersionColumn() {
+        List<String> path = List.of("0", "result");
+        repository.replace(ReportType.COATING, "characteristics", 1L, path, "\"OK\"");
+        repository.put(ReportType.COATING, "characteristics", 1L, path, "\"OK\"");
+        repository.insert(ReportType.COATING, "characteristics", 1L, List.of("-"), "{}");
+        repository.remove(ReportType.COATING, "characteristics", 1L, path);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager, times(4)).createNativeQuery(sql.capture());
+        for (String statement : sql.getAllValues()) {
+            assertTrue(statement.contains("version = version + 1"), statement);
+        }
+    }
+
+    @Test
+    void quotesEveryPathElement() {
+        assertEquals("{\"characteristics\",\"0\"}", ReportJsonRepository.toTextArray(List.of("characteristics", "0")));
+        assertEquals("{\"a,b\",\"{x}\",\"\"}", ReportJsonRepository.toTextArray(List.of("a,b", "{x}", "")));
+        assertEquals("{\"say \\\"hi\\\"\",\"back\\\\slash\"}",
+                ReportJsonRepository.toTextArray(List.of("say \"hi\"", "back\\slash")));
+        assertEquals("{}", ReportJsonRepository.toTextArray(List.of()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.swajyot.log.model.CoatingInspectionReport;
+import com.swajyot.log.repository.CoatingInspectionReportRepository;
+
+class CoatingInspectionReportServiceTest {
+
+    private final CoatingInspectionReportRepository repository = mock(CoatingInspectionReportRepository.class);
+    private final CoatingInspectionReportService service = new CoatingInspectionReportService(repository,
+            null, null, mock(ApplicationEventPublisher.class), null, null);
+
+    @Test
+    void putCannotChangeTheStatusOrWorkflowFields() {
+        CoatingInspectionReport stored = new CoatingInspectionReport();
+        stored.setId(1L);
+        stored.setVersion(3L);
+        stored.setStatus(CoatingInspectionReport.ReportStatus.DRAFT);
+        when(repository.findById(1L)).thenReturn(Optional.of(stored));
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CoatingInspectionReport incoming = new CoatingInspectionReport();
+        incoming.setStatus(CoatingInspectionReport.ReportStatus.APPROVED);
+        incoming.setReviewedBy("someone");
+        incoming.setReviewedAt(LocalDateTime.now());
+        incoming.setProduct("50 ML Bottle");
+
+        CoatingInspectionReport saved = service.updateReport(1L, incoming);
+
+        assertEquals(CoatingInspectionReport.ReportStatus.DRAFT, saved.getStatus());
+        assertNull(saved.getReviewedBy());
+        assertNull(saved.getReviewedAt());
+        assertEquals("50 ML Bottle", saved.getProduct());
+        assertEquals(3L, saved.getVersion());
+    }
+}
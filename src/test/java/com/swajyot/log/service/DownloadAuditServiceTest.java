@@ -0,0 +1,115 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.swajyot.log.model.ReportDownload;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.event.ReportDownloadedEvent;
+import com.swajyot.log.repository.ReportDownloadRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DownloadAuditServiceTest {
+
+    private final ReportDownloadRepository repository = mock(ReportDownloadRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    // Copies of every batch passed to saveAll, in call order
+    private final List<List<Long>> savedBatches = new ArrayList<>();
+
+    DownloadAuditServiceTest() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    }
+
+    @Test
+    void failedBatchIsRetriedBeforeNewerRecords() {
+        DownloadAuditService service = service(10, 10, 100, 400);
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            record(invocation.getArgument(0));
+            throw new DataAccessResourceFailureException("down");
+        }).thenAnswer(invocation -> {
+            record(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        service.onReportDownloaded(event(1L));
+        service.flush();
+        service.onReportDownloaded(event(2L));
+        service.onReportDownloaded(event(3L));
+        service.flush();
+        assertEquals(List.of(List.of(1L)), savedBatches, "nothing is written before the backoff elapses");
+
+        ReflectionTestUtils.setField(service, "retryAt", 0L);
+        service.flush();
+
+        assertEquals(List.of(List.of(1L), List.of(1L), List.of(2L, 3L)), savedBatches);
+        assertEquals(0L, ReflectionTestUtils.getField(service, "backoffMs"));
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        DownloadAuditService service = service(10, 10, 100, 400);
+        when(repository.saveAll(any())).thenThrow(new DataAccessResourceFailureException("down"));
+        service.onReportDownloaded(event(1L));
+
+        List<Long> backoffs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ReflectionTestUtils.setField(service, "retryAt", 0L);
+            service.flush();
+            backoffs.add((Long) ReflectionTestUtils.getField(service, "backoffMs"));
+        }
+
+        assertEquals(List.of(100L, 200L, 400L, 400L), backoffs);
+        verify(repository, times(4)).saveAll(any());
+    }
+
+    @Test
+    void fullBufferWritesDirectly() {
+        DownloadAuditService service = service(3, 3, 60_000, 60_000);
+        when(repository.saveAll(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Park one record in the retry slot so the buffer cannot drain while the backoff runs
+        service.onReportDownloaded(event(1L));
+        service.flush();
+        service.onReportDownloaded(event(2L));
+        service.onReportDownloaded(event(3L));
+        service.onReportDownloaded(event(4L));
+        service.onReportDownloaded(event(5L));
+
+        verify(repository).save(new ReportDownload(null, ReportType.COATING, 5L, "auditor", event(5L).downloadedAt()));
+        verify(repository, never()).save(new ReportDownload(null, ReportType.COATING, 4L, "auditor",
+                event(4L).downloadedAt()));
+    }
+
+    private DownloadAuditService service(int batchSize, int bufferCapacity, long initialBackoffMs,
+                                         long maxBackoffMs) {
+        return new DownloadAuditService(repository, null, transactionManager, batchSize, bufferCapacity,
+                initialBackoffMs, maxBackoffMs, new SimpleMeterRegistry());
+    }
+
+    private void record(Iterable<ReportDownload> batch) {
+        List<Long> ids = new ArrayList<>();
+        batch.forEach(download -> ids.add(download.getReportId()));
+        savedBatches.add(ids);
+    }
+
+    private static ReportDownloadedEvent event(Long reportId) {
+        return new ReportDownloadedEvent(ReportType.COATING, reportId, "auditor",
+                LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(reportId));
+    }
+}
@@ -0,0 +1,32 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ETagsTest {
+
+    @Test
+    void formatsVersionAsStrongTag() {
+        assertEquals("\"3\"", ETags.of(3L));
+        assertEquals("\"0\"", ETags.of(null));
+    }
+
+    @Test
+    void matchesExactWeakListAndWildcard() {
+        assertTrue(ETags.matches("\"3\"", 3L));
+        assertTrue(ETags.matches("W/\"3\"", 3L));
+        assertTrue(ETags.matches("\"1\", \"3\"", 3L));
+        assertTrue(ETags.matches("*", 3L));
+    }
+
+    @Test
+    void rejectsOtherVersionsAndMissingValues() {
+        assertFalse(ETags.matches("\"2\"", 3L));
+        assertFalse(ETags.matches("3", 3L));
+        assertFalse(ETags.matches(null, 3L));
+        assertFalse(ETags.matches("*", null));
+    }
+}
@@ -0,0 +1,126 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.swajyot.log.model.EmailJob;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.repository.EmailJobRepository;
+
+class EmailOutboxWorkerTest {
+
+    private final EmailJobRepository emailJobRepository = mock(EmailJobRepository.class);
+    private final ReportPdfRenderer reportPdfRenderer = mock(ReportPdfRenderer.class);
+    private final EmailService emailService = mock(EmailService.class);
+    private final EmailOutboxWorker worker = new EmailOutboxWorker(emailJobRepository, reportPdfRenderer,
+            emailService, 4, 3, 2000, 60000, 600000);
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertEquals(2000, EmailOutboxWorker.backoffMillis(1, 2000, 60000));
+        assertEquals(4000, EmailOutboxWorker.backoffMillis(2, 2000, 60000));
+        assertEquals(16000, EmailOutboxWorker.backoffMillis(4, 2000, 60000));
+        assertEquals(60000, EmailOutboxWorker.backoffMillis(10, 2000, 60000));
+    }
+
+    @Test
+    void claimsNoMoreThanTheFreeSlotsAndMarksSentJobs() throws Exception {
+        EmailJob job = claimed(1);
+        when(emailJobRepository.claimDue(anyInt())).thenReturn(List.of(job));
+        when(reportPdfRenderer.render(ReportType.COATING, 7L, "qa")).thenReturn(new byte[] { 1 });
+
+        worker.poll();
+
+        verify(emailJobRepository).claimDue(4);
+        EmailJob saved = saved();
+        assertEquals(EmailJob.Status.SENT, saved.getStatus());
+        assertNotNull(saved.getSentAt());
+        assertNull(saved.getLastError());
+        verify(emailService).sendEmailWithAttachment("qa@example.com", "Report", "<p>Attached</p>",
+                new byte[] { 1 }, "report.pdf");
+    }
+
+    @Test
+    void failedSendIsQueuedAgainWithBackoff() throws Exception {
+        when(emailJobRepository.claimDue(anyInt())).thenReturn(List.of(claimed(2)));
+        when(reportPdfRenderer.render(any(), any(), anyString())).thenReturn(new byte[] { 1 });
+        doThrow(new IllegalStateException("SMTP down")).when(emailService)
+                .sendEmailWithAttachment(anyString(), anyString(), anyString(), any(), anyString());
+
+        LocalDateTime before = LocalDateTime.now();
+        worker.poll();
+
+        EmailJob saved = saved();
+        assertEquals(EmailJob.Status.QUEUED, saved.getStatus());
+        assertEquals("SMTP down", saved.getLastError());
+        // Second attempt failed, so the next one waits 2 x 2000 ms
+        assertTrue(!saved.getNextAttemptAt().isBefore(before.plusNanos(4000L * 1_000_000)));
+    }
+
+    @Test
+    void jobFailsForGoodAfterMaxAttempts() throws Exception {
+        when(emailJobRepository.claimDue(anyInt())).thenReturn(List.of(claimed(3)));
+        when(reportPdfRenderer.render(any(), any(), anyString())).thenThrow(new IOException("Report missing"));
+
+        worker.poll();
+
+        EmailJob saved = saved();
+        assertEquals(EmailJob.Status.FAILED, saved.getStatus());
+        assertEquals("Report missing", saved.getLastError());
+        verify(emailService, never()).sendEmailWithAttachment(anyString(), anyString(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void requeueOnlyTouchesExpiredClaims() {
+        worker.requeueExpired();
+
+        verify(emailJobRepository).requeueExpired(eq(600000L));
+    }
+
+    private EmailJob saved() {
+        ArgumentCaptor<EmailJob> captor = ArgumentCaptor.forClass(EmailJob.class);
+        verify(emailJobRepository, timeout(5000)).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private static EmailJob claimed(int attempts) {
+        EmailJob job = new EmailJob();
+        job.setId(11L);
+        job.setReportType(ReportType.COATING);
+        job.setReportId(7L);
+        job.setRequestedBy("qa");
+        job.setRecipient("qa@example.com");
+        job.setSubject("Report");
+        job.setBody("<p>Attached</p>");
+        job.setFileName("report.pdf");
+        job.setStatus(EmailJob.Status.SENDING);
+        job.setAttempts(attempts);
+        job.setClaimedAt(LocalDateTime.now());
+        return job;
+    }
+}
@@ -0,0 +1,41 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+
+class EmailServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void sendsPdfAsAttachment() throws Exception {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        EmailService emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "mailSender", mailSender);
+
+        byte[] pdf = "%PDF-1.7 test".getBytes();
+        emailService.sendEmailWithAttachment("qa@example.com", "Report", "<p>Attached</p>", pdf, "report.pdf");
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("Report", received[0].getSubject());
+        MimeMultipart content = (MimeMultipart) received[0].getContent();
+        assertTrue(GreenMailUtil.getBody(received[0]).contains("report.pdf"));
+        assertTrue(content.getCount() >= 2);
+    }
+}
@@ -0,0 +1,130 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import com.swajyot.log.model.req.ReportFilter.SortKey;
+import com.swajyot.log.model.res.CursorPage;
+
+class KeysetPaginatorTest {
+
+    private final KeysetPaginator paginator = new KeysetPaginator(50, 200);
+
+    @SuppressWarnings("unchecked")
+    private final JpaSpecificationExecutor<Row> repository = mock(JpaSpecificationExecutor.class);
+
+    private final Specification<Row> noFilter = Specification.where(null);
+
+    @Test
+    void cursorRoundTripWalksEveryRowOnce() {
+        // The repository answers each query with the next slice, newest first, plus the look-ahead row
+        doReturn(rows(7, 6, 5, 4), rows(4, 3, 2, 1), rows(1))
+                .when(repository).findBy(any(), any());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<Row> page = paginator.page(repository, noFilter, cursor, 3, Row::id);
+            page.getItems().forEach(row -> seen.add(row.id()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(7L, 6L, 5L, 4L, 3L, 2L, 1L), seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void submittedAtCursorIsAcceptedForTheNextPage() {
+        doReturn(rows(3, 2), rows(1)).when(repository).findBy(any(), any());
+
+        CursorPage<Row> first = paginator.page(repository, noFilter, SortKey.SUBMITTED_AT, null, 1,
+                Row::id, Row::submittedAt);
+        assertNotNull(first.getNextCursor());
+
+        CursorPage<Row> second = paginator.page(repository, noFilter, SortKey.SUBMITTED_AT,
+                first.getNextCursor(), 1, Row::id, Row::submittedAt);
+        assertEquals(1L, second.getItems().get(0).id());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        doReturn(rows(3, 2, 1)).when(repository).findBy(any(), any());
+
+        CursorPage<Row> page = paginator.page(repository, noFilter, null, 10, Row::id);
+
+        assertEquals(3, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> paginator.page(repository, noFilter, "not base64!", 3, Row::id));
+        // Valid base64 of "SUBMITTED_AT|2024-01-01T00:00|5", a cursor for another sort
+        String otherSort = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("SUBMITTED_AT|2024-01-01T00:00|5".getBytes());
+        assertThrows(IllegalArgumentException.class,
+                () -> paginator.page(repository, noFilter, otherSort, 3, Row::id));
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertEquals(50, paginator.clampSize(null));
+        assertEquals(50, paginator.clampSize(0));
+        assertEquals(200, paginator.clampSize(10_000));
+        assertEquals(20, paginator.clampSize(20));
+    }
+
+    @Test
+    void idRangeCursorRoundTripWalksEveryRowOnce() {
+        // Ids 1..7 served newest first, like "WHERE id < :before ORDER BY id DESC LIMIT :limit"
+        List<Long> ids = LongStream.rangeClosed(1, 7).boxed().sorted((a, b) -> Long.compare(b, a)).toList();
+        KeysetPaginator.IdRangeFetcher<Long> fetcher =
+                (beforeId, limit) -> ids.stream().filter(id -> id < beforeId).limit(limit).toList();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<Long> page = paginator.pageById(cursor, 3, fetcher, Function.identity());
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(ids, seen);
+        assertEquals(3, pages);
+        assertThrows(IllegalArgumentException.class,
+                () -> paginator.pageById("not base64!", 3, fetcher, Function.identity()));
+    }
+
+    private static List<Row> rows(long... ids) {
+        List<Row> rows = new ArrayList<>();
+        for (long id : ids) {
+            rows.add(new Row(id, LocalDateTime.of(2024, 1, 1, 0, 0).plusHours(id)));
+        }
+        return rows;
+    }
+
+    record Row(Long id, LocalDateTime submittedAt) {
+    }
+}
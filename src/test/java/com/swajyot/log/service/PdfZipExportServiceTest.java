@@ -0,0 +1,119 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.req.ReportFilter;
+import com.swajyot.log.model.res.ReportSummary;
+import com.swajyot.log.repository.ReportSummaryRepository;
+import com.swajyot.log.service.pdf.PdfRenderBusyException;
+
+class PdfZipExportServiceTest {
+
+    private final ReportSummaryRepository summaries = mock(ReportSummaryRepository.class);
+    private final ReportPdfRenderer renderer = mock(ReportPdfRenderer.class);
+    private final PdfZipExportService service = new PdfZipExportService(summaries, renderer, 1);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void busyRenderLaneIsWaitedOutInsteadOfFailingTheReport() throws Exception {
+        when(summaries.findSummaries(eq(ReportType.COATING), any(), any(), anyInt()))
+                .thenReturn(List.of(summary(1L)));
+        when(renderer.renderUncached(ReportType.COATING, 1L, "auditor"))
+                .thenThrow(new PdfRenderBusyException("busy", 5), new PdfRenderBusyException("busy", 5))
+                .thenReturn(new byte[] { 1, 2, 3 });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.zipExport(List.of(ReportType.COATING), new ReportFilter(), "auditor").writeTo(out);
+
+        assertEquals(List.of("coating/C-1_1.pdf"), entryNames(out.toByteArray()));
+    }
+
+    @Test
+    void failuresNameTheReportAndExceptionClass() throws Exception {
+        when(summaries.findSummaries(eq(ReportType.COATING), any(), any(), anyInt()))
+                .thenReturn(List.of(summary(1L)));
+        when(renderer.renderUncached(ReportType.COATING, 1L, "auditor"))
+                .thenThrow(new IllegalArgumentException("bad data"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.zipExport(List.of(ReportType.COATING), new ReportFilter(), "auditor").writeTo(out);
+
+        assertEquals(List.of("export-errors.txt"), entryNames(out.toByteArray()));
+        assertTrue(out.toString().contains("COATING 1 C-1: IllegalArgumentException: bad data"));
+    }
+
+    @Test
+    void pendingRendersAreCancelledWhenTheClientGoesAway() throws Exception {
+        when(summaries.findSummaries(eq(ReportType.COATING), any(), any(), anyInt()))
+                .thenReturn(List.of(summary(1L), summary(2L)));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(renderer.renderUncached(ReportType.COATING, 1L, "auditor")).thenReturn(new byte[] { 1 });
+        when(renderer.renderUncached(ReportType.COATING, 2L, "auditor")).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return new byte[] { 2 };
+        });
+        OutputStream gone = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                try {
+                    // Fail only once the second render is running, so there is something to cancel
+                    started.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class,
+                () -> service.zipExport(List.of(ReportType.COATING), new ReportFilter(), "auditor").writeTo(gone));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private static ReportSummary summary(Long id) {
+        return new ReportSummary(id, ReportType.COATING, "C-" + id, "APPROVED", null, null, null, null,
+                null, null, null, null);
+    }
+
+    private static List<String> entryNames(byte[] zip) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,173 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.model.User;
+import com.swajyot.log.model.event.ReportChangedEvent;
+import com.swajyot.log.model.event.ReportChangedEvent.Kind;
+import com.swajyot.log.model.res.ReportFeedEvent;
+
+class ReportEventBusTest {
+
+    private static final long WAIT_SECONDS = 5;
+
+    private StubEmitter emitter;
+    private ReportEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        emitter.release.countDown();
+        bus.shutdown();
+    }
+
+    @Test
+    void changesToOneReportBeforeDeliveryAreCoalesced() throws Exception {
+        start(256, 10_000);
+        SseEmitter feed = bus.subscribe(User.Role.MASTER, Set.of());
+        emitter.blockFirstSend = true;
+
+        bus.onReportChanged(event(9L, Kind.CREATED, null, "DRAFT"));
+        assertTrue(emitter.entered.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        // Both queue up behind the blocked write and merge into one event
+        bus.onReportChanged(event(1L, Kind.SUBMITTED, "DRAFT", "SUBMITTED"));
+        bus.onReportChanged(event(1L, Kind.APPROVED, "SUBMITTED", "APPROVED"));
+        emitter.release.countDown();
+
+        List<ReportFeedEvent> sent = emitter.awaitReports(2);
+        assertEquals(9L, sent.get(0).reportId());
+        assertEquals(1L, sent.get(1).reportId());
+        assertEquals("DRAFT", sent.get(1).fromStatus());
+        assertEquals("APPROVED", sent.get(1).toStatus());
+        assertEquals(feed, emitter);
+    }
+
+    @Test
+    void overflowDropsTheOldestEventsAndAsksTheClientToResync() throws Exception {
+        start(2, 10_000);
+        bus.subscribe(User.Role.MASTER, Set.of());
+        emitter.blockFirstSend = true;
+
+        bus.onReportChanged(event(9L, Kind.CREATED, null, "DRAFT"));
+        assertTrue(emitter.entered.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        bus.onReportChanged(event(1L, Kind.CREATED, null, "DRAFT"));
+        bus.onReportChanged(event(2L, Kind.CREATED, null, "DRAFT"));
+        bus.onReportChanged(event(3L, Kind.CREATED, null, "DRAFT"));
+        emitter.release.countDown();
+
+        List<ReportFeedEvent> sent = emitter.awaitReports(3);
+        assertEquals(List.of(9L, 2L, 3L), sent.stream().map(ReportFeedEvent::reportId).toList());
+        assertTrue(emitter.names.contains("resync"));
+        assertTrue(emitter.names.indexOf("resync") < emitter.names.lastIndexOf("report"));
+    }
+
+    @Test
+    void subscribersOnlyReceiveTheirRolesKindsAndChosenTypes() throws Exception {
+        start(256, 10_000);
+        bus.subscribe(User.Role.QA, Set.of(ReportType.COATING));
+
+        // QA does not follow drafts, and printing was not chosen
+        bus.onReportChanged(event(1L, Kind.CREATED, null, "DRAFT"));
+        bus.onReportChanged(new ReportChangedEvent(ReportType.PRINTING, 2L, Kind.SUBMITTED, "P-2", "DRAFT", "SUBMITTED"));
+        bus.onReportChanged(event(3L, Kind.SUBMITTED, "DRAFT", "SUBMITTED"));
+
+        List<ReportFeedEvent> sent = emitter.awaitReports(1);
+        assertEquals(3L, sent.get(0).reportId());
+        assertEquals(1, emitter.reports.size());
+    }
+
+    @Test
+    void aWriteBlockedPastTheTimeoutClosesTheSubscriber() throws Exception {
+        start(256, 50);
+        bus.subscribe(User.Role.MASTER, Set.of());
+        emitter.blockFirstSend = true;
+
+        bus.onReportChanged(event(1L, Kind.CREATED, null, "DRAFT"));
+        assertTrue(emitter.entered.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        bus.closeStalled();
+
+        assertEquals(0, bus.getSubscriberCount());
+        assertTrue(emitter.interrupted.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(emitter.completed.await(WAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    private void start(int queueCapacity, long writeTimeoutMs) {
+        emitter = new StubEmitter();
+        bus = new ReportEventBus(queueCapacity, 10, 60_000, writeTimeoutMs) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                return emitter;
+            }
+        };
+    }
+
+    private static ReportChangedEvent event(Long id, Kind kind, String from, String to) {
+        return new ReportChangedEvent(ReportType.COATING, id, kind, "C-" + id, from, to);
+    }
+
+    /**
+     * Records what the bus sends. With blockFirstSend the first write waits for release,
+     * like a client that stopped reading.
+     */
+    private static final class StubEmitter extends SseEmitter {
+
+        volatile boolean blockFirstSend;
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final List<String> names = new CopyOnWriteArrayList<>();
+        final List<ReportFeedEvent> reports = new CopyOnWriteArrayList<>();
+        private boolean first = true;
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            if (first && blockFirstSend) {
+                first = false;
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new IOException("Write interrupted");
+                }
+            }
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof ReportFeedEvent report) {
+                    reports.add(report);
+                } else if (part.getData() instanceof String text) {
+                    text.lines().filter(line -> line.startsWith("event:"))
+                            .forEach(line -> names.add(line.substring("event:".length())));
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        List<ReportFeedEvent> awaitReports(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+            while (reports.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, reports.size());
+            return List.copyOf(reports);
+        }
+    }
+}
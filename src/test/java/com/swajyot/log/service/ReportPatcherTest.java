@@ -0,0 +1,117 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.swajyot.log.model.CoatingInspectionReport;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.repository.ReportJsonRepository;
+
+import jakarta.persistence.EntityManager;
+
+class ReportPatcherTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final ReportJsonRepository reportJsonRepository = mock(ReportJsonRepository.class);
+    private final ReportPatcher patcher = new ReportPatcher(objectMapper, reportJsonRepository);
+    private final CoatingInspectionReport report = new CoatingInspectionReport();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(patcher, "entityManager", mock(EntityManager.class));
+        when(reportJsonRepository.insert(any(), anyString(), anyLong(), anyList(), any())).thenReturn(true);
+        when(reportJsonRepository.put(any(), anyString(), anyLong(), anyList(), any())).thenReturn(true);
+        report.setId(7L);
+        report.setProduct("Bottle");
+        report.setComments("Check again");
+    }
+
+    @Test
+    void parsesPointerEscapes() {
+        assertEquals(List.of("a/b", "m~n", "0"), ReportPatcher.parsePointer("/a~1b/m~0n/0"));
+        // ~01 is "~1" unescaped once, not "/"
+        assertEquals(List.of("~1"), ReportPatcher.parsePointer("/~01"));
+        assertEquals(List.of("a", ""), ReportPatcher.parsePointer("/a/"));
+    }
+
+    @Test
+    void rejectsEmptyAndRelativePointers() {
+        assertThrows(IllegalArgumentException.class, () -> ReportPatcher.parsePointer(""));
+        assertThrows(IllegalArgumentException.class, () -> ReportPatcher.parsePointer("/"));
+        assertThrows(IllegalArgumentException.class, () -> ReportPatcher.parsePointer("product"));
+        assertThrows(IllegalArgumentException.class, () -> ReportPatcher.parsePointer(null));
+    }
+
+    @Test
+    void rejectsProtectedProperties() {
+        assertThrows(IllegalArgumentException.class,
+                () -> patcher.mergePatch(report, json("{\"status\": \"APPROVED\"}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> patcher.jsonPatch(ReportType.COATING, report, 7L,
+                        json("[{\"op\": \"replace\", \"path\": \"/version\", \"value\": 9}]")));
+        assertThrows(IllegalArgumentException.class,
+                () -> patcher.mergePatch(report, json("{\"noSuchField\": 1}")));
+        assertNull(report.getStatus());
+    }
+
+    @Test
+    void mergePatchNullClearsAndKeepsAbsentMembers() {
+        patcher.mergePatch(report, json("{\"comments\": null, \"shift\": \"B\"}"));
+
+        assertNull(report.getComments());
+        assertEquals("B", report.getShift());
+        assertEquals("Bottle", report.getProduct());
+    }
+
+    @Test
+    void addBelowAColumnInsertsAtIndexOrAppends() {
+        patcher.jsonPatch(ReportType.COATING, report, 7L, json("""
+                [{"op": "add", "path": "/characteristics/-", "value": {"name": "Gloss"}},
+                 {"op": "add", "path": "/characteristics/2", "value": {"name": "Haze"}},
+                 {"op": "add", "path": "/characteristics/2/result", "value": "OK"}]"""));
+
+        verify(reportJsonRepository).insert(eq(ReportType.COATING), eq("characteristics"), eq(7L),
+                eq(List.of("-")), eq("{\"name\":\"Gloss\"}"));
+        verify(reportJsonRepository).insert(eq(ReportType.COATING), eq("characteristics"), eq(7L),
+                eq(List.of("2")), eq("{\"name\":\"Haze\"}"));
+        // A member name below an element sets the member instead of inserting
+        verify(reportJsonRepository).put(eq(ReportType.COATING), eq("characteristics"), eq(7L),
+                eq(List.of("2", "result")), eq("\"OK\""));
+        verify(reportJsonRepository, never()).replace(any(), anyString(), anyLong(), anyList(), any());
+    }
+
+    @Test
+    void missingPathIsRejected() {
+        when(reportJsonRepository.replace(any(), anyString(), anyLong(), anyList(), any())).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> patcher.jsonPatch(ReportType.COATING, report, 7L,
+                json("[{\"op\": \"replace\", \"path\": \"/characteristics/99/result\", \"value\": \"OK\"}]")));
+    }
+
+    private JsonNode json(String text) {
+        try {
+            return objectMapper.readTree(text);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.swajyot.log.model.CoatingInspectionReport;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.service.pdf.CoatingInspectionReportPdfService;
+import com.swajyot.log.service.pdf.LineClearanceReportPdfService;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+
+class ReportPdfRendererTest {
+
+    private final CoatingInspectionReportService coatingService = mock(CoatingInspectionReportService.class);
+    private final CoatingInspectionReportPdfService coatingPdfService = mock(CoatingInspectionReportPdfService.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ReportPdfRenderer renderer = new ReportPdfRenderer(
+            mock(InspectionFormService.class), mock(InspectionFormPdfService.class),
+            coatingService, coatingPdfService,
+            mock(PrintingInspectionReportService.class), mock(PrintingInspectionReportPdfService.class),
+            mock(LineClearanceReportService.class), mock(LineClearanceReportPdfService.class),
+            mock(IncomingQualityInspectionReportService.class), mock(IncomingQualityInspectionReportPdfService.class));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void uncachedRenderLoadsTheReportPastTheEntityCache() throws Exception {
+        ReflectionTestUtils.setField(renderer, "entityManager", entityManager);
+        CoatingInspectionReport report = new CoatingInspectionReport();
+        when(entityManager.find(eq(CoatingInspectionReport.class), eq(7L), anyMap())).thenReturn(report);
+        when(coatingPdfService.generateUncachedPdf(report, "auditor")).thenReturn(new byte[] { 1 });
+
+        renderer.renderUncached(ReportType.COATING, 7L, "auditor");
+
+        ArgumentCaptor<Map<String, Object>> hints = ArgumentCaptor.forClass(Map.class);
+        verify(entityManager).find(eq(CoatingInspectionReport.class), eq(7L), hints.capture());
+        assertEquals(CacheRetrieveMode.BYPASS, hints.getValue().get("jakarta.persistence.cache.retrieveMode"));
+        assertEquals(CacheStoreMode.BYPASS, hints.getValue().get("jakarta.persistence.cache.storeMode"));
+        verifyNoInteractions(coatingService);
+    }
+
+    @Test
+    void uncachedRenderOfAMissingReportIsNotFound() {
+        ReflectionTestUtils.setField(renderer, "entityManager", entityManager);
+        when(entityManager.find(any(), any(), anyMap())).thenReturn(null);
+
+        assertThrows(ReportNotFoundException.class, () -> renderer.renderUncached(ReportType.COATING, 7L, "auditor"));
+    }
+}
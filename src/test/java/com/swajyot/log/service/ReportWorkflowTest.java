@@ -0,0 +1,46 @@
+package com.swajyot.log.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.swajyot.log.model.CoatingInspectionReport.ReportStatus;
+import com.swajyot.log.model.InspectionForm.FormStatus;
+import com.swajyot.log.model.ReportType;
+import com.swajyot.log.repository.WorkflowTransitionRepository;
+import com.swajyot.log.service.ReportWorkflow.Transition;
+
+class ReportWorkflowTest {
+
+    private final ReportWorkflow workflow = new ReportWorkflow(mock(WorkflowTransitionRepository.class));
+
+    @Test
+    void allowedTransitionsReturnTheTypesOwnStatus() {
+        assertEquals(ReportStatus.SUBMITTED, workflow.next(ReportType.COATING, ReportStatus.DRAFT, Transition.SUBMIT));
+        assertEquals(ReportStatus.SUBMITTED, workflow.next(ReportType.COATING, ReportStatus.REJECTED, Transition.SUBMIT));
+        assertEquals(ReportStatus.APPROVED, workflow.next(ReportType.COATING, ReportStatus.SUBMITTED, Transition.APPROVE));
+        assertEquals(ReportStatus.REJECTED, workflow.next(ReportType.COATING, ReportStatus.SUBMITTED, Transition.REJECT));
+        assertEquals(FormStatus.APPROVED,
+                workflow.next(ReportType.INSPECTION_FORM, FormStatus.SUBMITTED, Transition.APPROVE));
+    }
+
+    @Test
+    void disallowedTransitionsAreRejected() {
+        assertThrows(InvalidTransitionException.class,
+                () -> workflow.next(ReportType.COATING, ReportStatus.DRAFT, Transition.APPROVE));
+        assertThrows(InvalidTransitionException.class,
+                () -> workflow.next(ReportType.COATING, ReportStatus.APPROVED, Transition.SUBMIT));
+        assertThrows(InvalidTransitionException.class,
+                () -> workflow.next(ReportType.COATING, ReportStatus.REJECTED, Transition.REJECT));
+    }
+
+    @Test
+    void sourcesListTheStatusesATransitionStartsFrom() {
+        assertEquals(List.of("DRAFT", "REJECTED"), workflow.sources(Transition.SUBMIT).stream().sorted().toList());
+        assertEquals(List.of("SUBMITTED"), workflow.sources(Transition.APPROVE));
+    }
+}